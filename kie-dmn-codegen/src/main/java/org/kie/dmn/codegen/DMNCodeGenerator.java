@@ -0,0 +1,409 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.codegen;
+
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.CompilerContext;
+import org.kie.dmn.feel.lang.ast.BaseNode;
+import org.kie.dmn.feel.lang.ast.ConstantNode;
+import org.kie.dmn.feel.lang.ast.DashNode;
+import org.kie.dmn.feel.lang.ast.ListNode;
+import org.kie.dmn.feel.lang.ast.UnaryTestNode;
+import org.kie.dmn.feel.lang.impl.CompiledExpressionImpl;
+import org.kie.dmn.feel.lang.impl.EvaluationContextImpl;
+import org.kie.dmn.feel.lang.types.BuiltInType;
+import org.kie.dmn.feel.model.v1_1.DMNElementReference;
+import org.kie.dmn.feel.model.v1_1.DRGElement;
+import org.kie.dmn.feel.model.v1_1.Decision;
+import org.kie.dmn.feel.model.v1_1.DecisionRule;
+import org.kie.dmn.feel.model.v1_1.DecisionTable;
+import org.kie.dmn.feel.model.v1_1.Definitions;
+import org.kie.dmn.feel.model.v1_1.Expression;
+import org.kie.dmn.feel.model.v1_1.InformationItem;
+import org.kie.dmn.feel.model.v1_1.InformationRequirement;
+import org.kie.dmn.feel.model.v1_1.InputClause;
+import org.kie.dmn.feel.model.v1_1.InputData;
+import org.kie.dmn.feel.model.v1_1.LiteralExpression;
+import org.kie.dmn.feel.model.v1_1.UnaryTests;
+import org.kie.dmn.feel.runtime.Range;
+import org.kie.dmn.feel.runtime.UnaryTest;
+import org.kie.dmn.feel.runtime.decisiontables.HitPolicy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates the Java source of a class that builds a DMN model
+ * without parsing the DMN file or any FEEL expression.
+ *
+ * The generated class has a single <code>newModel()</code> method
+ * returning a DMNModel equivalent to the one DMNCompilerImpl compiles
+ * from the same definitions: the DRG wiring becomes straight-line
+ * code, literal expressions are translated into Java statements, and
+ * decision tables are built from rules whose input entries are Java
+ * lambdas. Any FEEL construct that is not translated is serialized
+ * into the generated class and evaluated by the interpreter.
+ */
+public class DMNCodeGenerator {
+
+    private static final String[] IMPORTS = {
+            "java.math.BigDecimal",
+            "java.util.ArrayList",
+            "java.util.Arrays",
+            "java.util.Base64",
+            "java.util.List",
+            "org.kie.dmn.core.api.DMNModel",
+            "org.kie.dmn.core.ast.DecisionNode",
+            "org.kie.dmn.core.ast.InputDataNode",
+            "org.kie.dmn.core.impl.DMNModelImpl",
+            "org.kie.dmn.core.impl.DMNResultImpl",
+            "org.kie.dmn.feel.lang.ast.ASTSerializer",
+            "org.kie.dmn.feel.lang.ast.BaseNode",
+            "org.kie.dmn.feel.lang.ast.FunctionInvocationNode",
+            "org.kie.dmn.feel.lang.ast.InfixOpNode",
+            "org.kie.dmn.feel.lang.impl.EvaluationContextImpl",
+            "org.kie.dmn.feel.model.v1_1.Decision",
+            "org.kie.dmn.feel.model.v1_1.Definitions",
+            "org.kie.dmn.feel.model.v1_1.InformationItem",
+            "org.kie.dmn.feel.model.v1_1.InputData",
+            "org.kie.dmn.feel.runtime.FEELFunction",
+            "org.kie.dmn.feel.runtime.Range",
+            "org.kie.dmn.feel.runtime.UnaryTest",
+            "org.kie.dmn.feel.runtime.decisiontables.ConcreteDTFunction",
+            "org.kie.dmn.feel.runtime.decisiontables.DecisionRule",
+            "org.kie.dmn.feel.runtime.decisiontables.HitPolicy",
+            "org.kie.dmn.feel.runtime.functions.CallSiteCache",
+            "org.kie.dmn.feel.runtime.impl.RangeImpl",
+            "org.kie.dmn.feel.util.EvalHelper"
+    };
+
+    private final String packageName;
+
+    public DMNCodeGenerator(String packageName) {
+        this.packageName = packageName;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    /**
+     * Returns the Java source of the class generated for the given
+     * definitions, named after the model
+     */
+    public String generate(Definitions definitions) {
+        return generate( definitions, classNameFor( definitions.getName() ) );
+    }
+
+    public String generate(Definitions definitions, String className) {
+        return new ModelWriter( definitions, className ).write();
+    }
+
+    /**
+     * Returns a valid Java class name for the given model name,
+     * e.g. "DMN0004SimpletableU" for "0004-simpletable-U"
+     */
+    public static String classNameFor(String modelName) {
+        StringBuilder sb = new StringBuilder();
+        boolean upper = true;
+        for ( char c : (modelName != null ? modelName : "").toCharArray() ) {
+            if ( Character.isJavaIdentifierPart( c ) && c != '$' && c != '_' ) {
+                sb.append( upper ? Character.toUpperCase( c ) : c );
+                upper = false;
+            } else {
+                upper = true;
+            }
+        }
+        if ( sb.length() == 0 || !Character.isJavaIdentifierStart( sb.charAt( 0 ) ) ) {
+            sb.insert( 0, "DMN" );
+        }
+        return sb.toString();
+    }
+
+    private class ModelWriter {
+        private final Definitions     definitions;
+        private final String          className;
+        private final FEEL            feel      = FEEL.newInstance();
+        private final SourceConstants constants = new SourceConstants();
+        private final StringBuilder   model     = new StringBuilder();
+        private final StringBuilder   members   = new StringBuilder();
+
+        private ModelWriter(Definitions definitions, String className) {
+            this.definitions = definitions;
+            this.className = className;
+        }
+
+        private String write() {
+            Map<String, String> variables = new HashMap<>();
+            Map<String, String> names = new HashMap<>();
+            List<Decision> decisions = new ArrayList<>();
+            for ( DRGElement e : definitions.getDrgElement() ) {
+                if ( e instanceof InputData ) {
+                    String variable = "input" + variables.size();
+                    variables.put( e.getId(), variable );
+                    names.put( e.getId(), e.getName() );
+                    line( "InputDataNode " + variable + " = new InputDataNode( inputData( " + quote( e.getId() ) + ", " + quote( e.getName() ) + ", " +
+                          quote( variableName( ((InputData) e).getVariable() ) ) + " ) );" );
+                    line( "model.addInput( " + variable + " );" );
+                } else if ( e instanceof Decision ) {
+                    String variable = "decision" + variables.size();
+                    variables.put( e.getId(), variable );
+                    names.put( e.getId(), e.getName() );
+                    decisions.add( (Decision) e );
+                    line( "DecisionNode " + variable + " = new DecisionNode( decision( " + quote( e.getId() ) + ", " + quote( e.getName() ) + ", " +
+                          quote( variableName( ((Decision) e).getVariable() ) ) + " ) );" );
+                    line( "model.addDecision( " + variable + " );" );
+                }
+            }
+
+            for ( Decision decision : decisions ) {
+                String variable = variables.get( decision.getId() );
+                Map<String, String> dependencies = new LinkedHashMap<>();
+                for ( InformationRequirement ir : decision.getInformationRequirement() ) {
+                    DMNElementReference ref = ir.getRequiredInput() != null ? ir.getRequiredInput() : ir.getRequiredDecision();
+                    if ( ref == null ) {
+                        continue;
+                    }
+                    String id = getId( ref );
+                    if ( !variables.containsKey( id ) ) {
+                        throw new IllegalArgumentException( "Unknown requirement '" + ref.getHref() + "' of decision '" + decision.getName() + "'" );
+                    }
+                    dependencies.put( names.get( id ), variables.get( id ) );
+                }
+                dependencies.forEach( (name, dependency) -> line( variable + ".addDependency( " + quote( name ) + ", " + dependency + " );" ) );
+
+                String evaluator = writeEvaluator( decision, variable, dependencies.keySet() );
+                if ( evaluator != null ) {
+                    line( variable + ".setEvaluator( " + evaluator + " );" );
+                }
+            }
+            return writeClass();
+        }
+
+        private String writeEvaluator(Decision decision, String variable, Iterable<String> dependencies) {
+            Expression expression = decision.getExpression();
+            if ( expression instanceof LiteralExpression ) {
+                CompilerContext ctx = feel.newCompilerContext();
+                dependencies.forEach( name -> ctx.addInputVariableType( name, BuiltInType.UNKNOWN ) );
+                BaseNode ast = compile( ((LiteralExpression) expression).getText(), ctx );
+                String evaluatorClass = capitalize( variable ) + "Evaluator";
+                ExpressionSourceGenerator generator = new ExpressionSourceGenerator( constants, "            " );
+                String result = generator.generate( ast );
+                members.append( "\n" )
+                       .append( "    private static final class " ).append( evaluatorClass ).append( " implements DecisionNode.DecisionEvaluator {\n" )
+                       .append( "        @Override\n" )
+                       .append( "        public Object evaluate(DMNResultImpl result) {\n" )
+                       .append( "            EvaluationContextImpl ctx = new EvaluationContextImpl();\n" )
+                       .append( "            result.getContext().getAll().forEach( ctx::setValue );\n" )
+                       .append( generator.getCode() )
+                       .append( "            return " ).append( result ).append( ";\n" )
+                       .append( "        }\n" )
+                       .append( "    }\n" );
+                return "new " + evaluatorClass + "()";
+            } else if ( expression instanceof DecisionTable ) {
+                String method = variable + "Table";
+                writeDecisionTable( decision, (DecisionTable) expression, method );
+                return method + "()";
+            }
+            return null;
+        }
+
+        private void writeDecisionTable(Decision decision, DecisionTable dt, String method) {
+            List<String> inputs = new ArrayList<>();
+            for ( InputClause ic : dt.getInput() ) {
+                inputs.add( quote( ic.getInputExpression().getText() ) );
+            }
+            members.append( "\n" )
+                   .append( "    private static DecisionNode.DecisionEvaluator " ).append( method ).append( "() {\n" )
+                   .append( "        List<DecisionRule> rules = new ArrayList<>();\n" )
+                   .append( "        DecisionRule rule;\n" );
+            for ( DecisionRule dr : dt.getRule() ) {
+                members.append( "        rule = new DecisionRule();\n" );
+                for ( UnaryTests ut : dr.getInputEntry() ) {
+                    members.append( "        rule.getInputEntry().add( x -> " ).append( inputEntry( ut.getText() ) ).append( " );\n" );
+                }
+                for ( LiteralExpression le : dr.getOutputEntry() ) {
+                    members.append( "        rule.getOutputEntry().add( " ).append( outputEntry( le.getText() ) ).append( " );\n" );
+                }
+                members.append( "        rules.add( rule );\n" );
+            }
+            HitPolicy hitPolicy = HitPolicy.fromString( dt.getHitPolicy().value() );
+            members.append( "        return new DecisionNode.DTExpressionEvaluator( new ConcreteDTFunction( " )
+                   .append( quote( decision.getName() + "_DT" ) ).append( ", Arrays.asList( " ).append( String.join( ", ", inputs ) )
+                   .append( " ), rules, HitPolicy." ).append( hitPolicy.name() ).append( " ) );\n" )
+                   .append( "    }\n" );
+        }
+
+        /**
+         * Returns the Java expression of the input entry, where each unary
+         * test is evaluated the same way DMNCompilerImpl does, and the
+         * entry matches when any of its tests matches
+         */
+        private String inputEntry(String text) {
+            // quick hack to parse values, in case they are a list
+            BaseNode ast = compile( "[ " + text + " ]", feel.newCompilerContext() );
+            List<?> values = (List<?>) ast.evaluate( new EvaluationContextImpl() );
+            BaseNode list = ast instanceof ConstantNode ? ((ConstantNode) ast).getOriginal() : ast;
+            List<BaseNode> elements = list instanceof ListNode ? ((ListNode) list).getElements() : null;
+            List<String> tests = new ArrayList<>();
+            for ( int i = 0; i < values.size(); i++ ) {
+                tests.add( unaryTest( values.get( i ), elements != null ? elements.get( i ) : null, ast, i ) );
+            }
+            return tests.isEmpty() ? "false" : String.join( " || ", tests );
+        }
+
+        private String unaryTest(Object value, BaseNode element, BaseNode entry, int index) {
+            if ( element instanceof ConstantNode ) {
+                element = ((ConstantNode) element).getOriginal();
+            }
+            if ( element instanceof DashNode ) {
+                return "true";
+            } else if ( element instanceof UnaryTestNode ) {
+                UnaryTestNode test = (UnaryTestNode) element;
+                Object operand = test.getValue().evaluate( new EvaluationContextImpl() );
+                String literal = operand != null ? constants.literal( operand ) : null;
+                if ( literal != null ) {
+                    return "EvalHelper.compare( x, " + literal + " ) " + test.getOperator().symbol + " 0";
+                }
+            } else if ( value instanceof Range ) {
+                String range = constants.range( (Range) value );
+                if ( range != null ) {
+                    return range + ".includes( (Comparable<?>) x )";
+                }
+            } else if ( !(value instanceof UnaryTest) ) {
+                String literal = constants.literal( value );
+                if ( literal != null ) {
+                    return "x.equals( " + literal + " )";
+                }
+            }
+            String node = constants.node( entry );
+            return constants.declare( "UnaryTest", "unaryTest( ((List<?>) " + node + ".evaluate( new EvaluationContextImpl() )).get( " + index + " ) )" ) + ".apply( x )";
+        }
+
+        private String outputEntry(String text) {
+            BaseNode ast = compile( text, feel.newCompilerContext() );
+            String literal = constants.literal( ast.evaluate( new EvaluationContextImpl() ) );
+            return literal != null ? literal : constants.node( ast ) + ".evaluate( new EvaluationContextImpl() )";
+        }
+
+        private BaseNode compile(String text, CompilerContext ctx) {
+            CompiledExpressionImpl compiled = (CompiledExpressionImpl) feel.compile( text, ctx );
+            if ( compiled == null || compiled.getExpression() == null ) {
+                throw new IllegalArgumentException( "Unable to compile the FEEL expression '" + text + "' of the model '" + definitions.getName() + "'" );
+            }
+            return (BaseNode) compiled.getExpression();
+        }
+
+        private String writeClass() {
+            StringBuilder sb = new StringBuilder();
+            if ( packageName != null && !packageName.isEmpty() ) {
+                sb.append( "package " ).append( packageName ).append( ";\n\n" );
+            }
+            for ( String i : IMPORTS ) {
+                sb.append( "import " ).append( i ).append( ";\n" );
+            }
+            sb.append( "\n" )
+              .append( "/**\n" )
+              .append( " * Generated from the DMN model '" ).append( javadoc( definitions.getName() ) ).append( "'. Do not edit.\n" )
+              .append( " */\n" )
+              .append( "public final class " ).append( className ).append( " {\n\n" )
+              .append( "    public static final String NAMESPACE = " ).append( quote( definitions.getNamespace() ) ).append( ";\n" )
+              .append( "    public static final String NAME      = " ).append( quote( definitions.getName() ) ).append( ";\n\n" );
+            for ( String declaration : constants.getDeclarations() ) {
+                sb.append( declaration );
+            }
+            sb.append( "\n" )
+              .append( "    private " ).append( className ).append( "() {\n" )
+              .append( "    }\n\n" )
+              .append( "    public static DMNModel newModel() {\n" )
+              .append( "        Definitions definitions = new Definitions();\n" )
+              .append( "        definitions.setId( " ).append( quote( definitions.getId() ) ).append( " );\n" )
+              .append( "        definitions.setName( NAME );\n" )
+              .append( "        definitions.setNamespace( NAMESPACE );\n" )
+              .append( "        DMNModelImpl model = new DMNModelImpl( definitions );\n" )
+              .append( model )
+              .append( "        return model;\n" )
+              .append( "    }\n" )
+              .append( members )
+              .append( "\n" )
+              .append( "    private static InputData inputData(String id, String name, String variable) {\n" )
+              .append( "        InputData inputData = new InputData();\n" )
+              .append( "        inputData.setId( id );\n" )
+              .append( "        inputData.setName( name );\n" )
+              .append( "        inputData.setVariable( informationItem( variable ) );\n" )
+              .append( "        return inputData;\n" )
+              .append( "    }\n\n" )
+              .append( "    private static Decision decision(String id, String name, String variable) {\n" )
+              .append( "        Decision decision = new Decision();\n" )
+              .append( "        decision.setId( id );\n" )
+              .append( "        decision.setName( name );\n" )
+              .append( "        decision.setVariable( informationItem( variable ) );\n" )
+              .append( "        return decision;\n" )
+              .append( "    }\n\n" )
+              .append( "    private static InformationItem informationItem(String name) {\n" )
+              .append( "        InformationItem item = new InformationItem();\n" )
+              .append( "        item.setName( name );\n" )
+              .append( "        return item;\n" )
+              .append( "    }\n\n" )
+              .append( "    private static BaseNode node(String... chunks) {\n" )
+              .append( "        try {\n" )
+              .append( "            return ASTSerializer.fromByteArray( Base64.getDecoder().decode( String.join( \"\", chunks ) ) );\n" )
+              .append( "        } catch ( java.io.IOException e ) {\n" )
+              .append( "            throw new IllegalStateException( \"Unable to read a FEEL expression of the model \" + NAME, e );\n" )
+              .append( "        }\n" )
+              .append( "    }\n\n" )
+              .append( "    private static UnaryTest unaryTest(Object value) {\n" )
+              .append( "        if ( value instanceof UnaryTest ) {\n" )
+              .append( "            return (UnaryTest) value;\n" )
+              .append( "        } else if ( value instanceof Range ) {\n" )
+              .append( "            return x -> ((Range) value).includes( (Comparable<?>) x );\n" )
+              .append( "        }\n" )
+              .append( "        return x -> x.equals( value );\n" )
+              .append( "    }\n" )
+              .append( "}\n" );
+            return sb.toString();
+        }
+
+        private void line(String statement) {
+            model.append( "        " ).append( statement ).append( '\n' );
+        }
+    }
+
+    private static String variableName(InformationItem variable) {
+        return variable != null ? variable.getName() : null;
+    }
+
+    private static String getId(DMNElementReference er) {
+        String href = er.getHref();
+        return href.contains( "#" ) ? href.substring( href.indexOf( '#' ) + 1 ) : href;
+    }
+
+    private static String quote(String value) {
+        return value != null ? SourceConstants.quote( value ) : "null";
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase( name.charAt( 0 ) ) + name.substring( 1 );
+    }
+
+    private static String javadoc(String text) {
+        return text != null ? text.replace( "*/", "*&#47;" ) : "";
+    }
+}
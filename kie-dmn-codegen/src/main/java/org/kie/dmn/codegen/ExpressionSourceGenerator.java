@@ -0,0 +1,199 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.codegen;
+
+import org.kie.dmn.feel.lang.ast.BaseNode;
+import org.kie.dmn.feel.lang.ast.BooleanNode;
+import org.kie.dmn.feel.lang.ast.ConstantNode;
+import org.kie.dmn.feel.lang.ast.FunctionInvocationNode;
+import org.kie.dmn.feel.lang.ast.IfExpressionNode;
+import org.kie.dmn.feel.lang.ast.InfixOpNode;
+import org.kie.dmn.feel.lang.ast.NameRefNode;
+import org.kie.dmn.feel.lang.ast.NotNode;
+import org.kie.dmn.feel.lang.ast.NullNode;
+import org.kie.dmn.feel.lang.ast.NumberNode;
+import org.kie.dmn.feel.lang.ast.StringNode;
+import org.kie.dmn.feel.util.EvalHelper;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Generates the Java statements that evaluate a FEEL AST against
+ * an evaluation context named "ctx".
+ *
+ * The same nodes the BytecodeCompiler compiles are translated into
+ * Java code, and any other node is serialized into a constant of
+ * the generated class and evaluated by the interpreter, so the
+ * results are always the same as the interpreted ones.
+ */
+class ExpressionSourceGenerator {
+
+    private final SourceConstants constants;
+    private final StringBuilder   code = new StringBuilder();
+    private String indent;
+    private int    locals;
+
+    ExpressionSourceGenerator(SourceConstants constants, String indent) {
+        this.constants = constants;
+        this.indent = indent;
+    }
+
+    /**
+     * Appends the statements that evaluate the given expression
+     * and returns the Java expression holding its value
+     */
+    String generate(BaseNode expression) {
+        return emit( expression );
+    }
+
+    String getCode() {
+        return code.toString();
+    }
+
+    private String emit(BaseNode node) {
+        if ( node instanceof ConstantNode ) {
+            String literal = constants.literal( ((ConstantNode) node).getValue() );
+            return literal != null ? literal : emitInterpreted( node );
+        } else if ( node instanceof NullNode ) {
+            return "null";
+        } else if ( node instanceof NumberNode || node instanceof StringNode || node instanceof BooleanNode ) {
+            // literals do not depend on the evaluation context
+            return constants.literal( node.evaluate( null ) );
+        } else if ( node instanceof NameRefNode ) {
+            return "ctx.getValue( " + SourceConstants.quote( EvalHelper.normalizeVariableName( node.getText() ) ) + " )";
+        } else if ( node instanceof InfixOpNode ) {
+            return emitInfixOp( (InfixOpNode) node );
+        } else if ( node instanceof NotNode && ((NotNode) node).getExpression() != null ) {
+            return emitNot( (NotNode) node );
+        } else if ( node instanceof IfExpressionNode ) {
+            return emitIf( (IfExpressionNode) node );
+        } else if ( node instanceof FunctionInvocationNode && ((FunctionInvocationNode) node).getName() instanceof NameRefNode ) {
+            return emitFunctionInvocation( (FunctionInvocationNode) node );
+        }
+        return emitInterpreted( node );
+    }
+
+    private String emitInfixOp(InfixOpNode node) {
+        if ( node.getOperator() == InfixOpNode.InfixOperator.AND ) {
+            return emitShortCircuit( node, "isFalse", "Boolean.FALSE" );
+        } else if ( node.getOperator() == InfixOpNode.InfixOperator.OR ) {
+            return emitShortCircuit( node, "isTrue", "Boolean.TRUE" );
+        }
+        String left = emit( node.getLeft() );
+        String right = emit( node.getRight() );
+        // InfixOpNode has a static method named after each operator
+        return local( "InfixOpNode." + node.getOperator().name().toLowerCase( Locale.ROOT ) + "( " + left + ", " + right + ", ctx )" );
+    }
+
+    /**
+     * Only evaluates the right operand of a boolean operation when
+     * the left one does not settle the result on its own
+     */
+    private String emitShortCircuit(InfixOpNode node, String settles, String value) {
+        String left = local( emit( node.getLeft() ) );
+        String result = "v" + locals++;
+        line( "Object " + result + ";" );
+        line( "if ( InfixOpNode." + settles + "( " + left + " ) ) {" );
+        line( "    " + result + " = " + value + ";" );
+        line( "} else {" );
+        indent( 1 );
+        String right = emit( node.getRight() );
+        line( result + " = InfixOpNode." + node.getOperator().name().toLowerCase( Locale.ROOT ) + "( " + left + ", " + right + ", ctx );" );
+        indent( -1 );
+        line( "}" );
+        return result;
+    }
+
+    private String emitNot(NotNode node) {
+        String value = local( emit( node.getExpression() ) );
+        return local( value + " instanceof Boolean ? ( (Boolean) " + value + " ? Boolean.FALSE : Boolean.TRUE ) : null" );
+    }
+
+    private String emitIf(IfExpressionNode node) {
+        String condition = local( emit( node.getCondition() ) );
+        String result = "v" + locals++;
+        line( "Object " + result + ";" );
+        line( "if ( " + condition + " instanceof Boolean ) {" );
+        indent( 1 );
+        line( "if ( (Boolean) " + condition + " ) {" );
+        indent( 1 );
+        line( result + " = " + emit( node.getThenExpression() ) + ";" );
+        indent( -1 );
+        line( "} else {" );
+        indent( 1 );
+        line( result + " = " + emit( node.getElseExpression() ) + ";" );
+        indent( -1 );
+        line( "}" );
+        indent( -1 );
+        line( "} else {" );
+        line( "    " + result + " = null;" );
+        line( "}" );
+        return result;
+    }
+
+    /**
+     * Invokes the function directly when the name refers to a function,
+     * and leaves any other case, like the invocation of unary tests,
+     * to the interpreter
+     */
+    private String emitFunctionInvocation(FunctionInvocationNode node) {
+        List<BaseNode> params = node.getParams().getElements();
+        String function = local( "ctx.getValue( " + SourceConstants.quote( EvalHelper.normalizeVariableName( node.getName().getText() ) ) + " )" );
+        String result = "v" + locals++;
+        line( "Object " + result + ";" );
+        line( "if ( " + function + " instanceof FEELFunction ) {" );
+        indent( 1 );
+        StringBuilder args = new StringBuilder();
+        for ( BaseNode param : params ) {
+            args.append( args.length() == 0 ? " " : ", " ).append( emit( param ) );
+        }
+        // the call site shares the overloads resolved by the interpreted node
+        String site = constants.declare( "CallSiteCache", "((FunctionInvocationNode) " + constants.node( node ) + ").getCallSiteCache()" );
+        line( result + " = " + site + ".invoke( ctx, (FEELFunction) " + function + ", new Object[]{" + args + (params.isEmpty() ? "}" : " }") + " );" );
+        indent( -1 );
+        line( "} else {" );
+        line( "    " + result + " = " + constants.node( node ) + ".evaluate( ctx );" );
+        line( "}" );
+        return result;
+    }
+
+    private String emitInterpreted(BaseNode node) {
+        return local( constants.node( node ) + ".evaluate( ctx )" );
+    }
+
+    /**
+     * Stores the value of the given Java expression in a new local
+     * variable, so that it is evaluated exactly once and in order
+     */
+    private String local(String expression) {
+        if ( expression.matches( "v\\d+" ) ) {
+            return expression;
+        }
+        String name = "v" + locals++;
+        line( "Object " + name + " = " + expression + ";" );
+        return name;
+    }
+
+    private void line(String statement) {
+        code.append( indent ).append( statement ).append( '\n' );
+    }
+
+    private void indent(int levels) {
+        indent = levels > 0 ? indent + "    " : indent.substring( 4 );
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.codegen;
+
+import org.kie.dmn.feel.lang.ast.ASTSerializer;
+import org.kie.dmn.feel.lang.ast.BaseNode;
+import org.kie.dmn.feel.runtime.Range;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The static fields of a generated class: values that have no
+ * Java literal, and AST nodes that are kept for the interpreter.
+ */
+class SourceConstants {
+
+    // string constants are limited to 64k in the class file
+    private static final int CHUNK_SIZE = 1000;
+
+    private final List<String>          declarations = new ArrayList<>();
+    private final Map<String, String>   fieldNames   = new HashMap<>();
+    private final Map<BaseNode, String> nodes        = new IdentityHashMap<>();
+
+    /**
+     * Returns the Java expression of the given value, or null
+     * if the value can not be written in source code
+     */
+    String literal(Object value) {
+        if ( value == null ) {
+            return "null";
+        } else if ( value instanceof Boolean ) {
+            return (Boolean) value ? "Boolean.TRUE" : "Boolean.FALSE";
+        } else if ( value instanceof String ) {
+            return quote( (String) value );
+        } else if ( value instanceof BigDecimal ) {
+            // the string form keeps the scale of the number
+            return declare( "BigDecimal", "new BigDecimal( " + quote( value.toString() ) + " )" );
+        }
+        return null;
+    }
+
+    /**
+     * Returns the Java expression of the given range, or null
+     * if its end points can not be written in source code
+     */
+    String range(Range range) {
+        String start = literal( range.getLowEndPoint() );
+        String end = literal( range.getHighEndPoint() );
+        if ( start == null || end == null ) {
+            return null;
+        }
+        return declare( "Range", "new RangeImpl( Range.RangeBoundary." + range.getLowBoundary().name() + ", " + start + ", " +
+                                 end + ", Range.RangeBoundary." + range.getHighBoundary().name() + " )" );
+    }
+
+    /**
+     * Returns the name of a field holding a copy of the given node,
+     * which is serialized into the generated source
+     */
+    String node(BaseNode node) {
+        String field = nodes.get( node );
+        if ( field == null ) {
+            field = declareNode( node );
+            nodes.put( node, field );
+        }
+        return field;
+    }
+
+    private String declareNode(BaseNode node) {
+        String serialized = Base64.getEncoder().encodeToString( ASTSerializer.toByteArray( node ) );
+        StringBuilder chunks = new StringBuilder();
+        for ( int i = 0; i < serialized.length(); i += CHUNK_SIZE ) {
+            if ( i > 0 ) {
+                chunks.append( ",\n            " );
+            }
+            chunks.append( '"' ).append( serialized, i, Math.min( serialized.length(), i + CHUNK_SIZE ) ).append( '"' );
+        }
+        return declare( "BaseNode", "node( " + chunks + " )" );
+    }
+
+    /**
+     * Returns the name of a field holding the value of the given
+     * Java expression, declaring it unless it was already declared
+     */
+    String declare(String type, String initializer) {
+        String key = type + " = " + initializer;
+        String name = fieldNames.get( key );
+        if ( name == null ) {
+            name = "C" + fieldNames.size();
+            fieldNames.put( key, name );
+            declarations.add( "    private static final " + type + " " + name + " = " + initializer + ";\n" );
+        }
+        return name;
+    }
+
+    List<String> getDeclarations() {
+        return declarations;
+    }
+
+    static String quote(String value) {
+        StringBuilder sb = new StringBuilder( value.length() + 2 ).append( '"' );
+        for ( int i = 0; i < value.length(); i++ ) {
+            char c = value.charAt( i );
+            switch ( c ) {
+                case '"':
+                    sb.append( "\\\"" );
+                    break;
+                case '\\':
+                    sb.append( "\\\\" );
+                    break;
+                case '\n':
+                    sb.append( "\\n" );
+                    break;
+                case '\r':
+                    sb.append( "\\r" );
+                    break;
+                case '\t':
+                    sb.append( "\\t" );
+                    break;
+                default:
+                    if ( c < 0x20 || c > 0x7e ) {
+                        sb.append( String.format( "\\u%04x", (int) c ) );
+                    } else {
+                        sb.append( c );
+                    }
+            }
+        }
+        return sb.append( '"' ).toString();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.codegen.maven;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.kie.dmn.backend.marshalling.v1_1.DMNMarshallerFactory;
+import org.kie.dmn.codegen.DMNCodeGenerator;
+import org.kie.dmn.feel.model.v1_1.Definitions;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Generates a Java class for each DMN model found in the source
+ * directory, and adds the generated sources to the compilation of
+ * the project. Each class has a static <code>newModel()</code>
+ * method returning the compiled model.
+ */
+@Mojo( name = "generate", defaultPhase = LifecyclePhase.GENERATE_SOURCES, threadSafe = true )
+public class GenerateModelsMojo
+        extends AbstractMojo {
+
+    @Parameter( defaultValue = "${project.basedir}/src/main/resources", required = true )
+    private File sourceDirectory;
+
+    @Parameter( defaultValue = "${project.build.directory}/generated-sources/dmn", required = true )
+    private File outputDirectory;
+
+    @Parameter( defaultValue = "org.kie.dmn.generated", required = true )
+    private String packageName;
+
+    @Parameter( defaultValue = "${project}", readonly = true, required = true )
+    private MavenProject project;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if ( !sourceDirectory.isDirectory() ) {
+            getLog().info( "No DMN models to generate, " + sourceDirectory + " does not exist" );
+            return;
+        }
+        List<Path> sources;
+        try ( Stream<Path> files = Files.walk( sourceDirectory.toPath() ) ) {
+            sources = files.filter( p -> p.toString().endsWith( ".dmn" ) ).sorted().collect( Collectors.toList() );
+        } catch ( IOException e ) {
+            throw new MojoExecutionException( "Error looking for DMN models in " + sourceDirectory, e );
+        }
+
+        DMNCodeGenerator generator = new DMNCodeGenerator( packageName );
+        Path packageDirectory = outputDirectory.toPath().resolve( packageName.replace( '.', File.separatorChar ) );
+        Map<String, Path> generated = new HashMap<>();
+        for ( Path source : sources ) {
+            Definitions definitions;
+            try ( Reader reader = Files.newBufferedReader( source, StandardCharsets.UTF_8 ) ) {
+                definitions = DMNMarshallerFactory.newDefaultMarshaller().unmarshal( reader );
+            } catch ( IOException e ) {
+                throw new MojoExecutionException( "Error reading the DMN model " + source, e );
+            }
+            if ( definitions == null ) {
+                throw new MojoExecutionException( "Unable to read the DMN model " + source );
+            }
+
+            String className = DMNCodeGenerator.classNameFor( definitions.getName() );
+            Path previous = generated.put( className, source );
+            if ( previous != null ) {
+                throw new MojoExecutionException( "The DMN models " + previous + " and " + source + " would both generate the class " + className );
+            }
+            try {
+                Files.createDirectories( packageDirectory );
+                Files.write( packageDirectory.resolve( className + ".java" ),
+                             generator.generate( definitions, className ).getBytes( StandardCharsets.UTF_8 ) );
+            } catch ( IOException e ) {
+                throw new MojoExecutionException( "Error writing the generated class " + className, e );
+            } catch ( RuntimeException e ) {
+                throw new MojoExecutionException( "Error generating the code of the DMN model " + source, e );
+            }
+            getLog().info( "Generated " + packageName + "." + className + " from " + source.getFileName() );
+        }
+        project.addCompileSourceRoot( outputDirectory.getAbsolutePath() );
+    }
+}
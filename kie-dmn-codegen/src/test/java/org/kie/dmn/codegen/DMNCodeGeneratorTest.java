@@ -0,0 +1,168 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.codegen;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kie.dmn.backend.marshalling.v1_1.DMNMarshallerFactory;
+import org.kie.dmn.core.api.DMNContext;
+import org.kie.dmn.core.api.DMNFactory;
+import org.kie.dmn.core.api.DMNModel;
+import org.kie.dmn.core.api.DMNResult;
+import org.kie.dmn.core.api.DMNRuntime;
+import org.kie.dmn.core.ast.DecisionNode;
+import org.kie.dmn.core.compiler.DMNCompilerImpl;
+import org.kie.dmn.core.impl.DMNRuntimeImpl;
+import org.kie.dmn.feel.model.v1_1.Definitions;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class DMNCodeGeneratorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testClassNames() {
+        assertThat( DMNCodeGenerator.classNameFor( "0004-simpletable-U" ), is( "DMN0004SimpletableU" ) );
+        assertThat( DMNCodeGenerator.classNameFor( "loan approval" ), is( "LoanApproval" ) );
+        assertThat( DMNCodeGenerator.classNameFor( null ), is( "DMN" ) );
+    }
+
+    @Test
+    public void testDecisionTableAndLiteralExpressions() throws Exception {
+        DMNModel compiled = compile( "codegen-test.dmn" );
+        DMNModel generated = generate( "codegen-test.dmn" );
+
+        DMNRuntime runtime = new DMNRuntimeImpl( null );
+        for ( int age : new int[]{ 10, 18, 30, 31, 64, 65, 80 } ) {
+            for ( String category : new String[]{ "A", "C" } ) {
+                DMNContext context = DMNFactory.newContext();
+                context.set( "Age", new BigDecimal( age ) );
+                context.set( "Category", category );
+                assertSameResults( runtime.evaluateAll( generated, context ), runtime.evaluateAll( compiled, context ), "Band", "Summary", "Points", "Eligible" );
+            }
+        }
+
+        DMNContext context = DMNFactory.newContext();
+        context.set( "Age", new BigDecimal( 20 ) );
+        context.set( "Category", "B" );
+        DMNResult result = runtime.evaluateAll( generated, context );
+        assertThat( result.getContext().get( "Band" ), is( "preferred adult" ) );
+        assertThat( result.getContext().get( "Summary" ), is( "preferred adult (B)" ) );
+        assertThat( result.getContext().get( "Points" ), is( new BigDecimal( "119" ) ) );
+        assertThat( result.getContext().get( "Eligible" ), is( true ) );
+    }
+
+    @Test
+    public void testTestSuiteModels() throws Exception {
+        DMNRuntime runtime = new DMNRuntimeImpl( null );
+
+        DMNContext context = DMNFactory.newContext();
+        context.set( "Age", new BigDecimal( 18 ) );
+        context.set( "RiskCategory", "Medium" );
+        context.set( "isAffordable", true );
+        DMNResult result = runtime.evaluateAll( generate( "0004-simpletable-U.dmn" ), context );
+        assertThat( result.getContext().get( "Approval Status" ), is( "Approved" ) );
+
+        context = DMNFactory.newContext();
+        Map<String, Object> loan = new HashMap<>();
+        loan.put( "principal", 600000 );
+        loan.put( "rate", 0.0375 );
+        loan.put( "termMonths", 360 );
+        context.set( "loan", loan );
+        result = runtime.evaluateAll( generate( "0008-LX-arithmetic.dmn" ), context );
+        assertThat( result.getContext().get( "payment" ), is( new BigDecimal( "2778.693549432766720839844710324306" ) ) );
+    }
+
+    @Test
+    public void testGeneratedModelStructure() throws Exception {
+        DMNModel compiled = compile( "codegen-test.dmn" );
+        DMNModel generated = generate( "codegen-test.dmn" );
+
+        assertThat( generated.getName(), is( compiled.getName() ) );
+        assertThat( generated.getNamespace(), is( compiled.getNamespace() ) );
+        assertThat( generated.getInputs().size(), is( compiled.getInputs().size() ) );
+        assertThat( generated.getDecisions().size(), is( compiled.getDecisions().size() ) );
+        for ( DecisionNode expected : compiled.getDecisions() ) {
+            DecisionNode actual = generated.getDecisionById( expected.getId() );
+            assertThat( actual.getName(), is( expected.getName() ) );
+            assertThat( actual.getDependencies().keySet(), is( expected.getDependencies().keySet() ) );
+        }
+    }
+
+    @Test
+    public void testBuiltInFunctionsAreInvokedDirectly() throws Exception {
+        String source = new DMNCodeGenerator( "org.kie.dmn.generated" ).generate( definitions( "codegen-test.dmn" ), "CodegenTest" );
+        // the names are normalized, so irregular whitespace still finds the function
+        assertThat( source, containsString( "ctx.getValue( \"string length\" )" ) );
+        assertThat( source, not( containsString( "string  length" ) ) );
+    }
+
+    private void assertSameResults(DMNResult actual, DMNResult expected, String... decisions) {
+        for ( String decision : decisions ) {
+            assertThat( decision, actual.getContext().get( decision ), is( expected.getContext().get( decision ) ) );
+        }
+    }
+
+    private DMNModel compile(String resource) {
+        return new DMNCompilerImpl().compile( new InputStreamReader( getClass().getResourceAsStream( resource ), StandardCharsets.UTF_8 ) );
+    }
+
+    private Definitions definitions(String resource) throws Exception {
+        try ( Reader reader = new InputStreamReader( getClass().getResourceAsStream( resource ), StandardCharsets.UTF_8 ) ) {
+            return DMNMarshallerFactory.newDefaultMarshaller().unmarshal( reader );
+        }
+    }
+
+    private DMNModel generate(String resource) throws Exception {
+        Definitions definitions = definitions( resource );
+        String className = DMNCodeGenerator.classNameFor( definitions.getName() );
+        String source = new DMNCodeGenerator( "org.kie.dmn.generated" ).generate( definitions, className );
+
+        Path sourceDir = folder.newFolder().toPath();
+        Path classesDir = folder.newFolder().toPath();
+        Path sourceFile = sourceDir.resolve( className + ".java" );
+        Files.write( sourceFile, source.getBytes( StandardCharsets.UTF_8 ) );
+
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        String classpath = System.getProperty( "surefire.test.class.path", System.getProperty( "java.class.path" ) );
+        ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        int status = javac.run( null, errors, errors, "-Xlint:unchecked,rawtypes", "-Werror", "-classpath", classpath, "-d", classesDir.toString(), sourceFile.toString() );
+        assertThat( "The generated source does not compile:\n" + errors + "\n" + source, status, is( 0 ) );
+
+        ClassLoader loader = new URLClassLoader( new URL[]{ classesDir.toUri().toURL() }, getClass().getClassLoader() );
+        Class<?> model = loader.loadClass( "org.kie.dmn.generated." + className );
+        return (DMNModel) model.getMethod( "newModel" ).invoke( null );
+    }
+}
@@ -19,6 +19,8 @@ package org.kie.dmn.core.api;
 import org.kie.dmn.core.compiler.DMNCompilerImpl;
 import org.kie.dmn.core.impl.DMNContextImpl;
 
+import java.util.concurrent.ForkJoinPool;
+
 public class DMNFactory {
 
     public static DMNContext newContext() {
@@ -27,4 +29,16 @@ public class DMNFactory {
 
     public static DMNCompiler newCompiler() { return new DMNCompilerImpl(); }
 
+    /**
+     * Creates a compiler that compiles the elements of each model
+     * in parallel, using the common fork join pool
+     */
+    public static DMNCompiler newParallelCompiler() { return new DMNCompilerImpl( ForkJoinPool.commonPool() ); }
+
+    /**
+     * Creates a compiler that compiles each decision the first
+     * time it is evaluated
+     */
+    public static DMNCompiler newLazyCompiler() { return new DMNCompilerImpl( null, true ); }
+
 }
@@ -53,4 +53,11 @@ public interface DMNModel {
     ItemDefNode getItemDefinitionByName(String name);
 
     Set<ItemDefNode> getItemDefinitions();
+
+    /**
+     * Compiles all the decisions of this model that were not compiled
+     * yet. Only needed to warm up models compiled lazily, as otherwise
+     * each decision is compiled the first time it is evaluated.
+     */
+    void precompileAll();
 }
@@ -27,12 +27,14 @@ import org.kie.dmn.feel.runtime.decisiontables.ConcreteDTFunction;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 public class DecisionNode extends DMNBaseNode implements DMNNode {
 
     private Decision decision;
     private Map<String, DMNNode> dependencies = new HashMap<>(  );
-    private DecisionEvaluator evaluator;
+    private volatile DecisionEvaluator evaluator;
+    private volatile Supplier<DecisionEvaluator> evaluatorCompiler;
 
     public DecisionNode() {
     }
@@ -62,12 +64,44 @@ public class DecisionNode extends DMNBaseNode implements DMNNode {
         this.dependencies.put( name, dependency );
     }
 
+    /**
+     * Returns the evaluator of this decision. If the decision was
+     * compiled lazily, the evaluator is compiled on the first call,
+     * exactly once even if several threads call this concurrently.
+     * If the compilation fails the exception is propagated, and the
+     * compilation is retried on the next call.
+     */
     public DecisionEvaluator getEvaluator() {
-        return evaluator;
+        DecisionEvaluator result = evaluator;
+        if ( result == null && evaluatorCompiler != null ) {
+            synchronized ( this ) {
+                result = evaluator;
+                if ( result == null && evaluatorCompiler != null ) {
+                    result = evaluatorCompiler.get();
+                    evaluator = result;
+                    evaluatorCompiler = null;
+                }
+            }
+        }
+        return result;
     }
 
     public void setEvaluator(DecisionEvaluator evaluator) {
         this.evaluator = evaluator;
+        this.evaluatorCompiler = null;
+    }
+
+    /**
+     * Sets the function that compiles the evaluator of this decision
+     * on the first call to {@link #getEvaluator()}
+     */
+    public void setEvaluatorCompiler(Supplier<DecisionEvaluator> evaluatorCompiler) {
+        this.evaluator = null;
+        this.evaluatorCompiler = evaluatorCompiler;
+    }
+
+    public boolean isCompiled() {
+        return evaluator != null;
     }
 
     public static interface DecisionEvaluator {
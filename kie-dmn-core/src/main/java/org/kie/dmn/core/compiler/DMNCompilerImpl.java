@@ -45,11 +45,49 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class DMNCompilerImpl implements DMNCompiler {
 
     private static final Logger logger = LoggerFactory.getLogger( DMNCompilerImpl.class );
 
+    private final ForkJoinPool pool;
+    private final boolean      lazy;
+
+    public DMNCompilerImpl() {
+        this( null, false );
+    }
+
+    /**
+     * Creates a compiler that compiles the item definitions and the
+     * decisions of each model in parallel, using the given pool. The
+     * compiled model, and the error reported when the compilation of
+     * an element fails, are the same as when compiling sequentially.
+     *
+     * @param pool the pool to compile on, or null to compile sequentially
+     */
+    public DMNCompilerImpl(ForkJoinPool pool) {
+        this( pool, false );
+    }
+
+    /**
+     * Creates a compiler that, when lazy is true, does not compile the
+     * decisions of each model upfront: each decision is compiled the first
+     * time it is evaluated, or when {@link DMNModel#precompileAll()} is
+     * called. Errors in the expressions of a decision are then reported
+     * when the decision is evaluated, instead of when the model is compiled.
+     *
+     * @param pool the pool to compile on, or null to compile sequentially
+     * @param lazy true to compile the decisions on first use
+     */
+    public DMNCompilerImpl(ForkJoinPool pool, boolean lazy) {
+        this.pool = pool;
+        this.lazy = lazy;
+    }
+
     @Override
     public DMNModel compile(Resource resource) {
         try {
@@ -78,14 +116,14 @@ public class DMNCompilerImpl implements DMNCompiler {
     }
 
     private void processItemDefinitions(DMNModelImpl model, Definitions dmndefs) {
-        for( ItemDefinition id : dmndefs.getItemDefinition() ) {
-            DMNType type = buildTypeDef( id );
-            ItemDefNode idn = new ItemDefNode( id, type );
+        java.util.List<ItemDefNode> itemDefs = compileAll( dmndefs.getItemDefinition(), id -> new ItemDefNode( id, buildTypeDef( id ) ) );
+        for( ItemDefNode idn : itemDefs ) {
             model.addItemDefinition( idn );
         }
     }
 
     private void processDrgElements(DMNModelImpl model, Definitions dmndefs) {
+        java.util.List<DecisionNode> decisions = new ArrayList<>();
         for ( DRGElement e : dmndefs.getDrgElement() ) {
             if ( e instanceof InputData ) {
                 InputDataNode idn = new InputDataNode( (InputData) e );
@@ -93,14 +131,54 @@ public class DMNCompilerImpl implements DMNCompiler {
             } else if ( e instanceof Decision ) {
                 DecisionNode dn = new DecisionNode( (Decision) e );
                 model.addDecision( dn );
+                decisions.add( dn );
             }
         }
 
-        for ( DecisionNode d : model.getDecisions() ) {
+        // the requirements are linked before compiling, so that the
+        // compilation of each decision is independent of the others
+        for ( DecisionNode d : decisions ) {
             linkDecisionRequirements( model, d );
-            DecisionNode.DecisionEvaluator evaluator = compileDecision( d );
-            d.setEvaluator( evaluator );
         }
+        FEEL feel = FEEL.newInstance();
+        if ( lazy ) {
+            for ( DecisionNode d : decisions ) {
+                d.setEvaluatorCompiler( () -> compileDecision( feel, d ) );
+            }
+            return;
+        }
+        java.util.List<DecisionNode.DecisionEvaluator> evaluators = compileAll( decisions, d -> compileDecision( feel, d ) );
+        for ( int i = 0; i < decisions.size(); i++ ) {
+            decisions.get( i ).setEvaluator( evaluators.get( i ) );
+        }
+    }
+
+    /**
+     * Applies the compiler function to each of the given elements, in
+     * parallel if this compiler has a pool. The results are in the same
+     * order as the elements, and if compiling any of the elements fails,
+     * the exception thrown is the one of the first failing element.
+     */
+    private <T, R> java.util.List<R> compileAll(java.util.List<T> elements, Function<T, R> compiler) {
+        if ( pool == null || elements.size() < 2 ) {
+            return elements.stream().map( compiler ).collect( Collectors.toList() );
+        }
+        // the failures are kept by position, so that the first one is thrown
+        RuntimeException[] failures = new RuntimeException[elements.size()];
+        java.util.List<R> results = pool.submit( () -> IntStream.range( 0, elements.size() ).parallel().mapToObj( i -> {
+            try {
+                return compiler.apply( elements.get( i ) );
+            } catch ( RuntimeException ex ) {
+                failures[i] = ex;
+                return null;
+            }
+        } ).collect( Collectors.toList() ) ).join();
+        for ( RuntimeException failure : failures ) {
+            if ( failure != null ) {
+                throw failure;
+            }
+        }
+        return results;
     }
 
     private void linkDecisionRequirements(DMNModelImpl model, DecisionNode decision) {
@@ -152,9 +230,8 @@ public class DMNCompilerImpl implements DMNCompiler {
         return type;
     }
 
-    private DecisionNode.DecisionEvaluator compileDecision(DecisionNode decisionNode) {
+    private DecisionNode.DecisionEvaluator compileDecision(FEEL feel, DecisionNode decisionNode) {
         Decision decision = decisionNode.getDecision();
-        FEEL feel = FEEL.newInstance();
         Expression expression = decision.getExpression();
         if( expression instanceof LiteralExpression ) {
             CompilerContext ctx = feel.newCompilerContext();
@@ -171,12 +248,23 @@ public class DMNCompilerImpl implements DMNCompiler {
             for( InputClause ic : dt.getInput() ) {
                 inputs.add( ic.getInputExpression().getText() );
             }
-            java.util.List<org.kie.dmn.feel.runtime.decisiontables.DecisionRule> rules = new ArrayList<>(  );
+            // all the cells of the table are compiled as a single batch
+            java.util.List<String> entries = new ArrayList<>(  );
             for( DecisionRule dr : dt.getRule() ) {
-                org.kie.dmn.feel.runtime.decisiontables.DecisionRule rule = new org.kie.dmn.feel.runtime.decisiontables.DecisionRule();
                 for( UnaryTests ut : dr.getInputEntry() ) {
                     // quick hack to parse values, in case they are a list
-                    java.util.List<Object> ie = (java.util.List<Object>) feel.evaluate( "[ " + ut.getText() + " ]" );
+                    entries.add( "[ " + ut.getText() + " ]" );
+                }
+                for( LiteralExpression le : dr.getOutputEntry() ) {
+                    entries.add( le.getText() );
+                }
+            }
+            Iterator<CompiledExpression> compiledEntries = feel.compileAll( entries, feel.newCompilerContext() ).iterator();
+            java.util.List<org.kie.dmn.feel.runtime.decisiontables.DecisionRule> rules = new ArrayList<>(  );
+            for( DecisionRule dr : dt.getRule() ) {
+                org.kie.dmn.feel.runtime.decisiontables.DecisionRule rule = new org.kie.dmn.feel.runtime.decisiontables.DecisionRule();
+                for( int i = 0; i < dr.getInputEntry().size(); i++ ) {
+                    java.util.List<Object> ie = (java.util.List<Object>) feel.evaluate( compiledEntries.next(), Collections.emptyMap() );
                     java.util.List<UnaryTest> tests = new ArrayList<>(  );
                     for( Object o : ie ) {
                         if ( o instanceof UnaryTest ) {
@@ -189,8 +277,8 @@ public class DMNCompilerImpl implements DMNCompiler {
                     }
                     rule.getInputEntry().add( x -> tests.stream().anyMatch( t -> t.apply( x ) ) );
                 }
-                for( LiteralExpression le : dr.getOutputEntry() ) {
-                    Object oe = feel.evaluate( le.getText() );
+                for( int i = 0; i < dr.getOutputEntry().size(); i++ ) {
+                    Object oe = feel.evaluate( compiledEntries.next(), Collections.emptyMap() );
                     rule.getOutputEntry().add( oe );
                 }
                 rules.add( rule );
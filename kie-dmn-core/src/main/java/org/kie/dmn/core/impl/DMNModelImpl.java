@@ -170,5 +170,12 @@ public class DMNModelImpl
         return this.itemDefs.values().stream().collect( Collectors.toSet());
     }
 
+    @Override
+    public void precompileAll() {
+        for( DecisionNode dn : this.decisions.values() ) {
+            dn.getEvaluator();
+        }
+    }
+
 
 }
@@ -106,7 +106,18 @@ public class DMNRuntimeImpl
         if( missingInput ) {
             return false;
         }
-        Object val = decision.getEvaluator().evaluate( result );
+        DecisionNode.DecisionEvaluator evaluator;
+        try {
+            evaluator = decision.getEvaluator();
+        } catch ( RuntimeException e ) {
+            // decisions compiled lazily report their compilation errors here
+            DMNMessage msg = result.addMessage( DMNMessage.Severity.ERROR,
+                                                "Error compiling decision '"+decision.getName()+"': " + e.getMessage(),
+                                                decision.getId() );
+            dr.getMessages().add( msg );
+            return false;
+        }
+        Object val = evaluator.evaluate( result );
         result.getContext().set( decision.getDecision().getVariable().getName(), val );
         dr.setResult( val );
         return true;
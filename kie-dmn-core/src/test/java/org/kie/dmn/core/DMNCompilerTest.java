@@ -21,18 +21,28 @@ import org.junit.Test;
 import org.kie.api.KieServices;
 import org.kie.api.runtime.KieContainer;
 import org.kie.dmn.core.api.*;
+import org.kie.dmn.core.ast.DecisionNode;
 import org.kie.dmn.core.ast.InputDataNode;
+import org.kie.dmn.core.compiler.DMNCompilerImpl;
 import org.kie.dmn.core.ast.ItemDefNode;
 import org.kie.dmn.core.impl.CompositeTypeImpl;
+import org.kie.dmn.core.impl.DMNRuntimeImpl;
 import org.kie.dmn.core.impl.FeelTypeImpl;
 import org.kie.dmn.feel.lang.types.BuiltInType;
 import org.mvel2.MVEL;
 
+import java.io.StringReader;
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.assertNotNull;
@@ -117,5 +127,100 @@ public class DMNCompilerTest {
         assertThat( ((FeelTypeImpl)termMonths).getFeelType(), is( BuiltInType.NUMBER ) );
     }
 
+    @Test
+    public void testParallelCompilation() {
+        String source = DMNModelGenerator.generate( "parallel", 20, 10 );
+        DMNModel sequential = new DMNCompilerImpl().compile( new StringReader( source ) );
+        ForkJoinPool pool = new ForkJoinPool( 4 );
+        DMNModel parallel;
+        try {
+            parallel = new DMNCompilerImpl( pool ).compile( new StringReader( source ) );
+        } finally {
+            pool.shutdown();
+        }
+        assertThat( parallel, notNullValue() );
+        assertThat( parallel.getDecisions().size(), is( sequential.getDecisions().size() ) );
+
+        DMNContext context = DMNFactory.newContext();
+        context.set( "Age", new BigDecimal( 35 ) );
+        context.set( "Category", "B" );
+        DMNRuntime runtime = new DMNRuntimeImpl( null );
+        DMNResult expected = runtime.evaluateAll( sequential, context );
+        DMNResult actual = runtime.evaluateAll( parallel, context );
+        for ( int i = 0; i < 20; i++ ) {
+            Object result = actual.getContext().get( "Decision " + i );
+            assertThat( result, notNullValue() );
+            assertThat( result, is( expected.getContext().get( "Decision " + i ) ) );
+        }
+        assertThat( actual.getContext().get( "Decision 0" ), is( "rule 3 of 0" ) );
+    }
+
+    @Test
+    public void testLazyCompilation() {
+        String source = DMNModelGenerator.generate( "lazy", 6, 10 );
+        DMNModel model = DMNFactory.newLazyCompiler().compile( new StringReader( source ) );
+        assertThat( model, notNullValue() );
+        for ( DecisionNode dn : model.getDecisions() ) {
+            assertThat( dn.isCompiled(), is( false ) );
+        }
+
+        DMNContext context = DMNFactory.newContext();
+        context.set( "Age", new BigDecimal( 35 ) );
+        context.set( "Category", "B" );
+        DMNRuntime runtime = new DMNRuntimeImpl( null );
+        DMNResult result = runtime.evaluateDecisionByName( model, "Decision 0", context );
+        assertThat( result.getContext().get( "Decision 0" ), is( "rule 3 of 0" ) );
+        assertThat( model.getDecisionByName( "Decision 0" ).isCompiled(), is( true ) );
+        assertThat( model.getDecisionByName( "Decision 1" ).isCompiled(), is( false ) );
+
+        model.precompileAll();
+        for ( DecisionNode dn : model.getDecisions() ) {
+            assertThat( dn.isCompiled(), is( true ) );
+        }
+        DMNModel eager = new DMNCompilerImpl().compile( new StringReader( source ) );
+        DMNResult expected = runtime.evaluateAll( eager, context );
+        DMNResult actual = runtime.evaluateAll( model, context );
+        for ( int i = 0; i < 6; i++ ) {
+            assertThat( actual.getContext().get( "Decision " + i ), is( expected.getContext().get( "Decision " + i ) ) );
+        }
+    }
 
+    @Test
+    public void testLazyEvaluatorIsCompiledOnce() throws Exception {
+        AtomicInteger compilations = new AtomicInteger();
+        DecisionNode.DecisionEvaluator evaluator = r -> "result";
+        DecisionNode decision = new DecisionNode();
+        decision.setEvaluatorCompiler( () -> {
+            compilations.incrementAndGet();
+            return evaluator;
+        } );
+
+        ExecutorService executor = Executors.newFixedThreadPool( 8 );
+        try {
+            java.util.List<Callable<DecisionNode.DecisionEvaluator>> tasks = new java.util.ArrayList<>();
+            for ( int i = 0; i < 32; i++ ) {
+                tasks.add( decision::getEvaluator );
+            }
+            for ( Future<DecisionNode.DecisionEvaluator> f : executor.invokeAll( tasks ) ) {
+                assertThat( f.get(), is( sameInstance( evaluator ) ) );
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat( compilations.get(), is( 1 ) );
+    }
+
+    @Test
+    public void testLazyCompilationError() {
+        String source = DMNModelGenerator.generate( "lazyError", 2, 2 )
+                .replace( "then Age * 1", "then Age * * 1" );
+        DMNModel model = DMNFactory.newLazyCompiler().compile( new StringReader( source ) );
+        assertThat( model, notNullValue() );
+
+        DMNContext context = DMNFactory.newContext();
+        context.set( "Age", new BigDecimal( 35 ) );
+        context.set( "Category", "B" );
+        DMNResult result = new DMNRuntimeImpl( null ).evaluateDecisionByName( model, "Decision 1", context );
+        assertThat( result.hasErrors(), is( true ) );
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core;
+
+/**
+ * Generates synthetic DMN models of a given size, with the inputs
+ * "Age" and "Category", and a mix of decision table and literal
+ * expression decisions named "Decision 0" to "Decision n-1".
+ */
+public class DMNModelGenerator {
+
+    public static final String NAMESPACE = "https://github.com/droolsjbpm/kie-dmn";
+
+    public static String generate(String name, int decisions, int rulesPerTable) {
+        StringBuilder sb = new StringBuilder();
+        sb.append( "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" )
+          .append( "<definitions xmlns=\"http://www.omg.org/spec/DMN/20151101/dmn.xsd\"" )
+          .append( " xmlns:feel=\"http://www.omg.org/spec/FEEL/20140401\"" )
+          .append( " id=\"_" ).append( name ).append( "\" namespace=\"" ).append( NAMESPACE ).append( "\"" )
+          .append( " name=\"" ).append( name ).append( "\">\n" );
+        for ( int i = 0; i < decisions; i++ ) {
+            sb.append( "  <decision id=\"_d" ).append( i ).append( "\" name=\"Decision " ).append( i ).append( "\">\n" )
+              .append( "    <variable name=\"Decision " ).append( i ).append( "\"/>\n" )
+              .append( "    <informationRequirement><requiredInput href=\"#_Age\"/></informationRequirement>\n" )
+              .append( "    <informationRequirement><requiredInput href=\"#_Category\"/></informationRequirement>\n" );
+            if ( i % 2 == 0 ) {
+                appendDecisionTable( sb, i, rulesPerTable );
+            } else {
+                sb.append( "    <literalExpression><text>if Age &gt; " ).append( i )
+                  .append( " then Age * " ).append( i ).append( " + string length( Category ) else Category + \"-" ).append( i )
+                  .append( "\"</text></literalExpression>\n" );
+            }
+            sb.append( "  </decision>\n" );
+        }
+        sb.append( "  <inputData id=\"_Age\" name=\"Age\"><variable name=\"Age\" typeRef=\"feel:number\"/></inputData>\n" )
+          .append( "  <inputData id=\"_Category\" name=\"Category\"><variable name=\"Category\" typeRef=\"feel:string\"/></inputData>\n" )
+          .append( "</definitions>\n" );
+        return sb.toString();
+    }
+
+    private static void appendDecisionTable(StringBuilder sb, int decision, int rules) {
+        sb.append( "    <decisionTable hitPolicy=\"FIRST\">\n" )
+          .append( "      <input id=\"_d" ).append( decision ).append( "_age\"><inputExpression><text>Age</text></inputExpression></input>\n" )
+          .append( "      <input id=\"_d" ).append( decision ).append( "_category\"><inputExpression><text>Category</text></inputExpression></input>\n" )
+          .append( "      <output id=\"_d" ).append( decision ).append( "_out\"/>\n" );
+        for ( int r = 0; r < rules; r++ ) {
+            sb.append( "      <rule>\n" )
+              .append( "        <inputEntry><text>[" ).append( r * 10 ).append( ".." ).append( r * 10 + 9 ).append( "]</text></inputEntry>\n" )
+              .append( "        <inputEntry><text>" ).append( r % 3 == 0 ? "-" : "\"A\", \"B\"" ).append( "</text></inputEntry>\n" )
+              .append( "        <outputEntry><text>\"rule " ).append( r ).append( " of " ).append( decision ).append( "\"</text></outputEntry>\n" )
+              .append( "      </rule>\n" );
+        }
+        sb.append( "    </decisionTable>\n" );
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core.benchmark;
+
+import org.kie.dmn.core.DMNModelGenerator;
+import org.kie.dmn.core.api.DMNModel;
+import org.kie.dmn.core.compiler.DMNCompilerImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.StringReader;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compile time of a large generated model, sequentially and in
+ * parallel with an increasing number of worker threads. A parallelism
+ * of 0 means sequential compilation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DMNCompilerBenchmark {
+
+    @Param({"0", "1", "2", "4", "8"})
+    private int parallelism;
+
+    @Param({"200"})
+    private int decisions;
+
+    @Param({"50"})
+    private int rulesPerTable;
+
+    private String           source;
+    private ForkJoinPool     pool;
+    private DMNCompilerImpl  compiler;
+
+    @Setup
+    public void setup() {
+        source = DMNModelGenerator.generate( "benchmark", decisions, rulesPerTable );
+        pool = parallelism > 0 ? new ForkJoinPool( parallelism ) : null;
+        compiler = new DMNCompilerImpl( pool );
+    }
+
+    @TearDown
+    public void tearDown() {
+        if ( pool != null ) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public DMNModel compile() {
+        return compiler.compile( new StringReader( source ) );
+    }
+}
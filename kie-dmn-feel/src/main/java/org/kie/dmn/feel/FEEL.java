@@ -18,8 +18,16 @@ package org.kie.dmn.feel;
 
 import org.kie.dmn.feel.lang.CompiledExpression;
 import org.kie.dmn.feel.lang.CompilerContext;
+import org.kie.dmn.feel.lang.FEELSession;
+import org.kie.dmn.feel.lang.impl.CompiledExpressionCache;
+import org.kie.dmn.feel.lang.impl.DelegatingFEELSession;
 import org.kie.dmn.feel.lang.impl.FEELImpl;
+import org.kie.dmn.feel.parser.feel11.FEELParser;
+import org.kie.dmn.feel.runtime.functions.JavaFunctionResolver;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -38,6 +46,29 @@ public interface FEEL {
         return new FEELImpl();
     }
 
+    /**
+     * Factory method to create a new FEEL engine instance that loads
+     * the classes of the external Java functions with the given
+     * class loader. The expressions it compiles must be deserialized
+     * with a FEELObjectInputStream to keep using that class loader.
+     *
+     * @param classLoader the class loader of the external functions
+     * @return a newly instantiated FEEL engine instance
+     */
+    static FEEL newInstance(ClassLoader classLoader) {
+        return new FEELImpl( new CompiledExpressionCache(), new JavaFunctionResolver( classLoader ) );
+    }
+
+    /**
+     * Pre-populates the caches shared by all FEEL parsers, so
+     * that the first compilations are not penalized. Calling
+     * this method is optional, and only the first call has
+     * any effect.
+     */
+    static void warmUp() {
+        FEELParser.warmUp();
+    }
+
     /**
      * Factory method to create a new compiler context
      *
@@ -55,6 +86,28 @@ public interface FEEL {
      */
     CompiledExpression compile(String expression, CompilerContext ctx);
 
+    /**
+     * Compiles all the given string expressions using the
+     * given compiler context. This is equivalent to compiling
+     * each expression on its own, but it is faster for large
+     * batches of expressions, as the parser and the symbols
+     * of the context are set up once for the whole batch.
+     * The default implementation compiles each expression
+     * on its own.
+     *
+     * @param expressions the FEEL expressions
+     * @param ctx a compiler context
+     * @return the compiled expressions, in the same order as
+     *         the given expressions
+     */
+    default List<CompiledExpression> compileAll(Collection<String> expressions, CompilerContext ctx) {
+        List<CompiledExpression> compiled = new ArrayList<>( expressions.size() );
+        for ( String expression : expressions ) {
+            compiled.add( compile( expression, ctx ) );
+        }
+        return compiled;
+    }
+
     /**
      * Evaluates the given FEEL expression and returns
      * the result
@@ -100,5 +153,21 @@ public interface FEEL {
      */
     Object evaluate(CompiledExpression expression, Map<String, Object> inputVariables);
 
+    /**
+     * Creates a session to evaluate any number of compiled
+     * expressions over the given input variables. This is faster
+     * than evaluating each expression on its own, as the inputs
+     * are bound and the evaluation context is created once.
+     *
+     * The session is not thread safe, see FEELSession.
+     *
+     * @param inputVariables a map of input Variables, like for
+     *                       evaluate(CompiledExpression, Map)
+     * @return a new session
+     */
+    default FEELSession newSession(Map<String, Object> inputVariables) {
+        return new DelegatingFEELSession( this, inputVariables );
+    }
+
 
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang;
+
+import java.util.Map;
+
+/**
+ * A session evaluating any number of compiled expressions over the
+ * same input variables, that are bound once when the session is created
+ * or reset. The evaluation context is reused by all the evaluations.
+ *
+ * Sessions are not thread safe: a session must only be used by one
+ * thread at a time. A session can be pooled, and reset with the inputs
+ * of the next use.
+ */
+public interface FEELSession {
+
+    /**
+     * Evaluates the given compiled expression over the input
+     * variables of this session, and returns the result
+     *
+     * @param expression a compiled FEEL expression
+     * @return the result of the evaluation of the expression
+     */
+    Object evaluate(CompiledExpression expression);
+
+    /**
+     * Binds this session to the given input variables, discarding
+     * any state of the previous evaluations
+     *
+     * @param inputVariables the input variables, that are read
+     *                       through without being copied
+     */
+    void reset(Map<String, Object> inputVariables);
+
+    Map<String, Object> getInputVariables();
+}
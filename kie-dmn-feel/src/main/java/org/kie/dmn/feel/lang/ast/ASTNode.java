@@ -41,4 +41,6 @@ public interface ASTNode {
     Type getResultType();
 
     Object evaluate(EvaluationContext ctx);
+
+    <T> T accept(Visitor<T> v);
 }
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.ast;
+
+import org.kie.dmn.feel.util.EvalHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base class for the passes that rewrite an AST. Each visit() method
+ * rewrites the children of the node and returns the node that should
+ * replace the visited one, by default the node itself.
+ *
+ * While visiting, it keeps track of the names defined by the enclosing
+ * contexts, functions and iterations, and of whether the visited node is
+ * in a function body or filter, where names that are unknown at compile
+ * time can shadow any other name.
+ */
+public abstract class ASTRewriter
+        implements Visitor<BaseNode> {
+
+    private final List<String> localNames = new ArrayList<>();
+    private int dynamicScopeDepth;
+
+    public BaseNode rewrite(BaseNode node) {
+        return node != null ? node.accept( this ) : null;
+    }
+
+    /**
+     * Returns true if the given name is defined by an enclosing
+     * context, function or iteration
+     */
+    protected boolean isLocalName(String name) {
+        return localNames.contains( EvalHelper.normalizeVariableName( name ) );
+    }
+
+    /**
+     * Returns true if the visited node is evaluated in a scope that
+     * might contain names unknown at compile time
+     */
+    protected boolean isInDynamicScope() {
+        return dynamicScopeDepth > 0;
+    }
+
+    @Override
+    public BaseNode visit(ASTNode n) {
+        return (BaseNode) n;
+    }
+
+    @Override
+    public BaseNode visit(BetweenNode n) {
+        n.setValue( rewrite( n.getValue() ) );
+        n.setStart( rewrite( n.getStart() ) );
+        n.setEnd( rewrite( n.getEnd() ) );
+        return n;
+    }
+
+    @Override
+    public BaseNode visit(ContextEntryNode n) {
+        n.setValue( rewrite( n.getValue() ) );
+        return n;
+    }
+
+    @Override
+    public BaseNode visit(ContextNode n) {
+        int mark = localNames.size();
+        try {
+            for ( ContextEntryNode entry : n.getEntries() ) {
+                localNames.add( nameOf( entry.getName() ) );
+            }
+            for ( ContextEntryNode entry : n.getEntries() ) {
+                rewrite( entry );
+            }
+        } finally {
+            resetLocalNames( mark );
+        }
+        return n;
+    }
+
+    @Override
+    public BaseNode visit(FilterExpressionNode n) {
+        n.setExpression( rewrite( n.getExpression() ) );
+        dynamicScopeDepth++;
+        try {
+            n.setFilter( rewrite( n.getFilter() ) );
+        } finally {
+            dynamicScopeDepth--;
+        }
+        return n;
+    }
+
+    @Override
+    public BaseNode visit(ForExpressionNode n) {
+        int mark = localNames.size();
+        try {
+            rewriteIterationContexts( n.getIterationContexts() );
+            n.setExpression( rewrite( n.getExpression() ) );
+        } finally {
+            resetLocalNames( mark );
+        }
+        return n;
+    }
+
+    @Override
+    public BaseNode visit(FunctionDefNode n) {
+        int mark = localNames.size();
+        dynamicScopeDepth++;
+        try {
+            for ( NameDefNode param : n.getFormalParameters() ) {
+                localNames.add( nameOf( param ) );
+            }
+            n.setBody( rewrite( n.getBody() ) );
+        } finally {
+            dynamicScopeDepth--;
+            resetLocalNames( mark );
+        }
+        return n;
+    }
+
+    @Override
+    public BaseNode visit(FunctionInvocationNode n) {
+        rewrite( n.getParams() );
+        return n;
+    }
+
+    @Override
+    public BaseNode visit(IfExpressionNode n) {
+        n.setCondition( rewrite( n.getCondition() ) );
+        n.setThenExpression( rewrite( n.getThenExpression() ) );
+        n.setElseExpression( rewrite( n.getElseExpression() ) );
+        return n;
+    }
+
+    @Override
+    public BaseNode visit(InNode n) {
+        n.setValue( rewrite( n.getValue() ) );
+        n.setExprs( rewrite( n.getExprs() ) );
+        return n;
+    }
+
+    @Override
+    public BaseNode visit(InfixOpNode n) {
+        n.setLeft( rewrite( n.getLeft() ) );
+        n.setRight( rewrite( n.getRight() ) );
+        return n;
+    }
+
+    @Override
+    public BaseNode visit(InstanceOfNode n) {
+        n.setExpression( rewrite( n.getExpression() ) );
+        return n;
+    }
+
+    @Override
+    public BaseNode visit(IterationContextNode n) {
+        n.setExpression( rewrite( n.getExpression() ) );
+        return n;
+    }
+
+    @Override
+    public BaseNode visit(ListNode n) {
+        List<BaseNode> elements = n.getElements();
+        for ( int i = 0; i < elements.size(); i++ ) {
+            elements.set( i, rewrite( elements.get( i ) ) );
+        }
+        return n;
+    }
+
+    @Override
+    public BaseNode visit(NamedParameterNode n) {
+        n.setExpression( rewrite( n.getExpression() ) );
+        return n;
+    }
+
+    @Override
+    public BaseNode visit(NotNode n) {
+        n.setExpression( rewrite( n.getExpression() ) );
+        return n;
+    }
+
+    @Override
+    public BaseNode visit(PathExpressionNode n) {
+        n.setExpression( rewrite( n.getExpression() ) );
+        return n;
+    }
+
+    @Override
+    public BaseNode visit(QuantifiedExpressionNode n) {
+        int mark = localNames.size();
+        try {
+            rewriteIterationContexts( n.getIterationContexts() );
+            n.setExpression( rewrite( n.getExpression() ) );
+        } finally {
+            resetLocalNames( mark );
+        }
+        return n;
+    }
+
+    @Override
+    public BaseNode visit(RangeNode n) {
+        n.setStart( rewrite( n.getStart() ) );
+        n.setEnd( rewrite( n.getEnd() ) );
+        return n;
+    }
+
+    @Override
+    public BaseNode visit(SignedUnaryNode n) {
+        n.setExpression( rewrite( n.getExpression() ) );
+        return n;
+    }
+
+    @Override
+    public BaseNode visit(UnaryTestNode n) {
+        n.setValue( rewrite( n.getValue() ) );
+        return n;
+    }
+
+    private void rewriteIterationContexts(List<IterationContextNode> iterationContexts) {
+        for ( IterationContextNode icn : iterationContexts ) {
+            localNames.add( nameOf( icn.getName() ) );
+        }
+        for ( IterationContextNode icn : iterationContexts ) {
+            rewrite( icn );
+        }
+    }
+
+    private void resetLocalNames(int mark) {
+        while ( localNames.size() > mark ) {
+            localNames.remove( localNames.size() - 1 );
+        }
+    }
+
+    private static String nameOf(BaseNode name) {
+        String text = name instanceof StringNode ? EvalHelper.stripQuotes( name.getText() ) : name.getText();
+        return EvalHelper.normalizeVariableName( text );
+    }
+}
@@ -0,0 +1,660 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.ast;
+
+import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.impl.EvaluationContextImpl;
+import org.kie.dmn.feel.util.DecimalMath;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes FEEL ASTs in a compact binary format, so that
+ * compiled expressions can be stored and loaded back without
+ * running the parser.
+ *
+ * Only the node types, literal values and source spans are written.
+ * Precomputed constants are written as the subtree they replace, and
+ * are computed again when read.
+ * The source text of the root node is written once and the text of
+ * every other node is derived from its span, while repeated strings
+ * (names, parts) are written only once per tree.
+ */
+public final class ASTSerializer {
+
+    private static final int  MAGIC   = 0x4645454C; // "FEEL"
+    private static final byte VERSION = 1;
+
+    // flag set on the node tag when the node text is not a substring of the source
+    private static final int EXPLICIT_TEXT = 0x80;
+
+    private enum NodeType {
+        NULL_REFERENCE( null ),
+        BETWEEN( BetweenNode.class ),
+        BOOLEAN( BooleanNode.class ),
+        CONTEXT_ENTRY( ContextEntryNode.class ),
+        CONTEXT( ContextNode.class ),
+        DASH( DashNode.class ),
+        FILTER_EXPRESSION( FilterExpressionNode.class ),
+        FOR_EXPRESSION( ForExpressionNode.class ),
+        FUNCTION_DEF( FunctionDefNode.class ),
+        FUNCTION_INVOCATION( FunctionInvocationNode.class ),
+        IF_EXPRESSION( IfExpressionNode.class ),
+        IN( InNode.class ),
+        INFIX_OP( InfixOpNode.class ),
+        INSTANCE_OF( InstanceOfNode.class ),
+        ITERATION_CONTEXT( IterationContextNode.class ),
+        LIST( ListNode.class ),
+        NAME_DEF( NameDefNode.class ),
+        NAME_REF( NameRefNode.class ),
+        NAMED_PARAMETER( NamedParameterNode.class ),
+        NOT( NotNode.class ),
+        NULL( NullNode.class ),
+        NUMBER( NumberNode.class ),
+        PATH_EXPRESSION( PathExpressionNode.class ),
+        QUALIFIED_NAME( QualifiedNameNode.class ),
+        QUANTIFIED_EXPRESSION( QuantifiedExpressionNode.class ),
+        RANGE( RangeNode.class ),
+        SIGNED_UNARY( SignedUnaryNode.class ),
+        STRING( StringNode.class ),
+        TYPE( TypeNode.class ),
+        UNARY_TEST( UnaryTestNode.class ),
+        CONSTANT( ConstantNode.class ),
+        NUMERIC_INFIX_OP( NumericInfixOpNode.class ),
+        STRING_CONCAT( StringConcatNode.class ),
+        DATE_TIME_DURATION( DateTimeDurationNode.class );
+
+        private static final Map<Class<?>, NodeType> BY_CLASS = new HashMap<>();
+        private static final NodeType[]              VALUES   = values();
+
+        static {
+            for ( NodeType type : VALUES ) {
+                if ( type.nodeClass != null ) {
+                    BY_CLASS.put( type.nodeClass, type );
+                }
+            }
+            // slots depend on the layout of the frames, so they are
+            // resolved again after reading
+            BY_CLASS.put( SlotRefNode.class, NAME_REF );
+        }
+
+        private final Class<? extends BaseNode> nodeClass;
+
+        NodeType(Class<? extends BaseNode> nodeClass) {
+            this.nodeClass = nodeClass;
+        }
+
+        static NodeType of(BaseNode node) {
+            NodeType type = BY_CLASS.get( node.getClass() );
+            if ( type == null ) {
+                throw new IllegalArgumentException( "Unable to serialize AST node of type " + node.getClass().getName() );
+            }
+            return type;
+        }
+    }
+
+    private ASTSerializer() {
+    }
+
+    public static byte[] toByteArray(ASTNode node) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try {
+            write( node, new DataOutputStream( baos ) );
+        } catch ( IOException e ) {
+            // not possible when writing to memory
+            throw new IllegalStateException( e );
+        }
+        return baos.toByteArray();
+    }
+
+    public static BaseNode fromByteArray(byte[] bytes) throws IOException {
+        return read( new DataInputStream( new ByteArrayInputStream( bytes ) ) );
+    }
+
+    public static void write(ASTNode node, DataOutput out) throws IOException {
+        out.writeInt( MAGIC );
+        out.writeByte( VERSION );
+        new NodeWriter( out, (BaseNode) node ).writeRoot();
+    }
+
+    public static BaseNode read(DataInput in) throws IOException {
+        if ( in.readInt() != MAGIC ) {
+            throw new StreamCorruptedException( "Not a serialized FEEL AST" );
+        }
+        byte version = in.readByte();
+        if ( version != VERSION ) {
+            throw new StreamCorruptedException( "Unsupported serialized FEEL AST version: " + version );
+        }
+        return new NodeReader( in ).readRoot();
+    }
+
+    private static class NodeWriter {
+        private final DataOutput           out;
+        private final BaseNode             root;
+        private final Map<String, Integer> strings = new HashMap<>();
+        private String source;
+        private int    sourceOffset;
+
+        private NodeWriter(DataOutput out, BaseNode root) {
+            this.out = out;
+            this.root = root;
+        }
+
+        private void writeRoot() throws IOException {
+            if ( root != null ) {
+                source = root.getText() != null ? root.getText() : "";
+                sourceOffset = root.getStartChar();
+            } else {
+                source = "";
+            }
+            writeString( source );
+            writeSignedVarInt( sourceOffset );
+            writeNode( root );
+        }
+
+        private void writeNode(BaseNode node) throws IOException {
+            if ( node == null ) {
+                out.writeByte( NodeType.NULL_REFERENCE.ordinal() );
+                return;
+            }
+            if ( node instanceof ConstantNode ) {
+                // precomputed values can be of any type, so the original subtree
+                // is written instead and evaluated again when read
+                out.writeByte( NodeType.CONSTANT.ordinal() );
+                writeNode( ((ConstantNode) node).getOriginal() );
+                return;
+            }
+            NodeType type = NodeType.of( node );
+            boolean derivedText = isDerivedText( node );
+            out.writeByte( derivedText ? type.ordinal() : type.ordinal() | EXPLICIT_TEXT );
+            writeSignedVarInt( node.getStartChar() - sourceOffset );
+            writeSignedVarInt( node.getEndChar() - node.getStartChar() );
+            writeSignedVarInt( node.getStartLine() );
+            writeSignedVarInt( node.getStartColumn() );
+            writeSignedVarInt( node.getEndLine() - node.getStartLine() );
+            writeSignedVarInt( node.getEndColumn() );
+            if ( !derivedText ) {
+                writeNullableString( node.getText() );
+            }
+            switch ( type ) {
+                case BETWEEN:
+                    writeNode( ((BetweenNode) node).getValue() );
+                    writeNode( ((BetweenNode) node).getStart() );
+                    writeNode( ((BetweenNode) node).getEnd() );
+                    break;
+                case BOOLEAN:
+                    Boolean b = ((BooleanNode) node).getValue();
+                    out.writeByte( b == null ? 2 : b ? 1 : 0 );
+                    break;
+                case CONTEXT_ENTRY:
+                    writeNode( ((ContextEntryNode) node).getName() );
+                    writeNode( ((ContextEntryNode) node).getValue() );
+                    break;
+                case CONTEXT:
+                    writeNodes( ((ContextNode) node).getEntries() );
+                    break;
+                case FILTER_EXPRESSION:
+                    writeNode( ((FilterExpressionNode) node).getExpression() );
+                    writeNode( ((FilterExpressionNode) node).getFilter() );
+                    break;
+                case FOR_EXPRESSION:
+                    writeNodes( ((ForExpressionNode) node).getIterationContexts() );
+                    writeNode( ((ForExpressionNode) node).getExpression() );
+                    break;
+                case FUNCTION_DEF:
+                    writeNodes( ((FunctionDefNode) node).getFormalParameters() );
+                    out.writeBoolean( ((FunctionDefNode) node).isExternal() );
+                    writeNode( ((FunctionDefNode) node).getBody() );
+                    break;
+                case FUNCTION_INVOCATION:
+                    writeNode( ((FunctionInvocationNode) node).getName() );
+                    writeNode( ((FunctionInvocationNode) node).getParams() );
+                    break;
+                case IF_EXPRESSION:
+                    writeNode( ((IfExpressionNode) node).getCondition() );
+                    writeNode( ((IfExpressionNode) node).getThenExpression() );
+                    writeNode( ((IfExpressionNode) node).getElseExpression() );
+                    break;
+                case IN:
+                    writeNode( ((InNode) node).getValue() );
+                    writeNode( ((InNode) node).getExprs() );
+                    break;
+                case INFIX_OP:
+                case NUMERIC_INFIX_OP:
+                case STRING_CONCAT:
+                case DATE_TIME_DURATION:
+                    writeEnum( ((InfixOpNode) node).getOperator() );
+                    writeNode( ((InfixOpNode) node).getLeft() );
+                    writeNode( ((InfixOpNode) node).getRight() );
+                    break;
+                case INSTANCE_OF:
+                    writeNode( ((InstanceOfNode) node).getExpression() );
+                    writeNode( ((InstanceOfNode) node).getType() );
+                    break;
+                case ITERATION_CONTEXT:
+                    writeNode( ((IterationContextNode) node).getName() );
+                    writeNode( ((IterationContextNode) node).getExpression() );
+                    break;
+                case LIST:
+                    writeNodes( ((ListNode) node).getElements() );
+                    break;
+                case NAME_DEF:
+                    List<String> parts = ((NameDefNode) node).getParts();
+                    if ( parts != null ) {
+                        writeVarInt( parts.size() + 1 );
+                        for ( String part : parts ) {
+                            writeNullableString( part );
+                        }
+                    } else {
+                        writeVarInt( 0 );
+                    }
+                    writeNullableString( ((NameDefNode) node).getName() );
+                    break;
+                case NAMED_PARAMETER:
+                    writeNode( ((NamedParameterNode) node).getName() );
+                    writeNode( ((NamedParameterNode) node).getExpression() );
+                    break;
+                case NOT:
+                    writeNode( ((NotNode) node).getExpression() );
+                    break;
+                case NUMBER:
+                    BigDecimal n = ((NumberNode) node).getValue();
+                    out.writeBoolean( n != null );
+                    if ( n != null ) {
+                        writeSignedVarInt( n.scale() );
+                        byte[] unscaled = n.unscaledValue().toByteArray();
+                        writeVarInt( unscaled.length );
+                        out.write( unscaled );
+                    }
+                    break;
+                case PATH_EXPRESSION:
+                    writeNode( ((PathExpressionNode) node).getExpression() );
+                    writeNode( ((PathExpressionNode) node).getName() );
+                    break;
+                case QUALIFIED_NAME:
+                    writeNodes( ((QualifiedNameNode) node).getParts() );
+                    break;
+                case QUANTIFIED_EXPRESSION:
+                    writeEnum( ((QuantifiedExpressionNode) node).getQuantifier() );
+                    writeNodes( ((QuantifiedExpressionNode) node).getIterationContexts() );
+                    writeNode( ((QuantifiedExpressionNode) node).getExpression() );
+                    break;
+                case RANGE:
+                    writeEnum( ((RangeNode) node).getLowerBound() );
+                    writeNode( ((RangeNode) node).getStart() );
+                    writeNode( ((RangeNode) node).getEnd() );
+                    writeEnum( ((RangeNode) node).getUpperBound() );
+                    break;
+                case SIGNED_UNARY:
+                    writeEnum( ((SignedUnaryNode) node).getSign() );
+                    writeNode( ((SignedUnaryNode) node).getExpression() );
+                    break;
+                case UNARY_TEST:
+                    writeEnum( ((UnaryTestNode) node).getOperator() );
+                    writeNode( ((UnaryTestNode) node).getValue() );
+                    break;
+                default:
+                    // DASH, NAME_REF, NULL, STRING and TYPE are fully described by their text
+                    break;
+            }
+        }
+
+        private boolean isDerivedText(BaseNode node) {
+            String text = node.getText();
+            int start = node.getStartChar() - sourceOffset;
+            int length = node.getEndChar() - node.getStartChar() + 1;
+            return text != null && start >= 0 && text.length() == length &&
+                   source.regionMatches( start, text, 0, length );
+        }
+
+        private void writeNodes(List<? extends BaseNode> nodes) throws IOException {
+            if ( nodes == null ) {
+                writeVarInt( 0 );
+                return;
+            }
+            writeVarInt( nodes.size() + 1 );
+            for ( BaseNode node : nodes ) {
+                writeNode( node );
+            }
+        }
+
+        private void writeEnum(Enum<?> value) throws IOException {
+            writeVarInt( value != null ? value.ordinal() + 1 : 0 );
+        }
+
+        private void writeNullableString(String s) throws IOException {
+            if ( s == null ) {
+                writeVarInt( 0 );
+            } else {
+                writeString( s );
+            }
+        }
+
+        /**
+         * Strings are identified by their position in the tree string table:
+         * a string seen before is written as its index + 1, a new one as 1 +
+         * the number of strings seen so far, followed by its UTF-8 bytes.
+         */
+        private void writeString(String s) throws IOException {
+            Integer index = strings.get( s );
+            if ( index != null ) {
+                writeVarInt( index + 1 );
+            } else {
+                strings.put( s, strings.size() );
+                writeVarInt( strings.size() );
+                byte[] bytes = s.getBytes( StandardCharsets.UTF_8 );
+                writeVarInt( bytes.length );
+                out.write( bytes );
+            }
+        }
+
+        private void writeSignedVarInt(int value) throws IOException {
+            writeVarInt( (value << 1) ^ (value >> 31) );
+        }
+
+        private void writeVarInt(int value) throws IOException {
+            while ( (value & ~0x7F) != 0 ) {
+                out.writeByte( (value & 0x7F) | 0x80 );
+                value >>>= 7;
+            }
+            out.writeByte( value );
+        }
+    }
+
+    private static class NodeReader {
+        private final DataInput    in;
+        private final List<String> strings = new ArrayList<>();
+        private String source;
+        private int    sourceOffset;
+
+        private EvaluationContext ctx;
+
+        private NodeReader(DataInput in) {
+            this.in = in;
+        }
+
+        private EvaluationContext getEvaluationContext() {
+            if ( ctx == null ) {
+                ctx = new EvaluationContextImpl();
+            }
+            return ctx;
+        }
+
+        private BaseNode readRoot() throws IOException {
+            source = readString();
+            sourceOffset = readSignedVarInt();
+            return readNode();
+        }
+
+        private BaseNode readNode() throws IOException {
+            int tag = in.readUnsignedByte();
+            boolean derivedText = (tag & EXPLICIT_TEXT) == 0;
+            int ordinal = tag & ~EXPLICIT_TEXT;
+            if ( ordinal >= NodeType.VALUES.length ) {
+                throw new StreamCorruptedException( "Unknown serialized FEEL AST node type: " + ordinal );
+            }
+            NodeType type = NodeType.VALUES[ordinal];
+            if ( type == NodeType.NULL_REFERENCE ) {
+                return null;
+            } else if ( type == NodeType.CONSTANT ) {
+                BaseNode original = readNode();
+                return new ConstantNode( original, original.evaluate( getEvaluationContext() ) );
+            }
+            BaseNode node = newNode( type );
+            int start = readSignedVarInt();
+            int end = start + readSignedVarInt();
+            node.setStartChar( start + sourceOffset );
+            node.setEndChar( end + sourceOffset );
+            node.setStartLine( readSignedVarInt() );
+            node.setStartColumn( readSignedVarInt() );
+            node.setEndLine( node.getStartLine() + readSignedVarInt() );
+            node.setEndColumn( readSignedVarInt() );
+            node.setText( derivedText ? source.substring( start, end + 1 ) : readNullableString() );
+            switch ( type ) {
+                case BETWEEN:
+                    ((BetweenNode) node).setValue( readNode() );
+                    ((BetweenNode) node).setStart( readNode() );
+                    ((BetweenNode) node).setEnd( readNode() );
+                    break;
+                case BOOLEAN:
+                    int b = in.readByte();
+                    ((BooleanNode) node).setValue( b == 2 ? null : b == 1 );
+                    break;
+                case CONTEXT_ENTRY:
+                    ((ContextEntryNode) node).setName( readNode() );
+                    ((ContextEntryNode) node).setValue( readNode() );
+                    break;
+                case CONTEXT:
+                    ((ContextNode) node).setEntries( readNodes() );
+                    break;
+                case FILTER_EXPRESSION:
+                    ((FilterExpressionNode) node).setExpression( readNode() );
+                    ((FilterExpressionNode) node).setFilter( readNode() );
+                    break;
+                case FOR_EXPRESSION:
+                    ((ForExpressionNode) node).setIterationContexts( readNodes() );
+                    ((ForExpressionNode) node).setExpression( readNode() );
+                    break;
+                case FUNCTION_DEF:
+                    ((FunctionDefNode) node).setFormalParameters( readNodes() );
+                    ((FunctionDefNode) node).setExternal( in.readBoolean() );
+                    ((FunctionDefNode) node).setBody( readNode() );
+                    break;
+                case FUNCTION_INVOCATION:
+                    ((FunctionInvocationNode) node).setName( readNode() );
+                    ((FunctionInvocationNode) node).setParams( (ListNode) readNode() );
+                    break;
+                case IF_EXPRESSION:
+                    ((IfExpressionNode) node).setCondition( readNode() );
+                    ((IfExpressionNode) node).setThenExpression( readNode() );
+                    ((IfExpressionNode) node).setElseExpression( readNode() );
+                    break;
+                case IN:
+                    ((InNode) node).setValue( readNode() );
+                    ((InNode) node).setExprs( readNode() );
+                    break;
+                case INFIX_OP:
+                case NUMERIC_INFIX_OP:
+                case STRING_CONCAT:
+                case DATE_TIME_DURATION:
+                    ((InfixOpNode) node).setOperator( readEnum( InfixOpNode.InfixOperator.values() ) );
+                    ((InfixOpNode) node).setLeft( readNode() );
+                    ((InfixOpNode) node).setRight( readNode() );
+                    break;
+                case INSTANCE_OF:
+                    ((InstanceOfNode) node).setExpression( readNode() );
+                    ((InstanceOfNode) node).setType( (TypeNode) readNode() );
+                    break;
+                case ITERATION_CONTEXT:
+                    ((IterationContextNode) node).setName( (NameDefNode) readNode() );
+                    ((IterationContextNode) node).setExpression( readNode() );
+                    break;
+                case LIST:
+                    ((ListNode) node).setElements( readNodes() );
+                    break;
+                case NAME_DEF:
+                    int size = readVarInt();
+                    if ( size > 0 ) {
+                        List<String> parts = new ArrayList<>( size - 1 );
+                        for ( int i = 0; i < size - 1; i++ ) {
+                            parts.add( readNullableString() );
+                        }
+                        ((NameDefNode) node).setParts( parts );
+                    }
+                    ((NameDefNode) node).setName( readNullableString() );
+                    break;
+                case NAMED_PARAMETER:
+                    ((NamedParameterNode) node).setName( (NameDefNode) readNode() );
+                    ((NamedParameterNode) node).setExpression( readNode() );
+                    break;
+                case NOT:
+                    ((NotNode) node).setExpression( readNode() );
+                    break;
+                case NUMBER:
+                    if ( in.readBoolean() ) {
+                        int scale = readSignedVarInt();
+                        byte[] unscaled = new byte[readVarInt()];
+                        in.readFully( unscaled );
+                        ((NumberNode) node).setValue( DecimalMath.canonical( new BigDecimal( new BigInteger( unscaled ), scale ) ) );
+                    }
+                    break;
+                case PATH_EXPRESSION:
+                    ((PathExpressionNode) node).setExpression( readNode() );
+                    ((PathExpressionNode) node).setName( readNode() );
+                    break;
+                case QUALIFIED_NAME:
+                    ((QualifiedNameNode) node).setParts( readNodes() );
+                    break;
+                case QUANTIFIED_EXPRESSION:
+                    ((QuantifiedExpressionNode) node).setQuantifier( readEnum( QuantifiedExpressionNode.Quantifier.values() ) );
+                    ((QuantifiedExpressionNode) node).setIterationContexts( readNodes() );
+                    ((QuantifiedExpressionNode) node).setExpression( readNode() );
+                    break;
+                case RANGE:
+                    ((RangeNode) node).setLowerBound( readEnum( RangeNode.IntervalBoundary.values() ) );
+                    ((RangeNode) node).setStart( readNode() );
+                    ((RangeNode) node).setEnd( readNode() );
+                    ((RangeNode) node).setUpperBound( readEnum( RangeNode.IntervalBoundary.values() ) );
+                    break;
+                case SIGNED_UNARY:
+                    ((SignedUnaryNode) node).setSign( readEnum( SignedUnaryNode.Sign.values() ) );
+                    ((SignedUnaryNode) node).setExpression( readNode() );
+                    break;
+                case UNARY_TEST:
+                    ((UnaryTestNode) node).setOperator( readEnum( UnaryTestNode.UnaryOperator.values() ) );
+                    ((UnaryTestNode) node).setValue( readNode() );
+                    break;
+                default:
+                    break;
+            }
+            return node;
+        }
+
+        private BaseNode newNode(NodeType type) {
+            switch ( type ) {
+                case BETWEEN:               return new BetweenNode();
+                case BOOLEAN:               return new BooleanNode();
+                case CONTEXT_ENTRY:         return new ContextEntryNode();
+                case CONTEXT:               return new ContextNode();
+                case DASH:                  return new DashNode();
+                case FILTER_EXPRESSION:     return new FilterExpressionNode();
+                case FOR_EXPRESSION:        return new ForExpressionNode();
+                case FUNCTION_DEF:          return new FunctionDefNode();
+                case FUNCTION_INVOCATION:   return new FunctionInvocationNode();
+                case IF_EXPRESSION:         return new IfExpressionNode();
+                case IN:                    return new InNode();
+                case INFIX_OP:              return new InfixOpNode();
+                case INSTANCE_OF:           return new InstanceOfNode();
+                case ITERATION_CONTEXT:     return new IterationContextNode();
+                case LIST:                  return new ListNode();
+                case NAME_DEF:              return new NameDefNode();
+                case NAME_REF:              return new NameRefNode();
+                case NAMED_PARAMETER:       return new NamedParameterNode();
+                case NOT:                   return new NotNode();
+                case NULL:                  return new NullNode();
+                case NUMBER:                return new NumberNode();
+                case PATH_EXPRESSION:       return new PathExpressionNode();
+                case QUALIFIED_NAME:        return new QualifiedNameNode();
+                case QUANTIFIED_EXPRESSION: return new QuantifiedExpressionNode();
+                case RANGE:                 return new RangeNode();
+                case SIGNED_UNARY:          return new SignedUnaryNode();
+                case STRING:                return new StringNode();
+                case TYPE:                  return new TypeNode();
+                case UNARY_TEST:            return new UnaryTestNode();
+                case NUMERIC_INFIX_OP:      return new NumericInfixOpNode();
+                case STRING_CONCAT:         return new StringConcatNode();
+                case DATE_TIME_DURATION:    return new DateTimeDurationNode();
+                default:
+                    throw new IllegalArgumentException( "Unable to create AST node of type " + type );
+            }
+        }
+
+        private <T extends BaseNode> List<T> readNodes() throws IOException {
+            int size = readVarInt();
+            if ( size == 0 ) {
+                return null;
+            }
+            List<T> nodes = new ArrayList<>( size - 1 );
+            for ( int i = 0; i < size - 1; i++ ) {
+                nodes.add( (T) readNode() );
+            }
+            return nodes;
+        }
+
+        private <T extends Enum<T>> T readEnum(T[] values) throws IOException {
+            int index = readVarInt();
+            if ( index > values.length ) {
+                throw new StreamCorruptedException( "Invalid constant index " + index + " for " + values.getClass().getComponentType().getSimpleName() );
+            }
+            return index == 0 ? null : values[index - 1];
+        }
+
+        private String readNullableString() throws IOException {
+            int index = readVarInt();
+            return index == 0 ? null : readString( index );
+        }
+
+        private String readString() throws IOException {
+            return readString( readVarInt() );
+        }
+
+        private String readString(int index) throws IOException {
+            if ( index > 0 && index <= strings.size() ) {
+                return strings.get( index - 1 );
+            }
+            if ( index != strings.size() + 1 ) {
+                throw new StreamCorruptedException( "Invalid string index: " + index );
+            }
+            byte[] bytes = new byte[readVarInt()];
+            in.readFully( bytes );
+            String s = new String( bytes, StandardCharsets.UTF_8 );
+            strings.add( s );
+            return s;
+        }
+
+        private int readSignedVarInt() throws IOException {
+            int value = readVarInt();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private int readVarInt() throws IOException {
+            int value = 0;
+            for ( int shift = 0; shift < 32; shift += 7 ) {
+                int b = in.readUnsignedByte();
+                value |= (b & 0x7F) << shift;
+                if ( (b & 0x80) == 0 ) {
+                    return value;
+                }
+            }
+            throw new StreamCorruptedException( "Malformed variable length integer" );
+        }
+    }
+}
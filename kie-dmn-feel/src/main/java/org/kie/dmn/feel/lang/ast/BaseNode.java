@@ -47,6 +47,20 @@ public class BaseNode
         this.setText( getOriginalText( ctx ) );
     }
 
+    /**
+     * Creates a node with the same source position and text as the
+     * given node, used when a node is replaced by an optimized one
+     */
+    public BaseNode( ASTNode node ) {
+        this.setStartChar( node.getStartChar() );
+        this.setStartLine( node.getStartLine() );
+        this.setStartColumn( node.getStartColumn() );
+        this.setEndChar( node.getEndChar() );
+        this.setEndLine( node.getEndLine() );
+        this.setEndColumn( node.getEndColumn() );
+        this.setText( node.getText() );
+    }
+
     @Override
     public int getStartChar() {
         return startChar;
@@ -125,6 +139,11 @@ public class BaseNode
         return null;
     }
 
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
+
     private String getOriginalText( ParserRuleContext ctx ) {
         int a = ctx.start.getStartIndex();
         int b = ctx.stop.getStopIndex();
@@ -18,6 +18,8 @@ package org.kie.dmn.feel.lang.ast;
 
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.Type;
+import org.kie.dmn.feel.lang.types.BuiltInType;
 
 public class BetweenNode
         extends BaseNode {
@@ -26,6 +28,9 @@ public class BetweenNode
     private BaseNode start;
     private BaseNode end;
 
+    public BetweenNode() {
+    }
+
     public BetweenNode(ParserRuleContext ctx, BaseNode value, BaseNode start, BaseNode end) {
         super( ctx );
         this.value = value;
@@ -57,6 +62,11 @@ public class BetweenNode
         this.end = end;
     }
 
+    @Override
+    public Type getResultType() {
+        return BuiltInType.BOOLEAN;
+    }
+
     @Override
     public Object evaluate(EvaluationContext ctx) {
         if ( value != null && start != null && end != null ) {
@@ -70,4 +80,9 @@ public class BetweenNode
         }
         return null;
     }
+
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.ast;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * The implementations of a binary operator for pairs of operand classes.
+ *
+ * The implementation of a pair of classes is the first registered one
+ * whose classes accept both operands, or the default implementation if
+ * there is none. It is resolved once per pair and cached, so finding it
+ * does not depend on the number of registered implementations.
+ */
+final class BinaryOperatorTable {
+
+    private final List<Entry>                       entries = new ArrayList<>();
+    private final BiFunction<Object, Object, Object> defaultImplementation;
+
+    private final ClassValue<ClassValue<BiFunction<Object, Object, Object>>> implementations = new ClassValue<ClassValue<BiFunction<Object, Object, Object>>>() {
+        @Override
+        protected ClassValue<BiFunction<Object, Object, Object>> computeValue(Class<?> left) {
+            return new ClassValue<BiFunction<Object, Object, Object>>() {
+                @Override
+                protected BiFunction<Object, Object, Object> computeValue(Class<?> right) {
+                    return resolve( left, right );
+                }
+            };
+        }
+    };
+
+    BinaryOperatorTable(BiFunction<Object, Object, Object> defaultImplementation) {
+        this.defaultImplementation = defaultImplementation;
+    }
+
+    /**
+     * Registers the implementation of the operator for operands of the
+     * given classes. All the implementations must be registered before
+     * the table is first used.
+     */
+    @SuppressWarnings("unchecked")
+    <L, R> BinaryOperatorTable register(Class<L> left, Class<R> right, BiFunction<? super L, ? super R, Object> implementation) {
+        entries.add( new Entry( left, right, (BiFunction<Object, Object, Object>) implementation ) );
+        return this;
+    }
+
+    /**
+     * Applies the operator to the given non null operands
+     */
+    Object apply(Object left, Object right) {
+        return implementations.get( left.getClass() ).get( right.getClass() ).apply( left, right );
+    }
+
+    private BiFunction<Object, Object, Object> resolve(Class<?> left, Class<?> right) {
+        for ( Entry entry : entries ) {
+            if ( entry.left.isAssignableFrom( left ) && entry.right.isAssignableFrom( right ) ) {
+                return entry.implementation;
+            }
+        }
+        return defaultImplementation;
+    }
+
+    private static class Entry {
+        private final Class<?>                           left;
+        private final Class<?>                           right;
+        private final BiFunction<Object, Object, Object> implementation;
+
+        private Entry(Class<?> left, Class<?> right, BiFunction<Object, Object, Object> implementation) {
+            this.left = left;
+            this.right = right;
+            this.implementation = implementation;
+        }
+    }
+}
@@ -18,12 +18,17 @@ package org.kie.dmn.feel.lang.ast;
 
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.Type;
+import org.kie.dmn.feel.lang.types.BuiltInType;
 
 public class BooleanNode
         extends BaseNode {
 
     Boolean value;
 
+    public BooleanNode() {
+    }
+
     public BooleanNode(ParserRuleContext ctx) {
         super( ctx );
         value = Boolean.valueOf( ctx.getText() );
@@ -33,8 +38,22 @@ public class BooleanNode
         return value;
     }
 
+    public void setValue(Boolean value) {
+        this.value = value;
+    }
+
+    @Override
+    public Type getResultType() {
+        return BuiltInType.BOOLEAN;
+    }
+
     @Override
     public Object evaluate(EvaluationContext ctx) {
         return value;
     }
+
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
 }
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.ast;
+
+import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.impl.EvaluationContextImpl;
+import org.kie.dmn.feel.runtime.FEELFunction;
+import org.kie.dmn.feel.runtime.functions.BuiltInFunctions;
+import org.kie.dmn.feel.runtime.functions.DecisionTableFunction;
+import org.kie.dmn.feel.util.EvalHelper;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An optimization pass that replaces the constant subtrees of an AST
+ * with ConstantNodes holding their precomputed value, so that literals,
+ * ranges, unary tests and operations over literals are not evaluated
+ * again on every evaluation of the expression.
+ *
+ * Invocations of built-in functions without side effects are folded as
+ * well, as long as the function name can not be shadowed by an input
+ * variable or by a name defined in the expression itself. Subtrees that
+ * fail to evaluate or evaluate to null, as well as values that are
+ * mutable (lists and contexts), are left untouched so that they keep
+ * behaving exactly as before at runtime.
+ */
+public class ConstantFolder
+        extends ASTRewriter {
+
+    private static final Set<String> PURE_FUNCTIONS = new HashSet<>();
+
+    static {
+        for ( FEELFunction f : BuiltInFunctions.getFunctions() ) {
+            if ( !(f instanceof DecisionTableFunction) ) {
+                PURE_FUNCTIONS.add( f.getName() );
+            }
+        }
+    }
+
+    private final Set<String> inputNames = new HashSet<>();
+    private EvaluationContext ctx;
+
+    public ConstantFolder(Collection<String> inputNames) {
+        for ( String name : inputNames ) {
+            this.inputNames.add( EvalHelper.normalizeVariableName( name ) );
+        }
+    }
+
+    public ConstantFolder() {
+        this( Collections.emptySet() );
+    }
+
+    /**
+     * Returns the given AST with its constant subtrees replaced. The
+     * nodes of the given tree are changed in place.
+     */
+    public BaseNode fold(BaseNode node) {
+        return rewrite( node );
+    }
+
+    @Override
+    public BaseNode visit(StringNode n) {
+        return constant( n );
+    }
+
+    @Override
+    public BaseNode visit(DashNode n) {
+        return constant( n );
+    }
+
+    @Override
+    public BaseNode visit(SignedUnaryNode n) {
+        super.visit( n );
+        return isConstant( n.getExpression() ) ? constant( n ) : n;
+    }
+
+    @Override
+    public BaseNode visit(NotNode n) {
+        super.visit( n );
+        return isConstant( n.getExpression() ) ? constant( n ) : n;
+    }
+
+    @Override
+    public BaseNode visit(InfixOpNode n) {
+        super.visit( n );
+        return isConstant( n.getLeft() ) && isConstant( n.getRight() ) ? constant( n ) : n;
+    }
+
+    @Override
+    public BaseNode visit(BetweenNode n) {
+        super.visit( n );
+        return isConstant( n.getValue() ) && isConstant( n.getStart() ) && isConstant( n.getEnd() ) ? constant( n ) : n;
+    }
+
+    @Override
+    public BaseNode visit(InNode n) {
+        super.visit( n );
+        return isConstant( n.getValue() ) && isConstant( n.getExprs() ) ? constant( n ) : n;
+    }
+
+    @Override
+    public BaseNode visit(RangeNode n) {
+        super.visit( n );
+        return isConstant( n.getStart() ) && isConstant( n.getEnd() ) ? constant( n ) : n;
+    }
+
+    @Override
+    public BaseNode visit(UnaryTestNode n) {
+        super.visit( n );
+        return isConstant( n.getValue() ) ? constant( n ) : n;
+    }
+
+    @Override
+    public BaseNode visit(InstanceOfNode n) {
+        super.visit( n );
+        return isConstant( n.getExpression() ) ? constant( n ) : n;
+    }
+
+    @Override
+    public BaseNode visit(IfExpressionNode n) {
+        super.visit( n );
+        return isConstant( n.getCondition() ) && isConstant( n.getThenExpression() ) && isConstant( n.getElseExpression() ) ? constant( n ) : n;
+    }
+
+    @Override
+    public BaseNode visit(PathExpressionNode n) {
+        super.visit( n );
+        return isConstant( n.getExpression() ) && n.getName() instanceof NameRefNode ? constant( n ) : n;
+    }
+
+    @Override
+    public BaseNode visit(FunctionInvocationNode n) {
+        super.visit( n );
+        if ( n.getName() instanceof NameRefNode && isPureFunction( n.getName().getText() ) &&
+             n.getParams() != null && isConstant( n.getParams() ) ) {
+            return constant( n );
+        }
+        return n;
+    }
+
+    private boolean isPureFunction(String name) {
+        return PURE_FUNCTIONS.contains( name ) && !isInDynamicScope() && !isLocalName( name ) &&
+               !inputNames.contains( EvalHelper.normalizeVariableName( name ) );
+    }
+
+    /**
+     * A node is constant if its value does not depend on the evaluation
+     * context, even if it can not be replaced by a ConstantNode.
+     */
+    private boolean isConstant(BaseNode node) {
+        if ( node == null || node instanceof ConstantNode || node instanceof NumberNode ||
+             node instanceof BooleanNode || node instanceof NullNode ) {
+            return true;
+        } else if ( node instanceof ListNode ) {
+            // lists are mutable, so they are never replaced by a constant
+            for ( BaseNode e : ((ListNode) node).getElements() ) {
+                if ( !isConstant( e ) ) {
+                    return false;
+                }
+            }
+            return true;
+        } else if ( node instanceof NamedParameterNode ) {
+            return isConstant( ((NamedParameterNode) node).getExpression() );
+        }
+        return false;
+    }
+
+    private BaseNode constant(BaseNode node) {
+        Object value;
+        try {
+            value = node.evaluate( getEvaluationContext() );
+        } catch ( RuntimeException e ) {
+            // errors are reported when the expression is evaluated
+            return node;
+        }
+        if ( value == null || value instanceof Collection || value instanceof Map ) {
+            return node;
+        }
+        return new ConstantNode( node, value );
+    }
+
+    private EvaluationContext getEvaluationContext() {
+        if ( ctx == null ) {
+            ctx = new EvaluationContextImpl();
+        }
+        return ctx;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.ast;
+
+import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.Type;
+import org.kie.dmn.feel.lang.types.BuiltInType;
+
+/**
+ * A node holding the precomputed value of a constant subtree.
+ * It keeps the source position and text of the subtree it
+ * replaces, as well as the subtree itself.
+ */
+public class ConstantNode
+        extends BaseNode {
+
+    private Object   value;
+    private BaseNode original;
+
+    public ConstantNode() {
+    }
+
+    public ConstantNode(BaseNode original, Object value) {
+        super( original );
+        this.original = original;
+        this.value = value;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public void setValue(Object value) {
+        this.value = value;
+    }
+
+    /**
+     * Returns the subtree this node replaces
+     */
+    public BaseNode getOriginal() {
+        return original;
+    }
+
+    public void setOriginal(BaseNode original) {
+        this.original = original;
+    }
+
+    @Override
+    public Type getResultType() {
+        return BuiltInType.determineTypeFromInstance( value );
+    }
+
+    @Override
+    public Object evaluate(EvaluationContext ctx) {
+        return value;
+    }
+
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
+}
@@ -25,6 +25,9 @@ public class ContextEntryNode
     private BaseNode name;
     private BaseNode value;
 
+    public ContextEntryNode() {
+    }
+
     public ContextEntryNode(ParserRuleContext ctx) {
         super( ctx );
     }
@@ -59,4 +62,9 @@ public class ContextEntryNode
     public Object evaluate(EvaluationContext ctx) {
         return value.evaluate( ctx );
     }
+
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
 }
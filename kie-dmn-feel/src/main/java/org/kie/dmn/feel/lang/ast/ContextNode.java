@@ -18,6 +18,8 @@ package org.kie.dmn.feel.lang.ast;
 
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.Type;
+import org.kie.dmn.feel.lang.types.BuiltInType;
 import org.kie.dmn.feel.runtime.functions.CustomFEELFunction;
 import org.kie.dmn.feel.runtime.functions.JavaFunction;
 import org.kie.dmn.feel.util.EvalHelper;
@@ -29,6 +31,9 @@ public class ContextNode
 
     private List<ContextEntryNode> entries = new ArrayList<>();
 
+    public ContextNode() {
+    }
+
     public ContextNode(ParserRuleContext ctx) {
         super( ctx );
     }
@@ -48,6 +53,11 @@ public class ContextNode
         this.entries = entries;
     }
 
+    @Override
+    public Type getResultType() {
+        return BuiltInType.CONTEXT;
+    }
+
     @Override
     public Object evaluate(EvaluationContext ctx) {
         try {
@@ -72,4 +82,8 @@ public class ContextNode
         }
     }
 
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
 }
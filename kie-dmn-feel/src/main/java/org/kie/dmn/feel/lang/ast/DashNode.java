@@ -18,18 +18,33 @@ package org.kie.dmn.feel.lang.ast;
 
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.Type;
+import org.kie.dmn.feel.lang.types.BuiltInType;
 import org.kie.dmn.feel.runtime.UnaryTest;
 
 public class DashNode
         extends BaseNode {
 
+    public DashNode() {
+    }
+
     public DashNode(ParserRuleContext ctx) {
         super( ctx );
     }
 
+    @Override
+    public Type getResultType() {
+        return BuiltInType.UNARY_TEST;
+    }
+
     @Override
     public UnaryTest evaluate(EvaluationContext ctx) {
         // a dash is a unary test that always evaluates to true
         return o -> Boolean.TRUE;
     }
+
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.dmn.feel.lang.ast;
+
+import org.kie.dmn.feel.lang.EvaluationContext;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.time.ZonedDateTime;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalAmount;
+
+/**
+ * The addition of a duration to a date and time, or the subtraction
+ * of a duration from a date and time, when the operand types are
+ * statically known. Any other values fall back to the generic
+ * implementation.
+ */
+public class DateTimeDurationNode
+        extends InfixOpNode {
+
+    public DateTimeDurationNode() {
+    }
+
+    public DateTimeDurationNode(InfixOpNode node) {
+        super( node );
+    }
+
+    @Override
+    public Object evaluate(EvaluationContext ctx) {
+        Object left = getLeft().evaluate( ctx );
+        Object right = getRight().evaluate( ctx );
+        if ( isDateTime( left ) && isDuration( right ) ) {
+            return getOperator() == InfixOperator.ADD ?
+                   ((Temporal) left).plus( (TemporalAmount) right ) :
+                   ((Temporal) left).minus( (TemporalAmount) right );
+        } else if ( getOperator() == InfixOperator.ADD && isDuration( left ) && isDateTime( right ) ) {
+            return ((Temporal) right).plus( (TemporalAmount) left );
+        }
+        return evaluate( left, right, ctx );
+    }
+
+    private static boolean isDateTime(Object value) {
+        return value instanceof ZonedDateTime || value instanceof OffsetDateTime || value instanceof LocalDateTime;
+    }
+
+    private static boolean isDuration(Object value) {
+        return value instanceof Duration || value instanceof Period;
+    }
+}
@@ -31,6 +31,9 @@ public class FilterExpressionNode
     private BaseNode expression;
     private BaseNode filter;
 
+    public FilterExpressionNode() {
+    }
+
     public FilterExpressionNode(ParserRuleContext ctx, BaseNode expression, BaseNode filter) {
         super( ctx );
         this.expression = expression;
@@ -110,4 +113,9 @@ public class FilterExpressionNode
             ctx.exitFrame();
         }
     }
+
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
 }
@@ -18,6 +18,8 @@ package org.kie.dmn.feel.lang.ast;
 
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.Type;
+import org.kie.dmn.feel.lang.types.BuiltInType;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -30,6 +32,9 @@ public class ForExpressionNode
     private List<IterationContextNode> iterationContexts;
     private BaseNode                   expression;
 
+    public ForExpressionNode() {
+    }
+
     public ForExpressionNode(ParserRuleContext ctx, ListNode iterationContexts, BaseNode expression) {
         super( ctx );
         this.iterationContexts = new ArrayList<>(  );
@@ -55,6 +60,11 @@ public class ForExpressionNode
         this.expression = expression;
     }
 
+    @Override
+    public Type getResultType() {
+        return BuiltInType.LIST;
+    }
+
     @Override
     public Object evaluate(EvaluationContext ctx) {
         try {
@@ -140,6 +150,8 @@ public class ForExpressionNode
         }
     }
 
-
-
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
 }
@@ -18,17 +18,18 @@ package org.kie.dmn.feel.lang.ast;
 
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.Type;
+import org.kie.dmn.feel.lang.types.BuiltInType;
 import org.kie.dmn.feel.runtime.functions.CustomFEELFunction;
 import org.kie.dmn.feel.runtime.functions.JavaFunction;
+import org.kie.dmn.feel.runtime.functions.JavaFunctionResolver;
+import org.kie.dmn.feel.runtime.functions.JavaMethod;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 public class FunctionDefNode
@@ -36,14 +37,18 @@ public class FunctionDefNode
 
     private static final Logger logger = LoggerFactory.getLogger( FunctionDefNode.class );
     private static final String ANONYMOUS = "<anonymous>";
-    private final Pattern METHOD_PARSER = Pattern.compile( "(.+)\\((.*)\\)" );
-    private final Pattern PARAMETER_PARSER = Pattern.compile( "([^, ]+)" );
-
 
     private List<NameDefNode> formalParameters;
     private boolean external;
     private BaseNode body;
 
+    private JavaFunctionResolver resolver = JavaFunctionResolver.getDefault();
+    // the external method resolved by the last evaluation
+    private volatile ResolvedMethod resolved;
+
+    public FunctionDefNode() {
+    }
+
     public FunctionDefNode(ParserRuleContext ctx, ListNode formalParameters, boolean external, BaseNode body) {
         super( ctx );
         this.formalParameters = new ArrayList<>(  );
@@ -80,6 +85,23 @@ public class FunctionDefNode
         this.body = body;
     }
 
+    public JavaFunctionResolver getResolver() {
+        return resolver;
+    }
+
+    /**
+     * Sets the resolver of the Java method of an external function
+     */
+    public void setResolver(JavaFunctionResolver resolver) {
+        this.resolver = resolver;
+        this.resolved = null;
+    }
+
+    @Override
+    public Type getResultType() {
+        return BuiltInType.FUNCTION;
+    }
+
     @Override
     public Object evaluate(EvaluationContext ctx) {
         List<String> params = formalParameters.stream().map( p -> p.evaluate( ctx ) ).collect( Collectors.toList() );
@@ -94,26 +116,12 @@ public class FunctionDefNode
                     String clazzName = (String) java.get( "class" );
                     String methodSignature = (String) java.get( "method signature" );
                     if( clazzName != null && methodSignature != null ) {
-                        // might need to explicitly use a classloader here
-                        Class<?> clazz = Class.forName( clazzName );
-                        if( clazz != null ) {
-                            String[] mp = parseMethod( methodSignature );
-                            if( mp != null ) {
-                                String methodName = mp[0];
-                                String[] paramTypeNames = parseParams( mp[1] );
-                                int numberOfParams = paramTypeNames.length;
-                                if( numberOfParams == params.size() ) {
-                                    Class[] paramTypes = new Class[ numberOfParams ];
-                                    for( int i = 0; i < numberOfParams; i++ ) {
-                                        paramTypes[i] = getType( paramTypeNames[i] );
-                                    }
-                                    Method method = clazz.getMethod( methodName, paramTypes );
-                                    return new JavaFunction( ANONYMOUS, params, clazz, method );
-                                } else {
-                                    logger.error( "Parameter count mismatch on function definition: "+getText() );
-                                    return null;
-                                }
-                            }
+                        JavaMethod method = resolve( clazzName, methodSignature );
+                        if( method.getParameterCount() == params.size() ) {
+                            return new JavaFunction( ANONYMOUS, params, method );
+                        } else {
+                            logger.error( "Parameter count mismatch on function definition: "+getText() );
+                            return null;
                         }
                     }
                 }
@@ -127,68 +135,45 @@ public class FunctionDefNode
         }
     }
 
-    private Class<?> getType(String typeName)
-            throws ClassNotFoundException {
-        // first check if it is primitive
-        Class<?> type = convertPrimitiveNameToType( typeName );
-        if( type == null ) {
-            // if it is not, then try to load it
-            type = Class.forName( typeName );
-
+    /**
+     * The class and signature of the method are usually constants, so
+     * the method is only resolved again when they change
+     */
+    private JavaMethod resolve(String clazzName, String methodSignature) throws ReflectiveOperationException {
+        ResolvedMethod r = resolved;
+        if( r == null || !r.clazzName.equals( clazzName ) || !r.methodSignature.equals( methodSignature ) ) {
+            r = new ResolvedMethod( clazzName, methodSignature, resolver.resolve( clazzName, methodSignature ) );
+            resolved = r;
         }
-        return type;
+        return r.method;
     }
 
     public String[] parseMethod(String signature ) {
-        Matcher m = METHOD_PARSER.matcher( signature );
-        if( m.matches() ) {
-            String[] result = new String[2];
-            result[0] = m.group( 1 );
-            result[1] = m.group( 2 );
-            return result;
-        }
-        return null;
+        return JavaFunctionResolver.parseMethod( signature );
     }
 
-
     public String[] parseParams(String params) {
-        List<String> ps = new ArrayList<>(  );
-        if( params.trim().length() > 0 ) {
-            Matcher m = PARAMETER_PARSER.matcher( params.trim() );
-            while( m.find() ) {
-                ps.add( m.group().trim() );
-            }
-        }
-        return ps.toArray( new String[ps.size()] );
+        return JavaFunctionResolver.parseParams( params );
     }
 
     public static Class<?> convertPrimitiveNameToType( String typeName ) {
-        if (typeName.equals( "int" )) {
-            return int.class;
-        }
-        if (typeName.equals("boolean")) {
-            return boolean.class;
-        }
-        if (typeName.equals("char")) {
-            return char.class;
-        }
-        if (typeName.equals("byte")) {
-            return byte.class;
-        }
-        if (typeName.equals("short")) {
-            return short.class;
-        }
-        if (typeName.equals("float")) {
-            return float.class;
-        }
-        if (typeName.equals("long")) {
-            return long.class;
-        }
-        if (typeName.equals("double")) {
-            return double.class;
-        }
-        return null;
+        return JavaFunctionResolver.convertPrimitiveNameToType( typeName );
     }
 
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
 
+    private static class ResolvedMethod {
+        private final String     clazzName;
+        private final String     methodSignature;
+        private final JavaMethod method;
+
+        private ResolvedMethod(String clazzName, String methodSignature, JavaMethod method) {
+            this.clazzName = clazzName;
+            this.methodSignature = methodSignature;
+            this.method = method;
+        }
+    }
 }
@@ -20,9 +20,12 @@ import org.antlr.v4.runtime.ParserRuleContext;
 import org.kie.dmn.feel.lang.EvaluationContext;
 import org.kie.dmn.feel.runtime.FEELFunction;
 import org.kie.dmn.feel.runtime.UnaryTest;
+import org.kie.dmn.feel.runtime.functions.CallSiteCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+
 public class FunctionInvocationNode
         extends BaseNode {
 
@@ -31,6 +34,11 @@ public class FunctionInvocationNode
     private BaseNode name;
     private ListNode params;
 
+    private final CallSiteCache cache = new CallSiteCache();
+
+    public FunctionInvocationNode() {
+    }
+
     public FunctionInvocationNode(ParserRuleContext ctx, BaseNode name, ListNode params) {
         super( ctx );
         this.name = name;
@@ -53,13 +61,17 @@ public class FunctionInvocationNode
         this.params = params;
     }
 
+    public CallSiteCache getCallSiteCache() {
+        return cache;
+    }
+
     @Override
     public Object evaluate(EvaluationContext ctx) {
         FEELFunction function = null;
         Object value = null;
         if ( name instanceof NameRefNode ) {
             // simple name
-            value = ctx.getValue( name.getText() );
+            value = name.evaluate( ctx );
         } else {
             QualifiedNameNode qn = (QualifiedNameNode) name;
             String[] qns = qn.getPartsAsStringArray();
@@ -68,9 +80,12 @@ public class FunctionInvocationNode
         if ( value instanceof FEELFunction ) {
             function = (FEELFunction) value;
             if ( function != null ) {
-                Object[] p = params.getElements().stream().map( e -> e.evaluate( ctx ) ).toArray( Object[]::new );
-                Object result = function.applyReflectively( ctx, p );
-                return result;
+                List<BaseNode> elements = params.getElements();
+                Object[] p = new Object[elements.size()];
+                for ( int i = 0; i < p.length; i++ ) {
+                    p[i] = elements.get( i ).evaluate( ctx );
+                }
+                return cache.invoke( ctx, function, p );
             } else {
                 logger.error( "Function not found: '" + name.getText() + "'" );
             }
@@ -84,4 +99,9 @@ public class FunctionInvocationNode
         }
         return null;
     }
+
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
 }
@@ -26,6 +26,9 @@ public class IfExpressionNode
     private BaseNode thenExpression;
     private BaseNode elseExpression;
 
+    public IfExpressionNode() {
+    }
+
     public IfExpressionNode(ParserRuleContext ctx, BaseNode condition, BaseNode thenExpression, BaseNode elseExpression) {
         super( ctx );
         this.condition = condition;
@@ -69,4 +72,9 @@ public class IfExpressionNode
         }
         return null;
     }
+
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
 }
@@ -18,8 +18,11 @@ package org.kie.dmn.feel.lang.ast;
 
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.Type;
+import org.kie.dmn.feel.lang.types.BuiltInType;
 import org.kie.dmn.feel.runtime.Range;
 import org.kie.dmn.feel.runtime.UnaryTest;
+import org.kie.dmn.feel.util.FEELEquality;
 
 public class InNode
         extends BaseNode {
@@ -27,6 +30,9 @@ public class InNode
     private BaseNode value;
     private BaseNode exprs;
 
+    public InNode() {
+    }
+
     public InNode(ParserRuleContext ctx, BaseNode value, BaseNode exprs) {
         super( ctx );
         this.value = value;
@@ -49,6 +55,11 @@ public class InNode
         this.exprs = exprs;
     }
 
+    @Override
+    public Type getResultType() {
+        return BuiltInType.BOOLEAN;
+    }
+
     @Override
     public Boolean evaluate(EvaluationContext ctx) {
         Object value = this.value.evaluate( ctx );
@@ -83,10 +94,15 @@ public class InNode
             }
             return ((Range) expr).includes( (Comparable) value );
         } else if ( value != null ) {
-            return value.equals( expr );
+            return FEELEquality.isEqual( value, expr );
         } else {
             // value == null, expr != null and not Unary test
             return Boolean.FALSE;
         }
     }
+
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
 }
@@ -18,15 +18,17 @@ package org.kie.dmn.feel.lang.ast;
 
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.Type;
+import org.kie.dmn.feel.lang.types.BuiltInType;
 import org.kie.dmn.feel.runtime.Range;
+import org.kie.dmn.feel.util.DecimalMath;
 import org.kie.dmn.feel.util.EvalHelper;
+import org.kie.dmn.feel.util.FEELEquality;
 
 import java.math.BigDecimal;
-import java.math.MathContext;
 import java.time.*;
 import java.time.temporal.Temporal;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.function.BiPredicate;
 import java.util.function.BinaryOperator;
@@ -65,10 +67,52 @@ public class InfixOpNode
         }
     }
 
+    // the operands that are not registered are handled as numbers
+    private static final BinaryOperatorTable ADD = new BinaryOperatorTable( (l, r) -> math( l, r, DecimalMath::add ) )
+            .register( String.class, String.class, (l, r) -> l + r )
+            .register( Period.class, Period.class, (l, r) -> l.plus( r ) )
+            .register( Duration.class, Duration.class, (l, r) -> l.plus( r ) )
+            .register( ZonedDateTime.class, Period.class, (l, r) -> l.plus( r ) )
+            .register( OffsetDateTime.class, Period.class, (l, r) -> l.plus( r ) )
+            .register( LocalDateTime.class, Period.class, (l, r) -> l.plus( r ) )
+            .register( ZonedDateTime.class, Duration.class, (l, r) -> l.plus( r ) )
+            .register( OffsetDateTime.class, Duration.class, (l, r) -> l.plus( r ) )
+            .register( LocalDateTime.class, Duration.class, (l, r) -> l.plus( r ) )
+            .register( Period.class, ZonedDateTime.class, (l, r) -> r.plus( l ) )
+            .register( Period.class, OffsetDateTime.class, (l, r) -> r.plus( l ) )
+            .register( Period.class, LocalDateTime.class, (l, r) -> r.plus( l ) )
+            .register( Duration.class, ZonedDateTime.class, (l, r) -> r.plus( l ) )
+            .register( Duration.class, OffsetDateTime.class, (l, r) -> r.plus( l ) )
+            .register( Duration.class, LocalDateTime.class, (l, r) -> r.plus( l ) )
+            .register( LocalTime.class, Duration.class, (l, r) -> l.plus( r ) )
+            .register( Duration.class, LocalTime.class, (l, r) -> r.plus( l ) )
+            .register( OffsetTime.class, Duration.class, (l, r) -> l.plus( r ) )
+            .register( Duration.class, OffsetTime.class, (l, r) -> r.plus( l ) );
+
+    private static final BinaryOperatorTable SUB = new BinaryOperatorTable( (l, r) -> math( l, r, DecimalMath::subtract ) )
+            .register( ZonedDateTime.class, ZonedDateTime.class, (l, r) -> Duration.between( l, r ) )
+            .register( OffsetDateTime.class, OffsetDateTime.class, (l, r) -> Duration.between( l, r ) )
+            .register( LocalDateTime.class, LocalDateTime.class, (l, r) -> Duration.between( l, r ) )
+            .register( LocalTime.class, LocalTime.class, (l, r) -> Duration.between( l, r ) )
+            .register( OffsetTime.class, OffsetTime.class, (l, r) -> Duration.between( l, r ) )
+            .register( Period.class, Period.class, (l, r) -> l.minus( r ) )
+            .register( Duration.class, Duration.class, (l, r) -> l.minus( r ) )
+            .register( ZonedDateTime.class, Period.class, (l, r) -> l.minus( r ) )
+            .register( OffsetDateTime.class, Period.class, (l, r) -> l.minus( r ) )
+            .register( LocalDateTime.class, Period.class, (l, r) -> l.minus( r ) )
+            .register( ZonedDateTime.class, Duration.class, (l, r) -> l.minus( r ) )
+            .register( OffsetDateTime.class, Duration.class, (l, r) -> l.minus( r ) )
+            .register( LocalDateTime.class, Duration.class, (l, r) -> l.minus( r ) )
+            .register( LocalTime.class, Duration.class, (l, r) -> l.minus( r ) )
+            .register( OffsetTime.class, Duration.class, (l, r) -> l.minus( r ) );
+
     private InfixOperator operator;
     private BaseNode      left;
     private BaseNode      right;
 
+    public InfixOpNode() {
+    }
+
     public InfixOpNode(ParserRuleContext ctx, BaseNode left, String op, BaseNode right) {
         super( ctx );
         this.left = left;
@@ -76,6 +120,17 @@ public class InfixOpNode
         this.right = right;
     }
 
+    /**
+     * Creates a copy of the given node, used to replace it with
+     * a specialized implementation
+     */
+    protected InfixOpNode(InfixOpNode node) {
+        super( node );
+        this.left = node.left;
+        this.operator = node.operator;
+        this.right = node.right;
+    }
+
     public InfixOperator getOperator() {
         return operator;
     }
@@ -100,127 +155,117 @@ public class InfixOpNode
         this.right = right;
     }
 
+    @Override
+    public Type getResultType() {
+        Type l = left != null ? left.getResultType() : BuiltInType.UNKNOWN;
+        Type r = right != null ? right.getResultType() : BuiltInType.UNKNOWN;
+        switch ( operator ) {
+            case ADD:
+                if ( l == BuiltInType.STRING && r == BuiltInType.STRING ) {
+                    return BuiltInType.STRING;
+                } else if ( (l == BuiltInType.DATE_TIME && r == BuiltInType.DURATION) || (l == BuiltInType.DURATION && r == BuiltInType.DATE_TIME) ) {
+                    return BuiltInType.DATE_TIME;
+                }
+                // fall through
+            case SUB:
+                if ( l == BuiltInType.DATE_TIME && r == BuiltInType.DURATION ) {
+                    return BuiltInType.DATE_TIME;
+                } else if ( l == BuiltInType.DURATION && r == BuiltInType.DURATION ) {
+                    return BuiltInType.DURATION;
+                }
+                // fall through
+            case MULT:
+            case DIV:
+            case POW:
+                return l == BuiltInType.NUMBER && r == BuiltInType.NUMBER ? BuiltInType.NUMBER : BuiltInType.UNKNOWN;
+            default:
+                // comparisons and logical operators
+                return BuiltInType.BOOLEAN;
+        }
+    }
+
     @Override
     public Object evaluate(EvaluationContext ctx) {
         Object left = this.left.evaluate( ctx );
+        // a false operand settles AND and a true operand settles OR,
+        // whatever the right operand is, so it is not evaluated
+        if ( operator == InfixOperator.AND && isFalse( left ) ) {
+            return Boolean.FALSE;
+        } else if ( operator == InfixOperator.OR && isTrue( left ) ) {
+            return Boolean.TRUE;
+        }
         Object right = this.right.evaluate( ctx );
+        return evaluate( left, right, ctx );
+    }
+
+    /**
+     * Applies the operator to the given operand values, checking
+     * the types of the values at runtime
+     */
+    protected Object evaluate(Object left, Object right, EvaluationContext ctx) {
+        return evaluate( operator, left, right, ctx );
+    }
+
+    public static Object evaluate(InfixOperator operator, Object left, Object right, EvaluationContext ctx) {
         switch ( operator ) {
             case ADD:
                 return add( left, right, ctx );
             case SUB:
-                return sub( left, right, ctx);
+                return sub( left, right, ctx );
             case MULT:
-                return math( left, right, ctx, (l, r) -> l.multiply( r, MathContext.DECIMAL128 ) );
+                return mult( left, right, ctx );
             case DIV:
-                return math( left, right, ctx, (l, r) -> l.divide( r, MathContext.DECIMAL128 ) );
+                return div( left, right, ctx );
             case POW:
-                return math( left, right, ctx, (l, r) -> l.pow( r.intValue(), MathContext.DECIMAL128 ) );
+                return pow( left, right, ctx );
             case AND:
                 return and( left, right, ctx );
             case OR:
                 return or( left, right, ctx );
             case LTE:
-                return comparison( left, right, ctx, (l, r) -> l.compareTo( r ) <= 0 );
+                return lte( left, right, ctx );
             case LT:
-                return comparison( left, right, ctx, (l, r) -> l.compareTo( r ) < 0 );
+                return lt( left, right, ctx );
             case GT:
-                return comparison( left, right, ctx, (l, r) -> l.compareTo( r ) > 0 );
+                return gt( left, right, ctx );
             case GTE:
-                return comparison( left, right, ctx, (l, r) -> l.compareTo( r ) >= 0 );
+                return gte( left, right, ctx );
             case EQ:
-                return equality( left, right, ctx, (l, r) -> l.compareTo( r ) == 0 );
+                return eq( left, right, ctx );
             case NE:
-                return equality( left, right, ctx, (l, r) -> l.compareTo( r ) != 0 );
+                return ne( left, right, ctx );
             default:
                 return null;
         }
     }
 
-    private Object add(Object left, Object right, EvaluationContext ctx) {
+    public static Object add(Object left, Object right, EvaluationContext ctx) {
         if ( left == null || right == null ) {
             return null;
-        } else if ( left instanceof String && right instanceof String ) {
-            return ((String) left) + ((String) right);
-        } else if ( left instanceof Period && right instanceof Period ) {
-            return ((Period) left).plus( (Period) right);
-        } else if ( left instanceof Duration && right instanceof Duration ) {
-            return ((Duration) left).plus( (Duration) right);
-        } else if ( left instanceof ZonedDateTime && right instanceof Period ) {
-            return ((ZonedDateTime) left).plus( (Period) right);
-        } else if ( left instanceof OffsetDateTime && right instanceof Period ) {
-            return ((OffsetDateTime) left).plus( (Period) right);
-        } else if ( left instanceof LocalDateTime && right instanceof Period ) {
-            return ((LocalDateTime) left).plus( (Period) right);
-        } else if ( left instanceof ZonedDateTime && right instanceof Duration ) {
-            return ((ZonedDateTime) left).plus( (Duration) right);
-        } else if ( left instanceof OffsetDateTime && right instanceof Duration ) {
-            return ((OffsetDateTime) left).plus( (Duration) right);
-        } else if ( left instanceof LocalDateTime && right instanceof Duration ) {
-            return ((LocalDateTime) left).plus( (Duration) right);
-        } else if ( left instanceof Period && right instanceof ZonedDateTime ) {
-            return ((ZonedDateTime) right).plus( (Period) left);
-        } else if ( left instanceof Period && right instanceof OffsetDateTime ) {
-            return ((OffsetDateTime) right).plus( (Period) left);
-        } else if ( left instanceof Period && right instanceof LocalDateTime ) {
-            return ((LocalDateTime) right).plus( (Period) left);
-        } else if ( left instanceof Duration && right instanceof ZonedDateTime ) {
-            return ((ZonedDateTime) right).plus( (Duration) left);
-        } else if ( left instanceof Duration && right instanceof OffsetDateTime ) {
-            return ((OffsetDateTime) right).plus( (Duration) left);
-        } else if ( left instanceof Duration && right instanceof LocalDateTime ) {
-            return ((LocalDateTime) right).plus( (Duration) left);
-        } else if ( left instanceof LocalTime && right instanceof Duration ) {
-            return ((LocalDateTime) left).plus( (Duration) left);
-        } else if ( left instanceof Duration && right instanceof LocalTime ) {
-            return ((LocalDateTime) right).plus( (Duration) left);
-        } else if ( left instanceof OffsetTime && right instanceof Duration ) {
-            return ((OffsetTime) left).plus( (Duration) left);
-        } else if ( left instanceof Duration && right instanceof OffsetTime ) {
-            return ((OffsetTime) right).plus( (Duration) left);
-        } else {
-            return math( left, right, ctx, (l, r) -> l.add( r, MathContext.DECIMAL128 ) );
         }
+        return ADD.apply( left, right );
     }
 
-    private Object sub(Object left, Object right, EvaluationContext ctx) {
+    public static Object sub(Object left, Object right, EvaluationContext ctx) {
         if ( left == null || right == null ) {
             return null;
-        } else if ( left instanceof ZonedDateTime && right instanceof ZonedDateTime ) {
-            return Duration.between( (ZonedDateTime)left, (ZonedDateTime) right);
-        } else if ( left instanceof OffsetDateTime && right instanceof OffsetDateTime ) {
-            return Duration.between( (OffsetDateTime)left, (OffsetDateTime) right);
-        } else if ( left instanceof LocalDateTime && right instanceof LocalDateTime ) {
-            return Duration.between( (LocalDateTime)left, (LocalDateTime) right);
-        } else if ( left instanceof LocalTime && right instanceof LocalTime ) {
-            return Duration.between( (LocalTime)left, (LocalTime) right);
-        } else if ( left instanceof OffsetTime && right instanceof OffsetTime ) {
-            return Duration.between( (OffsetTime)left, (OffsetTime) right);
-        } else if ( left instanceof Period && right instanceof Period ) {
-            return ((Period) left).minus( (Period) right);
-        } else if ( left instanceof Duration && right instanceof Duration ) {
-            return ((Duration) left).minus( (Duration) right);
-        } else if ( left instanceof ZonedDateTime && right instanceof Period ) {
-            return ((ZonedDateTime) left).minus( (Period) right);
-        } else if ( left instanceof OffsetDateTime && right instanceof Period ) {
-            return ((OffsetDateTime) left).minus( (Period) right);
-        } else if ( left instanceof LocalDateTime && right instanceof Period ) {
-            return ((LocalDateTime) left).minus( (Period) right);
-        } else if ( left instanceof ZonedDateTime && right instanceof Duration ) {
-            return ((ZonedDateTime) left).minus( (Duration) right);
-        } else if ( left instanceof OffsetDateTime && right instanceof Duration ) {
-            return ((OffsetDateTime) left).minus( (Duration) right);
-        } else if ( left instanceof LocalDateTime && right instanceof Duration ) {
-            return ((LocalDateTime) left).minus( (Duration) right);
-        } else if ( left instanceof LocalTime && right instanceof Duration ) {
-            return ((LocalDateTime) left).minus( (Duration) left);
-        } else if ( left instanceof OffsetTime && right instanceof Duration ) {
-            return ((OffsetTime) left).minus( (Duration) left);
-        } else {
-            return math( left, right, ctx, (l, r) -> l.subtract( r, MathContext.DECIMAL128 )  );
         }
+        return SUB.apply( left, right );
+    }
+
+    public static Object mult(Object left, Object right, EvaluationContext ctx) {
+        return math( left, right, DecimalMath::multiply );
+    }
+
+    public static Object div(Object left, Object right, EvaluationContext ctx) {
+        return math( left, right, DecimalMath::divide );
     }
 
-    private Object math(Object left, Object right, EvaluationContext ctx, BinaryOperator<BigDecimal> op) {
+    public static Object pow(Object left, Object right, EvaluationContext ctx) {
+        return math( left, right, DecimalMath::pow );
+    }
+
+    private static Object math(Object left, Object right, BinaryOperator<BigDecimal> op) {
         BigDecimal l = EvalHelper.getBigDecimalOrNull( left );
         BigDecimal r = EvalHelper.getBigDecimalOrNull( right );
         if ( l == null || r == null ) {
@@ -234,10 +279,18 @@ public class InfixOpNode
         }
     }
 
+    public static boolean isFalse(Object value) {
+        return Boolean.FALSE.equals( value );
+    }
+
+    public static boolean isTrue(Object value) {
+        return Boolean.TRUE.equals( value );
+    }
+
     /**
      * Implements the ternary logic AND operation
      */
-    private Object and(Object left, Object right, EvaluationContext ctx) {
+    public static Object and(Object left, Object right, EvaluationContext ctx) {
         Boolean l = EvalHelper.getBooleanOrNull( left );
         Boolean r = EvalHelper.getBooleanOrNull( right );
         // have to check for all nulls first to avoid NPE
@@ -252,7 +305,7 @@ public class InfixOpNode
     /**
      * Implements the ternary logic OR operation
      */
-    private Object or(Object left, Object right, EvaluationContext ctx) {
+    public static Object or(Object left, Object right, EvaluationContext ctx) {
         Boolean l = EvalHelper.getBooleanOrNull( left );
         Boolean r = EvalHelper.getBooleanOrNull( right );
         // have to check for all nulls first to avoid NPE
@@ -264,7 +317,31 @@ public class InfixOpNode
         return l || r;
     }
 
-    private Object comparison(Object left, Object right, EvaluationContext ctx, BiPredicate<Comparable, Comparable> op) {
+    public static Object lte(Object left, Object right, EvaluationContext ctx) {
+        return comparison( left, right, ctx, (l, r) -> l.compareTo( r ) <= 0 );
+    }
+
+    public static Object lt(Object left, Object right, EvaluationContext ctx) {
+        return comparison( left, right, ctx, (l, r) -> l.compareTo( r ) < 0 );
+    }
+
+    public static Object gt(Object left, Object right, EvaluationContext ctx) {
+        return comparison( left, right, ctx, (l, r) -> l.compareTo( r ) > 0 );
+    }
+
+    public static Object gte(Object left, Object right, EvaluationContext ctx) {
+        return comparison( left, right, ctx, (l, r) -> l.compareTo( r ) >= 0 );
+    }
+
+    public static Object eq(Object left, Object right, EvaluationContext ctx) {
+        return equality( InfixOperator.EQ, left, right, ctx, (l, r) -> l.compareTo( r ) == 0 );
+    }
+
+    public static Object ne(Object left, Object right, EvaluationContext ctx) {
+        return equality( InfixOperator.NE, left, right, ctx, (l, r) -> l.compareTo( r ) != 0 );
+    }
+
+    private static Object comparison(Object left, Object right, EvaluationContext ctx, BiPredicate<Comparable, Comparable> op) {
         if ( left == null || right == null ) {
             return null;
         } else if ( (left instanceof String && right instanceof String) ||
@@ -279,58 +356,25 @@ public class InfixOpNode
     }
 
 
-    private Object equality(Object left, Object right, EvaluationContext ctx, BiPredicate<Comparable, Comparable> op) {
+    private static Object equality(InfixOperator operator, Object left, Object right, EvaluationContext ctx, BiPredicate<Comparable, Comparable> op) {
         if ( left == null && right == null ) {
             return operator == InfixOperator.EQ;
         } else if ( left == null || right == null ) {
             return operator == InfixOperator.NE;
         } else if( left instanceof Range && right instanceof Range ) {
             return operator == InfixOperator.NE ^ isEqual( (Range)left, (Range) right );
-        } else if( left instanceof Iterable && right instanceof Iterable ) {
-            return operator == InfixOperator.NE ^ isEqual( (Iterable)left, (Iterable) right );
-        } else if( left instanceof Map && right instanceof Map ) {
-            return operator == InfixOperator.NE ^ isEqual( (Map)left, (Map) right );
+        } else if( (left instanceof Iterable && right instanceof Iterable) || (left instanceof Map && right instanceof Map) ) {
+            return operator == InfixOperator.NE ^ FEELEquality.isEqual( left, right );
         }
         return comparison( left, right, ctx, op );
     }
 
-    private Boolean isEqual(Range left, Range right) {
+    private static Boolean isEqual(Range left, Range right) {
         return left.equals( right );
     }
 
-    private Boolean isEqual(Iterable left, Iterable right) {
-        Iterator li = left.iterator();
-        Iterator ri = right.iterator();
-        while( li.hasNext() && ri.hasNext() ) {
-            Object l = li.next();
-            Object r = ri.next();
-            if ( !isEqual( l, r ) ) return false;
-        }
-        return li.hasNext() == ri.hasNext();
-    }
-
-    private Boolean isEqual(Map<?,?> left, Map<?,?> right) {
-        if( left.size() != right.size() ) {
-            return false;
-        }
-        for( Map.Entry le : left.entrySet() ) {
-            Object l = le.getValue();
-            Object r = right.get( le.getKey() );
-            if ( !isEqual( l, r ) ) return false;
-        }
-        return true;
-    }
-
-    private boolean isEqual(Object l, Object r) {
-        if( l instanceof Iterable && r instanceof Iterable && !isEqual( (Iterable) l, (Iterable) r ) ) {
-            return false;
-        } else if( l instanceof Map && r instanceof Map && !isEqual( (Map) l, (Map) r ) ) {
-            return false;
-        } else if( l != null && r != null && !l.equals( r ) ) {
-            return false;
-        } else if( ( l == null || r == null ) && l != r ) {
-            return false;
-        }
-        return true;
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
     }
 }
@@ -27,6 +27,9 @@ public class InstanceOfNode
     private BaseNode expression;
     private TypeNode type;
 
+    public InstanceOfNode() {
+    }
+
     public InstanceOfNode(ParserRuleContext ctx, BaseNode expression, TypeNode type) {
         super( ctx );
         this.expression = expression;
@@ -49,10 +52,20 @@ public class InstanceOfNode
         this.type = type;
     }
 
+    @Override
+    public Type getResultType() {
+        return BuiltInType.BOOLEAN;
+    }
+
     @Override
     public Object evaluate(EvaluationContext ctx) {
         Object value = expression.evaluate( ctx );
         Type t = type.evaluate( ctx );
         return BuiltInType.isInstanceOf( value, t );
     }
+
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
 }
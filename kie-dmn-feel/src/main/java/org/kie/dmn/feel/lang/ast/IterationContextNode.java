@@ -25,6 +25,9 @@ public class IterationContextNode
     private NameDefNode name;
     private BaseNode    expression;
 
+    public IterationContextNode() {
+    }
+
     public IterationContextNode(ParserRuleContext ctx, NameDefNode name, BaseNode expression) {
         super( ctx );
         this.name = name;
@@ -55,4 +58,9 @@ public class IterationContextNode
     public Object evaluate(EvaluationContext ctx) {
         return expression != null ? expression.evaluate( ctx ) : null;
     }
+
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.ast;
+
+import org.kie.dmn.feel.runtime.functions.JavaFunctionResolver;
+
+/**
+ * A pass that sets the resolver of the Java methods of the external
+ * function definitions, for engines that load the classes of external
+ * functions with their own class loader.
+ */
+public class JavaFunctionBinder
+        extends ASTRewriter {
+
+    private final JavaFunctionResolver resolver;
+
+    public JavaFunctionBinder(JavaFunctionResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    public BaseNode bind(BaseNode node) {
+        return rewrite( node );
+    }
+
+    @Override
+    public BaseNode visit(FunctionDefNode n) {
+        if ( n.isExternal() ) {
+            n.setResolver( resolver );
+        }
+        return super.visit( n );
+    }
+}
@@ -18,6 +18,8 @@ package org.kie.dmn.feel.lang.ast;
 
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.Type;
+import org.kie.dmn.feel.lang.types.BuiltInType;
 import org.kie.dmn.feel.lang.impl.EvaluationContextImpl;
 
 import java.util.ArrayList;
@@ -29,6 +31,10 @@ public class ListNode
 
     private List<BaseNode> elements;
 
+    public ListNode() {
+        elements = new ArrayList<>();
+    }
+
     public ListNode(ParserRuleContext ctx) {
         super( ctx );
         elements = new ArrayList<>();
@@ -47,8 +53,18 @@ public class ListNode
         this.elements = elements;
     }
 
+    @Override
+    public Type getResultType() {
+        return BuiltInType.LIST;
+    }
+
     @Override
     public List evaluate(EvaluationContext ctx) {
         return elements.stream().map( e -> e != null ? e.evaluate( ctx ) : null ).collect( Collectors.toList() );
     }
+
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
 }
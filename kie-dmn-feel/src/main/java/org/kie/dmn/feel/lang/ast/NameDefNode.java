@@ -35,6 +35,9 @@ public class NameDefNode
     private List<String> parts;
     private String name;
 
+    public NameDefNode() {
+    }
+
     public NameDefNode(ParserRuleContext ctx, List<String> parts) {
         super( ctx );
         this.parts = parts;
@@ -65,4 +68,9 @@ public class NameDefNode
     public String evaluate(EvaluationContext ctx) {
         return EvalHelper.normalizeVariableName( getText() );
     }
+
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
 }
@@ -18,17 +18,46 @@ package org.kie.dmn.feel.lang.ast;
 
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.Type;
+import org.kie.dmn.feel.lang.types.BuiltInType;
 import org.kie.dmn.feel.util.EvalHelper;
 
 public class NameRefNode
         extends BaseNode {
 
+    private Type type = BuiltInType.UNKNOWN;
+
+    public NameRefNode() {
+    }
+
     public NameRefNode(ParserRuleContext ctx) {
         super( ctx );
     }
 
+    public NameRefNode(NameRefNode node) {
+        super( node );
+        this.type = node.type;
+    }
+
+    @Override
+    public Type getResultType() {
+        return type;
+    }
+
+    /**
+     * Sets the type statically known for the referenced variable
+     */
+    public void setResultType(Type type) {
+        this.type = type;
+    }
+
     @Override
     public Object evaluate(EvaluationContext ctx) {
         return ctx.getValue( EvalHelper.normalizeVariableName( getText() ) );
     }
+
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
 }
@@ -26,6 +26,9 @@ public class NamedParameterNode
     private NameDefNode name;
     private BaseNode expression;
 
+    public NamedParameterNode() {
+    }
+
     public NamedParameterNode(ParserRuleContext ctx, NameDefNode name, BaseNode expression) {
         super( ctx );
         this.name = name;
@@ -54,4 +57,9 @@ public class NamedParameterNode
         Object val = expression.evaluate( ctx );
         return new NamedParameter( n, val );
     }
+
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
 }
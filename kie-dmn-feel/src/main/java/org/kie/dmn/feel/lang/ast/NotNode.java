@@ -18,12 +18,17 @@ package org.kie.dmn.feel.lang.ast;
 
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.Type;
+import org.kie.dmn.feel.lang.types.BuiltInType;
 
 public class NotNode
         extends BaseNode {
 
     private BaseNode expression;
 
+    public NotNode() {
+    }
+
     public NotNode(ParserRuleContext ctx, BaseNode expr) {
         super( ctx );
         expression = expr;
@@ -33,6 +38,15 @@ public class NotNode
         return expression;
     }
 
+    public void setExpression(BaseNode expression) {
+        this.expression = expression;
+    }
+
+    @Override
+    public Type getResultType() {
+        return BuiltInType.BOOLEAN;
+    }
+
     @Override
     public Object evaluate(EvaluationContext ctx) {
         Object val = expression.evaluate( ctx );
@@ -41,4 +55,9 @@ public class NotNode
         }
         return null;
     }
+
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
 }
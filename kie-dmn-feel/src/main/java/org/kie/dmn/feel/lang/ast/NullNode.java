@@ -22,6 +22,9 @@ import org.kie.dmn.feel.lang.EvaluationContext;
 public class NullNode
         extends BaseNode {
 
+    public NullNode() {
+    }
+
     public NullNode(ParserRuleContext ctx) {
         super( ctx );
     }
@@ -30,4 +33,9 @@ public class NullNode
     public Object evaluate(EvaluationContext ctx) {
         return null;
     }
+
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
 }
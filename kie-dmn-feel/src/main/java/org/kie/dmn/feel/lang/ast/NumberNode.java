@@ -18,6 +18,9 @@ package org.kie.dmn.feel.lang.ast;
 
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.Type;
+import org.kie.dmn.feel.lang.types.BuiltInType;
+import org.kie.dmn.feel.util.DecimalMath;
 
 import java.math.BigDecimal;
 
@@ -26,9 +29,12 @@ public class NumberNode
 
     BigDecimal value;
 
+    public NumberNode() {
+    }
+
     public NumberNode(ParserRuleContext ctx) {
         super( ctx );
-        value = new BigDecimal( ctx.getText() );
+        value = DecimalMath.canonical( new BigDecimal( ctx.getText() ) );
     }
 
     public BigDecimal getValue() {
@@ -39,8 +45,18 @@ public class NumberNode
         this.value = value;
     }
 
+    @Override
+    public Type getResultType() {
+        return BuiltInType.NUMBER;
+    }
+
     @Override
     public Object evaluate(EvaluationContext ctx) {
         return value;
     }
+
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
 }
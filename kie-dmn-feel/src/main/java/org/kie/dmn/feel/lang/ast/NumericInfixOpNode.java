@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.dmn.feel.lang.ast;
+
+import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.util.DecimalMath;
+import org.kie.dmn.feel.util.EvalHelper;
+
+import java.math.BigDecimal;
+
+/**
+ * An infix operation whose operands are statically known to be numbers.
+ * Numeric values are handled directly, while any other value falls back
+ * to the generic implementation.
+ */
+public class NumericInfixOpNode
+        extends InfixOpNode {
+
+    public NumericInfixOpNode() {
+    }
+
+    public NumericInfixOpNode(InfixOpNode node) {
+        super( node );
+    }
+
+    @Override
+    public Object evaluate(EvaluationContext ctx) {
+        Object left = getLeft().evaluate( ctx );
+        Object right = getRight().evaluate( ctx );
+        switch ( getOperator() ) {
+            case ADD:
+            case SUB:
+            case MULT:
+            case DIV:
+            case POW:
+                if ( left instanceof Number && right instanceof Number ) {
+                    return math( EvalHelper.getBigDecimalOrNull( left ), EvalHelper.getBigDecimalOrNull( right ) );
+                }
+                break;
+            case LTE:
+            case LT:
+            case GT:
+            case GTE:
+            case EQ:
+            case NE:
+                if ( left instanceof BigDecimal && right instanceof BigDecimal ) {
+                    return compare( ((BigDecimal) left).compareTo( (BigDecimal) right ) );
+                }
+                break;
+            default:
+                break;
+        }
+        return evaluate( left, right, ctx );
+    }
+
+    private BigDecimal math(BigDecimal l, BigDecimal r) {
+        try {
+            switch ( getOperator() ) {
+                case ADD:
+                    return DecimalMath.add( l, r );
+                case SUB:
+                    return DecimalMath.subtract( l, r );
+                case MULT:
+                    return DecimalMath.multiply( l, r );
+                case DIV:
+                    return DecimalMath.divide( l, r );
+                default:
+                    return DecimalMath.pow( l, r );
+            }
+        } catch ( ArithmeticException e ) {
+            // happens in cases like division by 0
+            return null;
+        }
+    }
+
+    private Boolean compare(int c) {
+        switch ( getOperator() ) {
+            case LTE:
+                return c <= 0;
+            case LT:
+                return c < 0;
+            case GT:
+                return c > 0;
+            case GTE:
+                return c >= 0;
+            case EQ:
+                return c == 0;
+            default:
+                return c != 0;
+        }
+    }
+}
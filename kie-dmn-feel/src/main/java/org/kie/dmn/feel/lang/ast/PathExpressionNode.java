@@ -35,6 +35,9 @@ public class PathExpressionNode
     private BaseNode expression;
     private BaseNode name;
 
+    public PathExpressionNode() {
+    }
+
     public PathExpressionNode(ParserRuleContext ctx, BaseNode expression, BaseNode name) {
         super( ctx );
         this.expression = expression;
@@ -92,4 +95,9 @@ public class PathExpressionNode
         }
         return o;
     }
+
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
 }
@@ -32,6 +32,9 @@ public class QualifiedNameNode
 
     private List<NameRefNode> parts;
 
+    public QualifiedNameNode() {
+    }
+
     public QualifiedNameNode(ParserRuleContext ctx, List<NameRefNode> parts) {
         super( ctx );
         this.parts = parts;
@@ -67,4 +70,8 @@ public class QualifiedNameNode
         return null;
     }
 
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
 }
@@ -18,6 +18,8 @@ package org.kie.dmn.feel.lang.ast;
 
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.Type;
+import org.kie.dmn.feel.lang.types.BuiltInType;
 
 import java.util.*;
 
@@ -48,6 +50,9 @@ public class QuantifiedExpressionNode
     private List<IterationContextNode> iterationContexts;
     private BaseNode                   expression;
 
+    public QuantifiedExpressionNode() {
+    }
+
     public QuantifiedExpressionNode(ParserRuleContext ctx, Quantifier quantifier, ListNode list, BaseNode expression) {
         super( ctx );
         this.quantifier = quantifier;
@@ -82,6 +87,11 @@ public class QuantifiedExpressionNode
         this.expression = expression;
     }
 
+    @Override
+    public Type getResultType() {
+        return BuiltInType.BOOLEAN;
+    }
+
     @Override
     public Boolean evaluate(EvaluationContext ctx) {
         if( quantifier == Quantifier.SOME || quantifier == Quantifier.EVERY ) {
@@ -170,4 +180,9 @@ public class QuantifiedExpressionNode
             return name;
         }
     }
+
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
 }
@@ -18,6 +18,7 @@ package org.kie.dmn.feel.lang.ast;
 
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.Type;
 import org.kie.dmn.feel.lang.types.BuiltInType;
 import org.kie.dmn.feel.runtime.Range;
 import org.kie.dmn.feel.runtime.UnaryTest;
@@ -35,6 +36,9 @@ public class RangeNode
     private BaseNode         start;
     private BaseNode         end;
 
+    public RangeNode() {
+    }
+
     public RangeNode(ParserRuleContext ctx, IntervalBoundary lowerBound, BaseNode start, BaseNode end, IntervalBoundary upperBound) {
         super( ctx );
         this.lowerBound = lowerBound;
@@ -75,6 +79,11 @@ public class RangeNode
         this.end = end;
     }
 
+    @Override
+    public Type getResultType() {
+        return BuiltInType.RANGE;
+    }
+
     @Override
     public Range evaluate(EvaluationContext ctx) {
         Comparable s = (Comparable) start.evaluate( ctx );
@@ -91,4 +100,9 @@ public class RangeNode
                               e,
                               upperBound==IntervalBoundary.OPEN ? Range.RangeBoundary.OPEN : Range.RangeBoundary.CLOSED );
     }
+
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
 }
@@ -18,6 +18,8 @@ package org.kie.dmn.feel.lang.ast;
 
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.Type;
+import org.kie.dmn.feel.lang.types.BuiltInType;
 import org.kie.dmn.feel.util.EvalHelper;
 
 import java.math.BigDecimal;
@@ -41,6 +43,9 @@ public class SignedUnaryNode
     private Sign     sign;
     private BaseNode expression;
 
+    public SignedUnaryNode() {
+    }
+
     public SignedUnaryNode(ParserRuleContext ctx, BaseNode expr) {
         super( ctx );
         sign = Sign.determineSign( ctx.start.getText() );
@@ -51,10 +56,23 @@ public class SignedUnaryNode
         return sign;
     }
 
+    public void setSign(Sign sign) {
+        this.sign = sign;
+    }
+
     public BaseNode getExpression() {
         return expression;
     }
 
+    public void setExpression(BaseNode expression) {
+        this.expression = expression;
+    }
+
+    @Override
+    public Type getResultType() {
+        return BuiltInType.NUMBER;
+    }
+
     @Override
     public Object evaluate(EvaluationContext ctx) {
         BigDecimal result = EvalHelper.getBigDecimalOrNull( expression.evaluate( ctx ) );
@@ -67,4 +85,8 @@ public class SignedUnaryNode
         }
     }
 
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.ast;
+
+import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.impl.EvaluationContextImpl;
+import org.kie.dmn.feel.lang.impl.ExecutionFrame;
+import org.kie.dmn.feel.lang.impl.FrameLayout;
+
+/**
+ * A reference to a name that was resolved at compile time to a slot of
+ * the root frame, holding the built-in functions, or of the global frame,
+ * holding the input variables. When the slot can not be used, like when
+ * the input was not set or the expression is evaluated with a different
+ * context, the name is looked up like any other name.
+ */
+public class SlotRefNode
+        extends NameRefNode {
+
+    public static final int BUILT_INS_FRAME = 0;
+    public static final int GLOBALS_FRAME   = 1;
+
+    private final String      name;
+    private final FrameLayout globals;
+    private final int         frame;
+    private final int         slot;
+
+    public SlotRefNode(NameRefNode node, String name, FrameLayout globals, int frame, int slot) {
+        super( node );
+        this.name = name;
+        this.globals = globals;
+        this.frame = frame;
+        this.slot = slot;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public FrameLayout getGlobals() {
+        return globals;
+    }
+
+    public int getFrame() {
+        return frame;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    @Override
+    public Object evaluate(EvaluationContext ctx) {
+        if ( ctx instanceof EvaluationContextImpl ) {
+            Object value = ((EvaluationContextImpl) ctx).getSlotValue( globals, frame, slot );
+            if ( value != ExecutionFrame.UNSET ) {
+                return value;
+            }
+        }
+        return ctx.getValue( name );
+    }
+}
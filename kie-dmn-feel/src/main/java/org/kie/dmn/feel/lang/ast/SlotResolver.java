@@ -0,0 +1,66 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.ast;
+
+import org.kie.dmn.feel.lang.impl.FrameLayout;
+import org.kie.dmn.feel.util.EvalHelper;
+
+/**
+ * A pass that resolves the names of the input variables and of the
+ * built-in functions to the slots of the frames holding them. Names
+ * defined by the expression itself, and names in function bodies and
+ * filters, are left to the dynamic lookup.
+ */
+public class SlotResolver
+        extends ASTRewriter {
+
+    private final FrameLayout globals;
+
+    public SlotResolver(FrameLayout globals) {
+        this.globals = globals;
+    }
+
+    public BaseNode resolve(BaseNode node) {
+        return rewrite( node );
+    }
+
+    @Override
+    public BaseNode visit(NameRefNode n) {
+        if ( n instanceof SlotRefNode || isInDynamicScope() || isLocalName( n.getText() ) ) {
+            return n;
+        }
+        String name = EvalHelper.normalizeVariableName( n.getText() );
+        int slot = globals.indexOf( name );
+        if ( slot >= 0 ) {
+            return new SlotRefNode( n, name, globals, SlotRefNode.GLOBALS_FRAME, slot );
+        }
+        slot = FrameLayout.BUILT_INS.indexOf( name );
+        if ( slot >= 0 ) {
+            return new SlotRefNode( n, name, globals, SlotRefNode.BUILT_INS_FRAME, slot );
+        }
+        return n;
+    }
+
+    @Override
+    public BaseNode visit(FunctionInvocationNode n) {
+        super.visit( n );
+        if ( n.getName() instanceof NameRefNode ) {
+            n.setName( rewrite( n.getName() ) );
+        }
+        return n;
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.dmn.feel.lang.ast;
+
+import org.kie.dmn.feel.lang.EvaluationContext;
+
+/**
+ * The addition of two operands statically known to be strings.
+ * Any other values fall back to the generic implementation.
+ */
+public class StringConcatNode
+        extends InfixOpNode {
+
+    public StringConcatNode() {
+    }
+
+    public StringConcatNode(InfixOpNode node) {
+        super( node );
+    }
+
+    @Override
+    public Object evaluate(EvaluationContext ctx) {
+        Object left = getLeft().evaluate( ctx );
+        Object right = getRight().evaluate( ctx );
+        if ( left instanceof String && right instanceof String ) {
+            return ((String) left).concat( (String) right );
+        }
+        return evaluate( left, right, ctx );
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.dmn.feel.lang.ast;
+
+import org.kie.dmn.feel.lang.Type;
+import org.kie.dmn.feel.lang.types.BuiltInType;
+import org.kie.dmn.feel.util.EvalHelper;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A pass that propagates the types of the input variables through
+ * the AST and replaces infix operations whose operand types are known
+ * with specialized implementations, that skip the runtime type checks
+ * of the generic node. Specialized nodes still fall back to the generic
+ * implementation when a value does not match the declared type.
+ */
+public class TypeInferrer
+        extends ASTRewriter {
+
+    private final Map<String, Type> inputTypes = new HashMap<>();
+
+    public TypeInferrer(Map<String, Type> inputTypes) {
+        inputTypes.forEach( (name, type) -> this.inputTypes.put( EvalHelper.normalizeVariableName( name ), type ) );
+    }
+
+    public BaseNode infer(BaseNode node) {
+        return rewrite( node );
+    }
+
+    @Override
+    public BaseNode visit(NameRefNode n) {
+        // names in dynamic scopes might not refer to the input variables
+        if ( !isInDynamicScope() && !isLocalName( n.getText() ) ) {
+            Type type = inputTypes.get( EvalHelper.normalizeVariableName( n.getText() ) );
+            if ( type != null ) {
+                n.setResultType( type );
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public BaseNode visit(InfixOpNode n) {
+        super.visit( n );
+        if ( n.getClass() != InfixOpNode.class ) {
+            // already specialized
+            return n;
+        }
+        Type l = n.getLeft().getResultType();
+        Type r = n.getRight().getResultType();
+        switch ( n.getOperator() ) {
+            case ADD:
+                if ( l == BuiltInType.STRING && r == BuiltInType.STRING ) {
+                    return new StringConcatNode( n );
+                } else if ( l == BuiltInType.DURATION && r == BuiltInType.DATE_TIME ) {
+                    return new DateTimeDurationNode( n );
+                }
+                // fall through
+            case SUB:
+                if ( l == BuiltInType.DATE_TIME && r == BuiltInType.DURATION ) {
+                    return new DateTimeDurationNode( n );
+                }
+                // fall through
+            case MULT:
+            case DIV:
+            case POW:
+            case LTE:
+            case LT:
+            case GT:
+            case GTE:
+            case EQ:
+            case NE:
+                if ( l == BuiltInType.NUMBER && r == BuiltInType.NUMBER ) {
+                    return new NumericInfixOpNode( n );
+                }
+                return n;
+            default:
+                return n;
+        }
+    }
+}
@@ -24,6 +24,9 @@ import org.kie.dmn.feel.lang.types.BuiltInType;
 public class TypeNode
         extends BaseNode {
 
+    public TypeNode() {
+    }
+
     public TypeNode(ParserRuleContext ctx) {
         super( ctx );
     }
@@ -32,4 +35,9 @@ public class TypeNode
     public Type evaluate(EvaluationContext ctx) {
         return BuiltInType.determineTypeFromName( getText() );
     }
+
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
 }
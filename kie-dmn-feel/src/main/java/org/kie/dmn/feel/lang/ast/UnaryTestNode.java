@@ -18,6 +18,8 @@ package org.kie.dmn.feel.lang.ast;
 
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.Type;
+import org.kie.dmn.feel.lang.types.BuiltInType;
 import org.kie.dmn.feel.runtime.UnaryTest;
 
 public class UnaryTestNode
@@ -48,6 +50,9 @@ public class UnaryTestNode
         }
     }
 
+    public UnaryTestNode() {
+    }
+
     public UnaryTestNode(ParserRuleContext ctx, String op, BaseNode value) {
         super( ctx );
         this.operator = UnaryOperator.determineOperator( op );
@@ -70,6 +75,11 @@ public class UnaryTestNode
         this.value = value;
     }
 
+    @Override
+    public Type getResultType() {
+        return BuiltInType.UNARY_TEST;
+    }
+
     @Override
     public UnaryTest evaluate(EvaluationContext ctx) {
         Comparable val = (Comparable) value.evaluate( ctx );
@@ -85,4 +95,9 @@ public class UnaryTestNode
         }
         return null;
     }
+
+    @Override
+    public <T> T accept(Visitor<T> v) {
+        return v.visit( this );
+    }
 }
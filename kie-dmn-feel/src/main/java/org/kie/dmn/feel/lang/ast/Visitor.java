@@ -0,0 +1,147 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.ast;
+
+/**
+ * A visitor for the FEEL AST. Every node type dispatches to its own
+ * visit() method, that by default delegates to visit(ASTNode), so
+ * implementations only need to override the node types they handle.
+ */
+public interface Visitor<T> {
+
+    T visit(ASTNode n);
+
+    default T visit(BetweenNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(BooleanNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(ConstantNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(ContextEntryNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(ContextNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(DashNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(FilterExpressionNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(ForExpressionNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(FunctionDefNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(FunctionInvocationNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(IfExpressionNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(InNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(InfixOpNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(InstanceOfNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(IterationContextNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(ListNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(NameDefNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(NameRefNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(NamedParameterNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(NotNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(NullNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(NumberNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(PathExpressionNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(QualifiedNameNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(QuantifiedExpressionNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(RangeNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(SignedUnaryNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(StringNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(TypeNode n) {
+        return visit( (ASTNode) n );
+    }
+
+    default T visit(UnaryTestNode n) {
+        return visit( (ASTNode) n );
+    }
+}
@@ -0,0 +1,387 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.dmn.feel.lang.compiler;
+
+import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.ast.BaseNode;
+import org.kie.dmn.feel.lang.ast.BooleanNode;
+import org.kie.dmn.feel.lang.ast.ConstantNode;
+import org.kie.dmn.feel.lang.ast.FunctionInvocationNode;
+import org.kie.dmn.feel.lang.ast.IfExpressionNode;
+import org.kie.dmn.feel.lang.ast.InfixOpNode;
+import org.kie.dmn.feel.lang.ast.NameRefNode;
+import org.kie.dmn.feel.lang.ast.NotNode;
+import org.kie.dmn.feel.lang.ast.NullNode;
+import org.kie.dmn.feel.lang.ast.NumberNode;
+import org.kie.dmn.feel.lang.ast.SlotRefNode;
+import org.kie.dmn.feel.lang.ast.StringNode;
+import org.kie.dmn.feel.lang.impl.EvaluationContextImpl;
+import org.kie.dmn.feel.lang.impl.ExecutionFrame;
+import org.kie.dmn.feel.lang.impl.FrameLayout;
+import org.kie.dmn.feel.runtime.FEELFunction;
+import org.kie.dmn.feel.runtime.functions.CallSiteCache;
+import org.kie.dmn.feel.util.EvalHelper;
+import org.mvel2.asm.ClassWriter;
+import org.mvel2.asm.Label;
+import org.mvel2.asm.MethodVisitor;
+import org.mvel2.asm.Type;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mvel2.asm.Opcodes.*;
+
+/**
+ * Compiles a FEEL AST into a JVM class extending CompiledFEELExpression.
+ *
+ * Literals, name references, infix operations, negations, if expressions
+ * and function invocations are compiled into bytecode, so the JIT can
+ * inline the whole expression instead of going through a megamorphic
+ * BaseNode.evaluate() call for every node. Any other node is kept as
+ * a constant of the generated class and evaluated by the interpreter,
+ * so the results are always the same as the interpreted ones.
+ */
+public final class BytecodeCompiler {
+
+    /**
+     * The system property that sets how many times an expression is
+     * interpreted before it is compiled into bytecode. A negative
+     * value, the default, disables the bytecode compilation.
+     */
+    public static final String THRESHOLD_PROPERTY = "org.kie.dmn.feel.compiler.threshold";
+    public static final int    DEFAULT_THRESHOLD  = -1;
+    public static final int    THRESHOLD          = Integer.getInteger( THRESHOLD_PROPERTY, DEFAULT_THRESHOLD );
+
+    private static final AtomicLong COUNTER = new AtomicLong();
+
+    private static final String BASE      = Type.getInternalName( CompiledFEELExpression.class );
+    private static final String OBJECT    = Type.getInternalName( Object.class );
+    private static final String BOOLEAN   = Type.getInternalName( Boolean.class );
+    private static final String CTX       = Type.getInternalName( EvaluationContext.class );
+    private static final String NODE      = Type.getInternalName( BaseNode.class );
+    private static final String INFIX_OP  = Type.getInternalName( InfixOpNode.class );
+    private static final String FUNCTION  = Type.getInternalName( FEELFunction.class );
+    private static final String CALL_SITE = Type.getInternalName( CallSiteCache.class );
+    private static final String CTX_IMPL  = Type.getInternalName( EvaluationContextImpl.class );
+    private static final String FRAME     = Type.getInternalName( ExecutionFrame.class );
+    private static final String LAYOUT    = Type.getInternalName( FrameLayout.class );
+
+    private static final String CONSTANTS_DESC = "[Ljava/lang/Object;";
+    private static final String INIT_DESC      = "(" + CONSTANTS_DESC + Type.getDescriptor( FrameLayout.class ) + ")V";
+    private static final String EVALUATE_DESC  = "(L" + CTX + ";)Ljava/lang/Object;";
+    private static final String INFIX_OP_DESC  = "(Ljava/lang/Object;Ljava/lang/Object;L" + CTX + ";)Ljava/lang/Object;";
+    private static final String CALL_SITE_DESC = "(L" + CTX + ";L" + FUNCTION + ";[Ljava/lang/Object;)Ljava/lang/Object;";
+    private static final String SLOT_DESC      = "(L" + LAYOUT + ";II)Ljava/lang/Object;";
+
+    private final List<Object> constants = new ArrayList<>();
+    private MethodVisitor mv;
+
+    private BytecodeCompiler() {
+    }
+
+    /**
+     * Compiles the given expression into a new class, defined
+     * in its own class loader so that it can be unloaded once
+     * the expression is no longer used.
+     */
+    public static CompiledFEELExpression compile(BaseNode expression) {
+        return compile( expression, FrameLayout.EMPTY );
+    }
+
+    /**
+     * Compiles the given expression, whose input variables were resolved
+     * to the slots of the given global frame layout
+     */
+    public static CompiledFEELExpression compile(BaseNode expression, FrameLayout globals) {
+        return new BytecodeCompiler().generate( expression, globals );
+    }
+
+    private CompiledFEELExpression generate(BaseNode expression, FrameLayout globals) {
+        String className = BASE.substring( 0, BASE.lastIndexOf( '/' ) + 1 ) + "GeneratedExpression" + COUNTER.incrementAndGet();
+        ClassWriter cw = new ClassWriter( ClassWriter.COMPUTE_FRAMES ) {
+            @Override
+            protected String getCommonSuperClass(String type1, String type2) {
+                // values on the operand stack are only ever used as objects
+                return OBJECT;
+            }
+        };
+        cw.visit( V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, className, null, BASE, null );
+
+        mv = cw.visitMethod( ACC_PUBLIC, "<init>", INIT_DESC, null, null );
+        mv.visitCode();
+        mv.visitVarInsn( ALOAD, 0 );
+        mv.visitVarInsn( ALOAD, 1 );
+        mv.visitVarInsn( ALOAD, 2 );
+        mv.visitMethodInsn( INVOKESPECIAL, BASE, "<init>", INIT_DESC, false );
+        mv.visitInsn( RETURN );
+        mv.visitMaxs( 0, 0 );
+        mv.visitEnd();
+
+        mv = cw.visitMethod( ACC_PUBLIC, "evaluate", EVALUATE_DESC, null, null );
+        mv.visitCode();
+        emit( expression );
+        mv.visitInsn( ARETURN );
+        mv.visitMaxs( 0, 0 );
+        mv.visitEnd();
+        cw.visitEnd();
+
+        byte[] bytecode = cw.toByteArray();
+        Class<?> clazz = new GeneratedClassLoader( CompiledFEELExpression.class.getClassLoader() ).define( className.replace( '/', '.' ), bytecode );
+        try {
+            return (CompiledFEELExpression) clazz.getConstructor( Object[].class, FrameLayout.class ).newInstance( constants.toArray(), globals );
+        } catch ( ReflectiveOperationException e ) {
+            throw new IllegalStateException( "Unable to instantiate the compiled expression " + className, e );
+        }
+    }
+
+    /**
+     * Emits the code that leaves the value of the given node on the operand stack
+     */
+    private void emit(BaseNode node) {
+        if ( node instanceof ConstantNode ) {
+            emitConstant( ((ConstantNode) node).getValue() );
+        } else if ( node instanceof NullNode ) {
+            mv.visitInsn( ACONST_NULL );
+        } else if ( node instanceof NumberNode || node instanceof StringNode || node instanceof BooleanNode ) {
+            // literals do not depend on the evaluation context
+            emitConstant( node.evaluate( null ) );
+        } else if ( node instanceof NameRefNode ) {
+            emitNameRef( (NameRefNode) node );
+        } else if ( node instanceof InfixOpNode ) {
+            emitInfixOp( (InfixOpNode) node );
+        } else if ( node instanceof NotNode ) {
+            emitNot( (NotNode) node );
+        } else if ( node instanceof IfExpressionNode ) {
+            emitIf( (IfExpressionNode) node );
+        } else if ( node instanceof FunctionInvocationNode && ((FunctionInvocationNode) node).getName() instanceof NameRefNode ) {
+            emitFunctionInvocation( (FunctionInvocationNode) node );
+        } else {
+            emitInterpreted( node );
+        }
+    }
+
+    private void emitNameRef(NameRefNode node) {
+        if ( node instanceof SlotRefNode ) {
+            emitSlotRef( (SlotRefNode) node );
+        } else {
+            emitLookup( EvalHelper.normalizeVariableName( node.getText() ) );
+        }
+    }
+
+    /**
+     * Emits the same code as SlotRefNode.evaluate(): reads the slot,
+     * and looks the name up when the slot can not be used
+     */
+    private void emitSlotRef(SlotRefNode node) {
+        Label byName = new Label();
+        Label end = new Label();
+        mv.visitVarInsn( ALOAD, 1 );
+        mv.visitTypeInsn( INSTANCEOF, CTX_IMPL );
+        mv.visitJumpInsn( IFEQ, byName );
+        mv.visitVarInsn( ALOAD, 1 );
+        mv.visitTypeInsn( CHECKCAST, CTX_IMPL );
+        emitConstantsElement( node.getGlobals() );
+        mv.visitTypeInsn( CHECKCAST, LAYOUT );
+        emitInt( node.getFrame() );
+        emitInt( node.getSlot() );
+        mv.visitMethodInsn( INVOKEVIRTUAL, CTX_IMPL, "getSlotValue", SLOT_DESC, false );
+        mv.visitInsn( DUP );
+        mv.visitFieldInsn( GETSTATIC, FRAME, "UNSET", "Ljava/lang/Object;" );
+        mv.visitJumpInsn( IF_ACMPNE, end );
+        mv.visitInsn( POP );
+        mv.visitLabel( byName );
+        emitLookup( node.getName() );
+        mv.visitLabel( end );
+    }
+
+    private void emitLookup(String name) {
+        mv.visitVarInsn( ALOAD, 1 );
+        mv.visitLdcInsn( name );
+        mv.visitMethodInsn( INVOKEINTERFACE, CTX, "getValue", "(Ljava/lang/String;)Ljava/lang/Object;", true );
+    }
+
+    private void emitInfixOp(InfixOpNode node) {
+        if ( node.getOperator() == InfixOpNode.InfixOperator.AND ) {
+            emitShortCircuit( node, "isFalse", "FALSE" );
+        } else if ( node.getOperator() == InfixOpNode.InfixOperator.OR ) {
+            emitShortCircuit( node, "isTrue", "TRUE" );
+        } else {
+            emit( node.getLeft() );
+            emit( node.getRight() );
+            mv.visitVarInsn( ALOAD, 1 );
+            // InfixOpNode has a static method named after each operator
+            mv.visitMethodInsn( INVOKESTATIC, INFIX_OP, node.getOperator().name().toLowerCase( Locale.ROOT ), INFIX_OP_DESC, false );
+        }
+    }
+
+    /**
+     * Emits a boolean operation that only evaluates the right operand
+     * when the left one does not settle the result on its own
+     */
+    private void emitShortCircuit(InfixOpNode node, String settles, String result) {
+        Label settled = new Label();
+        Label end = new Label();
+        emit( node.getLeft() );
+        mv.visitInsn( DUP );
+        mv.visitMethodInsn( INVOKESTATIC, INFIX_OP, settles, "(Ljava/lang/Object;)Z", false );
+        mv.visitJumpInsn( IFNE, settled );
+        emit( node.getRight() );
+        mv.visitVarInsn( ALOAD, 1 );
+        mv.visitMethodInsn( INVOKESTATIC, INFIX_OP, node.getOperator().name().toLowerCase( Locale.ROOT ), INFIX_OP_DESC, false );
+        mv.visitJumpInsn( GOTO, end );
+        mv.visitLabel( settled );
+        mv.visitInsn( POP );
+        mv.visitFieldInsn( GETSTATIC, BOOLEAN, result, "L" + BOOLEAN + ";" );
+        mv.visitLabel( end );
+    }
+
+    private void emitNot(NotNode node) {
+        Label notBoolean = new Label();
+        Label isFalse = new Label();
+        Label end = new Label();
+        emit( node.getExpression() );
+        mv.visitInsn( DUP );
+        mv.visitTypeInsn( INSTANCEOF, BOOLEAN );
+        mv.visitJumpInsn( IFEQ, notBoolean );
+        emitBooleanValue();
+        mv.visitJumpInsn( IFEQ, isFalse );
+        mv.visitFieldInsn( GETSTATIC, BOOLEAN, "FALSE", "L" + BOOLEAN + ";" );
+        mv.visitJumpInsn( GOTO, end );
+        mv.visitLabel( isFalse );
+        mv.visitFieldInsn( GETSTATIC, BOOLEAN, "TRUE", "L" + BOOLEAN + ";" );
+        mv.visitJumpInsn( GOTO, end );
+        mv.visitLabel( notBoolean );
+        mv.visitInsn( POP );
+        mv.visitInsn( ACONST_NULL );
+        mv.visitLabel( end );
+    }
+
+    private void emitIf(IfExpressionNode node) {
+        Label notBoolean = new Label();
+        Label elseBranch = new Label();
+        Label end = new Label();
+        emit( node.getCondition() );
+        mv.visitInsn( DUP );
+        mv.visitTypeInsn( INSTANCEOF, BOOLEAN );
+        mv.visitJumpInsn( IFEQ, notBoolean );
+        emitBooleanValue();
+        mv.visitJumpInsn( IFEQ, elseBranch );
+        emit( node.getThenExpression() );
+        mv.visitJumpInsn( GOTO, end );
+        mv.visitLabel( elseBranch );
+        emit( node.getElseExpression() );
+        mv.visitJumpInsn( GOTO, end );
+        mv.visitLabel( notBoolean );
+        mv.visitInsn( POP );
+        mv.visitInsn( ACONST_NULL );
+        mv.visitLabel( end );
+    }
+
+    /**
+     * Invokes the function directly when the name refers to a function,
+     * and leaves any other case, like the invocation of unary tests,
+     * to the interpreter
+     */
+    private void emitFunctionInvocation(FunctionInvocationNode node) {
+        Label notFunction = new Label();
+        Label end = new Label();
+        List<BaseNode> params = node.getParams().getElements();
+        emitNameRef( (NameRefNode) node.getName() );
+        mv.visitInsn( DUP );
+        mv.visitTypeInsn( INSTANCEOF, FUNCTION );
+        mv.visitJumpInsn( IFEQ, notFunction );
+        mv.visitTypeInsn( CHECKCAST, FUNCTION );
+        // the call site shares the overloads resolved by the interpreted node
+        emitConstantsElement( node.getCallSiteCache() );
+        mv.visitTypeInsn( CHECKCAST, CALL_SITE );
+        mv.visitInsn( SWAP );
+        mv.visitVarInsn( ALOAD, 1 );
+        mv.visitInsn( SWAP );
+        emitInt( params.size() );
+        mv.visitTypeInsn( ANEWARRAY, OBJECT );
+        for ( int i = 0; i < params.size(); i++ ) {
+            mv.visitInsn( DUP );
+            emitInt( i );
+            emit( params.get( i ) );
+            mv.visitInsn( AASTORE );
+        }
+        mv.visitMethodInsn( INVOKEVIRTUAL, CALL_SITE, "invoke", CALL_SITE_DESC, false );
+        mv.visitJumpInsn( GOTO, end );
+        mv.visitLabel( notFunction );
+        mv.visitInsn( POP );
+        emitInterpreted( node );
+        mv.visitLabel( end );
+    }
+
+    private void emitInterpreted(BaseNode node) {
+        emitConstantsElement( node );
+        mv.visitTypeInsn( CHECKCAST, NODE );
+        mv.visitVarInsn( ALOAD, 1 );
+        mv.visitMethodInsn( INVOKEVIRTUAL, NODE, "evaluate", EVALUATE_DESC, false );
+    }
+
+    private void emitConstant(Object value) {
+        if ( value == null ) {
+            mv.visitInsn( ACONST_NULL );
+        } else if ( value instanceof Boolean ) {
+            mv.visitFieldInsn( GETSTATIC, BOOLEAN, (Boolean) value ? "TRUE" : "FALSE", "L" + BOOLEAN + ";" );
+        } else if ( value instanceof String ) {
+            mv.visitLdcInsn( value );
+        } else {
+            emitConstantsElement( value );
+        }
+    }
+
+    private void emitConstantsElement(Object value) {
+        int index = constants.size();
+        constants.add( value );
+        mv.visitVarInsn( ALOAD, 0 );
+        mv.visitFieldInsn( GETFIELD, BASE, "constants", CONSTANTS_DESC );
+        emitInt( index );
+        mv.visitInsn( AALOAD );
+    }
+
+    private void emitBooleanValue() {
+        mv.visitTypeInsn( CHECKCAST, BOOLEAN );
+        mv.visitMethodInsn( INVOKEVIRTUAL, BOOLEAN, "booleanValue", "()Z", false );
+    }
+
+    private void emitInt(int value) {
+        if ( value >= -1 && value <= 5 ) {
+            mv.visitInsn( ICONST_0 + value );
+        } else if ( value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE ) {
+            mv.visitIntInsn( BIPUSH, value );
+        } else if ( value >= Short.MIN_VALUE && value <= Short.MAX_VALUE ) {
+            mv.visitIntInsn( SIPUSH, value );
+        } else {
+            mv.visitLdcInsn( value );
+        }
+    }
+
+    private static final class GeneratedClassLoader
+            extends ClassLoader {
+
+        GeneratedClassLoader(ClassLoader parent) {
+            super( parent );
+        }
+
+        Class<?> define(String name, byte[] bytecode) {
+            return defineClass( name, bytecode, 0, bytecode.length );
+        }
+    }
+}
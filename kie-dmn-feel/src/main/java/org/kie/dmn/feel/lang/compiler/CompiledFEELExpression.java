@@ -0,0 +1,64 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.dmn.feel.lang.compiler;
+
+import org.kie.dmn.feel.lang.CompiledExpression;
+import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.impl.EvaluationContextImpl;
+import org.kie.dmn.feel.lang.impl.FrameLayout;
+
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.util.Map;
+
+/**
+ * The base class of the expressions compiled into JVM bytecode
+ * by the BytecodeCompiler.
+ *
+ * Generated classes only exist in the class loader that defined
+ * them, so these expressions can not be serialized: serialize the
+ * interpreted CompiledExpressionImpl instead.
+ */
+public abstract class CompiledFEELExpression
+        implements CompiledExpression {
+
+    /**
+     * The values and AST nodes referenced by the generated code
+     */
+    protected final Object[] constants;
+
+    // the layout of the global frame the names of the expression were resolved to
+    private final FrameLayout globals;
+
+    protected CompiledFEELExpression(Object[] constants, FrameLayout globals) {
+        this.constants = constants;
+        this.globals = globals;
+    }
+
+    public FrameLayout getGlobals() {
+        return globals;
+    }
+
+    public Object evaluate(Map<String, Object> inputVariables) {
+        return evaluate( new EvaluationContextImpl( globals, inputVariables ) );
+    }
+
+    public abstract Object evaluate(EvaluationContext ctx);
+
+    private void writeObject(ObjectOutputStream out) throws NotSerializableException {
+        throw new NotSerializableException( getClass().getName() );
+    }
+}
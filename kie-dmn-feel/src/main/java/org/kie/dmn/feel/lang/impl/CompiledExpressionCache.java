@@ -0,0 +1,272 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.impl;
+
+import org.kie.dmn.feel.lang.CompiledExpression;
+import org.kie.dmn.feel.lang.types.BuiltInType;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * A thread safe, size bounded cache of compiled expressions.
+ *
+ * Entries are keyed by the expression text plus the set of
+ * input variable names the expression was compiled against,
+ * as the parser needs to know the names in scope in order to
+ * recognize multi-token variable names. The types of the input
+ * values are part of the key too, as the compiler specializes
+ * the expression on them.
+ */
+public class CompiledExpressionCache {
+
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    public static enum EvictionPolicy {
+        /**
+         * evicts the least recently used entry
+         */
+        LRU,
+        /**
+         * evicts the least frequently used entry, breaking
+         * ties by evicting the oldest entry
+         */
+        LFU;
+    }
+
+    private final int            maxSize;
+    private final EvictionPolicy policy;
+
+    private final Map<CacheKey, CompiledExpression> entries;
+
+    // LFU bookkeeping: the frequency of each key and the keys of each frequency
+    private final Map<CacheKey, Integer>                frequencies;
+    private final Map<Integer, LinkedHashSet<CacheKey>> frequencyBuckets;
+    private int minFrequency;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public CompiledExpressionCache() {
+        this( DEFAULT_MAX_SIZE, EvictionPolicy.LRU );
+    }
+
+    public CompiledExpressionCache(int maxSize, EvictionPolicy policy) {
+        if ( maxSize <= 0 ) {
+            throw new IllegalArgumentException( "The maximum size of the cache must be a positive number: " + maxSize );
+        }
+        this.maxSize = maxSize;
+        this.policy = policy;
+        if ( policy == EvictionPolicy.LRU ) {
+            this.entries = new LinkedHashMap<CacheKey, CompiledExpression>( 16, 0.75f, true ) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<CacheKey, CompiledExpression> eldest) {
+                    if ( size() > CompiledExpressionCache.this.maxSize ) {
+                        evictions++;
+                        return true;
+                    }
+                    return false;
+                }
+            };
+            this.frequencies = null;
+            this.frequencyBuckets = null;
+        } else {
+            this.entries = new HashMap<>();
+            this.frequencies = new HashMap<>();
+            this.frequencyBuckets = new HashMap<>();
+        }
+    }
+
+    /**
+     * Returns the compiled expression cached for the given expression
+     * and input variables, or compiles and caches it using the given
+     * compiler in case it is not cached yet. The compiler is called
+     * outside of the cache lock.
+     */
+    public CompiledExpression computeIfAbsent(String expression, Map<String, Object> inputVariables, Supplier<CompiledExpression> compiler) {
+        CacheKey key = new CacheKey( expression, inputVariables );
+        CompiledExpression ce = get( key );
+        if ( ce == null ) {
+            ce = compiler.get();
+            if ( ce != null ) {
+                put( key, ce );
+            }
+        }
+        return ce;
+    }
+
+    private synchronized CompiledExpression get(CacheKey key) {
+        CompiledExpression ce = entries.get( key );
+        if ( ce != null ) {
+            hits++;
+            if ( policy == EvictionPolicy.LFU ) {
+                incrementFrequency( key );
+            }
+        } else {
+            misses++;
+        }
+        return ce;
+    }
+
+    private synchronized void put(CacheKey key, CompiledExpression ce) {
+        if ( policy == EvictionPolicy.LRU ) {
+            entries.put( key, ce );
+            return;
+        }
+        if ( entries.containsKey( key ) ) {
+            // another thread compiled the same expression concurrently
+            entries.put( key, ce );
+            return;
+        }
+        if ( entries.size() >= maxSize ) {
+            evictLeastFrequentlyUsed();
+        }
+        entries.put( key, ce );
+        frequencies.put( key, 1 );
+        frequencyBuckets.computeIfAbsent( 1, f -> new LinkedHashSet<>() ).add( key );
+        minFrequency = 1;
+    }
+
+    private void incrementFrequency(CacheKey key) {
+        int frequency = frequencies.get( key );
+        LinkedHashSet<CacheKey> bucket = frequencyBuckets.get( frequency );
+        bucket.remove( key );
+        if ( bucket.isEmpty() ) {
+            frequencyBuckets.remove( frequency );
+            if ( minFrequency == frequency ) {
+                minFrequency++;
+            }
+        }
+        frequencies.put( key, frequency + 1 );
+        frequencyBuckets.computeIfAbsent( frequency + 1, f -> new LinkedHashSet<>() ).add( key );
+    }
+
+    private void evictLeastFrequentlyUsed() {
+        LinkedHashSet<CacheKey> bucket = frequencyBuckets.get( minFrequency );
+        Iterator<CacheKey> it = bucket.iterator();
+        CacheKey victim = it.next();
+        it.remove();
+        if ( bucket.isEmpty() ) {
+            frequencyBuckets.remove( minFrequency );
+        }
+        frequencies.remove( victim );
+        entries.remove( victim );
+        evictions++;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        if ( policy == EvictionPolicy.LFU ) {
+            frequencies.clear();
+            frequencyBuckets.clear();
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public EvictionPolicy getEvictionPolicy() {
+        return policy;
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "CompiledExpressionCache{" +
+               " policy=" + policy +
+               ", size=" + entries.size() +
+               ", maxSize=" + maxSize +
+               ", hits=" + hits +
+               ", misses=" + misses +
+               ", evictions=" + evictions +
+               " }";
+    }
+
+    private static class CacheKey {
+        private final String      expression;
+        private final Set<Object> names;
+        private final int         hashCode;
+
+        public CacheKey(String expression, Map<String, Object> inputVariables) {
+            this.expression = expression;
+            this.names = inputVariables != null ? namesOf( inputVariables, true ) : null;
+            this.hashCode = 31 * expression.hashCode() + (names != null ? names.hashCode() : 0);
+        }
+
+        /**
+         * The parser also defines the names of nested contexts,
+         * so those need to be part of the key as well. The types
+         * of the top level values are inferred by the compiler.
+         */
+        private static Set<Object> namesOf(Map<String, Object> variables, boolean typed) {
+            Set<Object> names = new HashSet<>();
+            variables.forEach( (name, value) -> {
+                if ( value instanceof Map ) {
+                    names.add( Arrays.asList( name, namesOf( (Map<String, Object>) value, false ) ) );
+                } else if ( typed ) {
+                    names.add( Arrays.asList( name, BuiltInType.determineTypeFromInstance( value ) ) );
+                } else {
+                    names.add( name );
+                }
+            } );
+            return names;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if ( this == o ) {
+                return true;
+            }
+            if ( !(o instanceof CacheKey) ) {
+                return false;
+            }
+            CacheKey that = (CacheKey) o;
+            return hashCode == that.hashCode &&
+                   expression.equals( that.expression ) &&
+                   (names != null ? names.equals( that.names ) : that.names == null);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
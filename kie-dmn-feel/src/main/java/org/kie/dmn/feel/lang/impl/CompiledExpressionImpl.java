@@ -17,26 +17,155 @@
 package org.kie.dmn.feel.lang.impl;
 
 import org.kie.dmn.feel.lang.CompiledExpression;
+import org.kie.dmn.feel.lang.EvaluationContext;
 import org.kie.dmn.feel.lang.ast.ASTNode;
+import org.kie.dmn.feel.lang.ast.ASTSerializer;
+import org.kie.dmn.feel.lang.ast.BaseNode;
+import org.kie.dmn.feel.lang.ast.JavaFunctionBinder;
+import org.kie.dmn.feel.lang.ast.SlotResolver;
+import org.kie.dmn.feel.lang.compiler.BytecodeCompiler;
+import org.kie.dmn.feel.lang.compiler.CompiledFEELExpression;
 import org.kie.dmn.feel.lang.types.SymbolTable;
+import org.kie.dmn.feel.runtime.functions.JavaFunctionResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.Map;
 
+/**
+ * A compiled expression that is interpreted, and optionally compiled
+ * into bytecode once it has been evaluated a number of times, see
+ * BytecodeCompiler.THRESHOLD_PROPERTY. The bytecode compilation is
+ * disabled unless a threshold is set.
+ */
 public class CompiledExpressionImpl implements CompiledExpression {
-    private ASTNode     expression;
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger logger = LoggerFactory.getLogger( CompiledExpressionImpl.class );
+
+    // serialized in the compact AST format, see ASTSerializer
+    private transient ASTNode expression;
+
+    // the layout of the global frame the names of the expression were resolved to
+    private final FrameLayout globals;
+
+    // class loaders are not serializable, see FEELObjectInputStream
+    private transient JavaFunctionResolver resolver;
+    private final boolean customResolver;
+
+    private int compilationThreshold = BytecodeCompiler.THRESHOLD;
+
+    private transient volatile CompiledFEELExpression compiled;
+    private transient int     invocations;
+    private transient boolean compilationAttempted;
 
     public CompiledExpressionImpl(ASTNode expression) {
+        this( expression, FrameLayout.EMPTY );
+    }
+
+    public CompiledExpressionImpl(ASTNode expression, FrameLayout globals) {
+        this( expression, globals, JavaFunctionResolver.getDefault() );
+    }
+
+    /**
+     * Creates an expression whose external functions were bound
+     * to the given resolver, see JavaFunctionBinder
+     */
+    public CompiledExpressionImpl(ASTNode expression, FrameLayout globals, JavaFunctionResolver resolver) {
         this.expression = expression;
+        this.globals = globals;
+        this.resolver = resolver;
+        this.customResolver = resolver != JavaFunctionResolver.getDefault();
     }
 
     public ASTNode getExpression() {
         return expression;
     }
 
+    /**
+     * Returns the layout of the global frame the input
+     * variables of this expression were resolved to
+     */
+    public FrameLayout getGlobals() {
+        return globals;
+    }
+
+    /**
+     * Returns the resolver of the Java methods of the
+     * external functions defined by this expression
+     */
+    public JavaFunctionResolver getResolver() {
+        return resolver;
+    }
+
+    /**
+     * Sets how many times this expression is interpreted before it is
+     * compiled into bytecode. A negative value disables the compilation.
+     */
+    public void setCompilationThreshold(int compilationThreshold) {
+        this.compilationThreshold = compilationThreshold;
+    }
+
+    public int getCompilationThreshold() {
+        return compilationThreshold;
+    }
+
+    /**
+     * Returns the bytecode compiled version of this expression,
+     * or null if the expression is still interpreted
+     */
+    public CompiledFEELExpression getCompiledExpression() {
+        return compiled;
+    }
+
     public Object evaluate(Map<String, Object> inputVariables) {
-        EvaluationContextImpl ctx = new EvaluationContextImpl();
-        inputVariables.entrySet().stream().forEach( e -> ctx.setValue( e.getKey(), e.getValue() ) );
+        return evaluate( new EvaluationContextImpl( globals, inputVariables ) );
+    }
+
+    public Object evaluate(EvaluationContext ctx) {
+        CompiledFEELExpression ce = compiled;
+        if ( ce != null ) {
+            return ce.evaluate( ctx );
+        }
+        // the counter is not synchronized, as missing a few invocations is harmless
+        if ( compilationThreshold >= 0 && ++invocations >= compilationThreshold && !compilationAttempted ) {
+            compile();
+        }
         return expression.evaluate( ctx );
     }
 
+    private synchronized void compile() {
+        if ( compilationAttempted ) {
+            return;
+        }
+        compilationAttempted = true;
+        try {
+            compiled = BytecodeCompiler.compile( (BaseNode) expression, globals );
+        } catch ( RuntimeException | LinkageError e ) {
+            // keeps interpreting the expression
+            logger.debug( "Unable to compile the expression '" + expression.getText() + "' into bytecode", e );
+        }
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        ASTSerializer.write( expression, out );
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        BaseNode expr = new SlotResolver( globals ).resolve( ASTSerializer.read( in ) );
+        resolver = in instanceof FEELObjectInputStream ? ((FEELObjectInputStream) in).getResolver() : JavaFunctionResolver.getDefault();
+        if ( resolver != JavaFunctionResolver.getDefault() ) {
+            expr = new JavaFunctionBinder( resolver ).bind( expr );
+        } else if ( customResolver ) {
+            logger.warn( "The expression '" + expr.getText() + "' was compiled with its own class loader, but it is read without one: " +
+                         "its external functions are resolved with the default class loader. Read it with a FEELObjectInputStream instead." );
+        }
+        expression = expr;
+    }
+
 }
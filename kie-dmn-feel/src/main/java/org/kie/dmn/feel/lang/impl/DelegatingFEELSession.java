@@ -0,0 +1,58 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.dmn.feel.lang.impl;
+
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.CompiledExpression;
+import org.kie.dmn.feel.lang.FEELSession;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A session that evaluates each expression with
+ * FEEL.evaluate(CompiledExpression, Map), for the FEEL
+ * implementations that do not provide their own sessions.
+ */
+public class DelegatingFEELSession
+        implements FEELSession {
+
+    private final FEEL feel;
+
+    private Map<String, Object> inputVariables;
+
+    public DelegatingFEELSession(FEEL feel, Map<String, Object> inputVariables) {
+        this.feel = feel;
+        reset( inputVariables );
+    }
+
+    @Override
+    public Object evaluate(CompiledExpression expression) {
+        return feel.evaluate( expression, inputVariables );
+    }
+
+    @Override
+    public void reset(Map<String, Object> inputVariables) {
+        this.inputVariables = inputVariables != null ? inputVariables : Collections.emptyMap();
+    }
+
+    @Override
+    public Map<String, Object> getInputVariables() {
+        return inputVariables;
+    }
+}
@@ -17,48 +17,112 @@
 package org.kie.dmn.feel.lang.impl;
 
 import org.kie.dmn.feel.lang.EvaluationContext;
-import org.kie.dmn.feel.runtime.functions.BuiltInFunctions;
-import org.kie.dmn.feel.runtime.FEELFunction;
 
-import java.util.Stack;
+import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.Map;
 
+/**
+ * The evaluation context of an expression. The frames are kept in an
+ * unsynchronized array, and the frames entered by the expression itself
+ * are recycled: each nesting depth reuses the same frame, so evaluating a
+ * filter or an iteration does not allocate a frame per element. A context
+ * must not be shared by concurrent evaluations.
+ */
 public class EvaluationContextImpl implements EvaluationContext {
 
-    private       Stack<ExecutionFrame> stack;
+    private static final int INITIAL_DEPTH = 8;
+
+    private ExecutionFrame[] stack    = new ExecutionFrame[INITIAL_DEPTH];
+    // the frames created by enterFrame(), indexed by depth
+    private ExecutionFrame[] recycled = new ExecutionFrame[INITIAL_DEPTH];
+    private int              size;
 
     public EvaluationContextImpl() {
-        this.stack = new Stack<>();
-        // we create a rootFrame to hold all the built in functions
-        ExecutionFrame rootFrame = new ExecutionFrame( null );
-        for( FEELFunction f : BuiltInFunctions.getFunctions() ) {
-            rootFrame.setValue( f.getName(), f );
-        }
-        push( rootFrame );
+        this( FrameLayout.EMPTY );
+    }
+
+    /**
+     * Creates a context whose global frame stores the given
+     * variables in slots
+     */
+    public EvaluationContextImpl(FrameLayout globals) {
+        this( globals, null );
+    }
+
+    /**
+     * Creates a context whose global frame reads through the given
+     * input variables, without copying them. The variables set in the
+     * global frame during the evaluation do not modify the given map.
+     */
+    public EvaluationContextImpl(FrameLayout globals, Map<String, ? extends Object> inputVariables) {
+        // the root frame holding the built in functions is shared
+        push( ExecutionFrame.BUILT_INS );
         // and then create a global frame to be the starting frame
         // for function evaluation
-        ExecutionFrame global = new ExecutionFrame( rootFrame );
-        push( global );
+        push( new ExecutionFrame( ExecutionFrame.BUILT_INS, globals, inputVariables ) );
     }
 
     public void push(ExecutionFrame obj) {
-        stack.push( obj );
+        if ( size == stack.length ) {
+            stack = Arrays.copyOf( stack, size * 2 );
+        }
+        stack[size++] = obj;
     }
 
     public ExecutionFrame pop() {
-        return stack.pop();
+        if ( size == 0 ) {
+            throw new EmptyStackException();
+        }
+        ExecutionFrame frame = stack[--size];
+        stack[size] = null;
+        return frame;
     }
 
     public ExecutionFrame peek() {
-        return stack.peek();
+        if ( size == 0 ) {
+            throw new EmptyStackException();
+        }
+        return stack[size - 1];
+    }
+
+    /**
+     * Returns the frame at the given depth, the root frame being at depth 0
+     */
+    public ExecutionFrame getFrame(int depth) {
+        if ( depth >= size ) {
+            throw new IndexOutOfBoundsException( "No frame at depth " + depth + ", the depth of the stack is " + size );
+        }
+        return stack[depth];
+    }
+
+    public int getDepth() {
+        return size;
     }
 
-    public Stack<ExecutionFrame> getStack() {
-        return this.stack;
+    /**
+     * Replaces the global frame, discarding all the frames above it
+     */
+    void setGlobalFrame(ExecutionFrame global) {
+        while ( size > 2 ) {
+            pop();
+        }
+        stack[1] = global;
     }
 
     @Override
     public void enterFrame() {
-        push( new ExecutionFrame( peek() /*, symbols, scope*/ ) );
+        if ( size >= recycled.length ) {
+            recycled = Arrays.copyOf( recycled, Math.max( size + 1, recycled.length * 2 ) );
+        }
+        ExecutionFrame frame = recycled[size];
+        if ( frame == null ) {
+            frame = new ExecutionFrame( peek() );
+            recycled[size] = frame;
+        } else {
+            frame.reset( peek() );
+        }
+        push( frame );
     }
 
     @Override
@@ -76,6 +140,32 @@ public class EvaluationContextImpl implements EvaluationContext {
         return peek().getValue( name );
     }
 
+    /**
+     * Returns the value of a slot of the root frame (frame 0) or of the
+     * global frame (frame 1), or ExecutionFrame.UNSET when the slot can
+     * not be used: the global frame does not have the given layout, or
+     * the slot was not set, or the built-in function is shadowed by a
+     * global variable.
+     */
+    public Object getSlotValue(FrameLayout globals, int frame, int slot) {
+        if ( size < 2 ) {
+            return ExecutionFrame.UNSET;
+        }
+        ExecutionFrame global = stack[1];
+        if ( global.getLayout() != globals ) {
+            return ExecutionFrame.UNSET;
+        }
+        if ( frame == 1 ) {
+            return global.getSlotValue( slot );
+        }
+        // the names of the built-ins are normalized, so the inputs shadowing
+        // them are found without normalizing the names of all the inputs
+        if ( global.definesNormalized( FrameLayout.BUILT_INS.getName( slot ) ) ) {
+            return ExecutionFrame.UNSET;
+        }
+        return ExecutionFrame.BUILT_INS.getSlotValue( slot );
+    }
+
     @Override
     public Object getValue(String[] name) {
         return peek().getValue( name );
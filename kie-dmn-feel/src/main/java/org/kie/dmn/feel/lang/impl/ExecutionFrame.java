@@ -16,18 +16,89 @@
 
 package org.kie.dmn.feel.lang.impl;
 
+import org.kie.dmn.feel.runtime.FEELFunction;
+import org.kie.dmn.feel.runtime.functions.BuiltInFunctions;
 import org.kie.dmn.feel.util.EvalHelper;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * A scope of variables. The variables named by the layout of the frame
+ * are stored in slots, the others in a map created on first use. A frame
+ * can also read through a map of bindings owned by the caller, that is
+ * never copied nor modified: variables set in the frame hide the bindings
+ * with the same name.
+ */
 public class ExecutionFrame {
+    /**
+     * The value of a slot that was not set
+     */
+    public static final Object UNSET = new Object() {
+        @Override
+        public String toString() {
+            return "UNSET";
+        }
+    };
+
+    /**
+     * The root frame holding the built-in functions, shared by all
+     * the evaluation contexts. This frame can not be modified.
+     */
+    public static final ExecutionFrame BUILT_INS = newBuiltInsFrame();
+
+    private static final Object[] NO_SLOTS = new Object[0];
+
     private ExecutionFrame parentFrame;
 
-    private Map<String, Object> variables = new HashMap<>();
+    private final FrameLayout layout;
+    private final Object[]    slots;
+    private final boolean     readOnly;
+
+    private final Map<String, ? extends Object> bindings;
+    // the normalized names of the bindings whose keys are not normalized,
+    // computed the first time a name is not found in the bindings
+    private Map<String, String> renamedBindings;
+
+    private Map<String, Object> variables;
 
     public ExecutionFrame(ExecutionFrame parentFrame) {
+        this( parentFrame, FrameLayout.EMPTY );
+    }
+
+    public ExecutionFrame(ExecutionFrame parentFrame, FrameLayout layout) {
+        this( parentFrame, layout, null );
+    }
+
+    /**
+     * Creates a frame reading through the given bindings, or
+     * an empty frame if bindings is null
+     */
+    public ExecutionFrame(ExecutionFrame parentFrame, FrameLayout layout, Map<String, ? extends Object> bindings) {
         this.parentFrame = parentFrame;
+        this.layout = layout;
+        this.slots = layout.size() > 0 ? new Object[layout.size()] : NO_SLOTS;
+        this.bindings = bindings;
+        this.readOnly = false;
+        Arrays.fill( slots, UNSET );
+    }
+
+    private ExecutionFrame(FrameLayout layout, Object[] slots) {
+        this.layout = layout;
+        this.slots = slots;
+        this.bindings = null;
+        this.readOnly = true;
+    }
+
+    private static ExecutionFrame newBuiltInsFrame() {
+        FrameLayout layout = FrameLayout.BUILT_INS;
+        Object[] slots = new Object[layout.size()];
+        for ( FEELFunction f : BuiltInFunctions.getFunctions() ) {
+            slots[layout.indexOf( EvalHelper.normalizeVariableName( f.getName() ) )] = f;
+        }
+        return new ExecutionFrame( layout, slots );
     }
 
     public ExecutionFrame getParentFrame() {
@@ -35,25 +106,140 @@ public class ExecutionFrame {
     }
 
     public void setParentFrame(ExecutionFrame parentFrame) {
+        checkWritable();
         this.parentFrame = parentFrame;
     }
 
-    public Object getValue(String symbol) {
-        symbol = EvalHelper.normalizeVariableName( symbol );
-        if ( variables.containsKey( symbol ) ) {
-            return variables.get( symbol );
+    /**
+     * Clears the variables of this frame so it can be reused
+     */
+    void reset(ExecutionFrame parentFrame) {
+        checkWritable();
+        this.parentFrame = parentFrame;
+        if ( slots.length > 0 ) {
+            Arrays.fill( slots, UNSET );
+        }
+        if ( variables != null ) {
+            variables.clear();
+        }
+    }
+
+    public FrameLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Returns the value of the given slot of this frame, or UNSET
+     */
+    public Object getSlotValue(int slot) {
+        Object value = slots[slot];
+        if ( value == UNSET && bindings != null ) {
+            return getBinding( layout.getName( slot ) );
         }
-        if ( parentFrame != null ) {
-            return parentFrame.getValue( symbol );
+        return value;
+    }
+
+    /**
+     * Returns true if this frame, not considering its parents,
+     * defines the given normalized name
+     */
+    public boolean defines(String symbol) {
+        int slot = layout.indexOf( symbol );
+        if ( slot >= 0 && slots[slot] != UNSET ) {
+            return true;
+        }
+        if ( variables != null && variables.containsKey( symbol ) ) {
+            return true;
+        }
+        return bindings != null && getBinding( symbol ) != UNSET;
+    }
+
+    /**
+     * Returns true if this frame, not considering its parents, defines
+     * the given normalized name under that exact name. Unlike defines(),
+     * the keys of the bindings are never scanned, so the cost does not
+     * depend on the number of bindings.
+     */
+    boolean definesNormalized(String symbol) {
+        int slot = layout.indexOf( symbol );
+        if ( slot >= 0 && slots[slot] != UNSET ) {
+            return true;
+        }
+        if ( variables != null && variables.containsKey( symbol ) ) {
+            return true;
+        }
+        return bindings != null && bindings.containsKey( symbol );
+    }
+
+    public Object getValue(String symbol) {
+        return getNormalizedValue( EvalHelper.normalizeVariableName( symbol ) );
+    }
+
+    private Object getNormalizedValue(String symbol) {
+        for ( ExecutionFrame frame = this; frame != null; frame = frame.parentFrame ) {
+            int slot = frame.layout.indexOf( symbol );
+            if ( slot >= 0 && frame.slots[slot] != UNSET ) {
+                return frame.slots[slot];
+            }
+            if ( frame.variables != null && frame.variables.containsKey( symbol ) ) {
+                return frame.variables.get( symbol );
+            }
+            if ( frame.bindings != null ) {
+                Object value = frame.getBinding( symbol );
+                if ( value != UNSET ) {
+                    return value;
+                }
+            }
         }
         return null;
     }
 
+    private Object getBinding(String symbol) {
+        Object value = bindings.get( symbol );
+        if ( value != null || bindings.containsKey( symbol ) ) {
+            return value;
+        }
+        if ( renamedBindings == null ) {
+            renamedBindings = renamedBindingsOf( bindings );
+        }
+        String key = renamedBindings.get( symbol );
+        return key != null ? bindings.get( key ) : UNSET;
+    }
+
+    private static Map<String, String> renamedBindingsOf(Map<String, ?> bindings) {
+        Map<String, String> renamed = Collections.emptyMap();
+        for ( String key : bindings.keySet() ) {
+            if ( key != null && !EvalHelper.isNormalizedVariableName( key ) ) {
+                if ( renamed.isEmpty() ) {
+                    renamed = new HashMap<>();
+                }
+                renamed.put( EvalHelper.normalizeVariableName( key ), key );
+            }
+        }
+        return renamed;
+    }
+
     public Object getValue(String[] symbol) {
         return null;
     }
 
     public void setValue(String symbol, Object value) {
-        this.variables.put( EvalHelper.normalizeVariableName( symbol ), value );
+        checkWritable();
+        symbol = EvalHelper.normalizeVariableName( symbol );
+        int slot = layout.indexOf( symbol );
+        if ( slot >= 0 ) {
+            slots[slot] = value;
+        } else {
+            if ( variables == null ) {
+                variables = new HashMap<>();
+            }
+            variables.put( symbol, value );
+        }
+    }
+
+    private void checkWritable() {
+        if ( readOnly ) {
+            throw new UnsupportedOperationException( "The frame of the built-in functions can not be modified" );
+        }
     }
 }
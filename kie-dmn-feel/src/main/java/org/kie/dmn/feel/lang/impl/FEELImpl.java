@@ -20,13 +20,27 @@ import org.antlr.v4.runtime.tree.ParseTree;
 import org.kie.dmn.feel.FEEL;
 import org.kie.dmn.feel.lang.CompiledExpression;
 import org.kie.dmn.feel.lang.CompilerContext;
+import org.kie.dmn.feel.lang.FEELSession;
+import org.kie.dmn.feel.lang.Type;
 import org.kie.dmn.feel.lang.ast.BaseNode;
+import org.kie.dmn.feel.lang.ast.ConstantFolder;
+import org.kie.dmn.feel.lang.ast.JavaFunctionBinder;
+import org.kie.dmn.feel.lang.ast.SlotResolver;
+import org.kie.dmn.feel.lang.ast.TypeInferrer;
+import org.kie.dmn.feel.lang.compiler.CompiledFEELExpression;
+import org.kie.dmn.feel.lang.types.BuiltInType;
 import org.kie.dmn.feel.parser.feel11.ASTBuilderVisitor;
 import org.kie.dmn.feel.parser.feel11.FEELParser;
-import org.kie.dmn.feel.parser.feel11.FEEL_1_1Parser;
+import org.kie.dmn.feel.runtime.functions.JavaFunctionResolver;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Language runtime entry point
@@ -36,17 +50,58 @@ public class FEELImpl
 
     private static final Map<String,Object> EMPTY_INPUT = Collections.emptyMap();
 
+    private final CompiledExpressionCache cache;
+    private final JavaFunctionResolver    resolver;
+
+    public FEELImpl() {
+        this( new CompiledExpressionCache() );
+    }
+
+    /**
+     * Creates a FEEL engine that caches the expressions compiled
+     * by the string based evaluate() methods in the given cache.
+     *
+     * @param cache the cache to use or null to disable caching
+     */
+    public FEELImpl(CompiledExpressionCache cache) {
+        this( cache, JavaFunctionResolver.getDefault() );
+    }
+
+    /**
+     * Creates a FEEL engine that resolves the Java methods of external
+     * functions with the given resolver.
+     *
+     * @param cache the cache to use or null to disable caching
+     * @param resolver the resolver of the external Java functions
+     */
+    public FEELImpl(CompiledExpressionCache cache, JavaFunctionResolver resolver) {
+        this.cache = cache;
+        this.resolver = resolver;
+    }
+
+    /**
+     * Returns the compiled expression cache used by this engine
+     * or null if caching is disabled for this engine.
+     */
+    public CompiledExpressionCache getExpressionCache() {
+        return cache;
+    }
+
     public CompilerContext newCompilerContext() {
         return new CompilerContextImpl();
     }
 
     public CompiledExpression compile(String expression, CompilerContext ctx) {
-        FEEL_1_1Parser parser = FEELParser.parse( expression, ctx.getInputVariableTypes(), ctx.getInputVariables() );
-        ParseTree tree = parser.compilation_unit();
-        ASTBuilderVisitor v = new ASTBuilderVisitor();
-        BaseNode expr = v.visit( tree );
-        CompiledExpression ce = new CompiledExpressionImpl( expr );
-        return ce;
+        ParseTree tree = FEELParser.parseCompilationUnit( expression, ctx.getInputVariableTypes(), ctx.getInputVariables() );
+        return new ExpressionCompiler( ctx, resolver ).compile( tree );
+    }
+
+    @Override
+    public List<CompiledExpression> compileAll(Collection<String> expressions, CompilerContext ctx) {
+        ExpressionCompiler compiler = new ExpressionCompiler( ctx, resolver );
+        List<CompiledExpression> compiled = new ArrayList<>( expressions.size() );
+        FEELParser.parseCompilationUnits( expressions, ctx.getInputVariableTypes(), ctx.getInputVariables(), tree -> compiled.add( compiler.compile( tree ) ) );
+        return compiled;
     }
 
     public Object evaluate(String expression) {
@@ -54,17 +109,80 @@ public class FEELImpl
     }
 
     public Object evaluate(String expression, Map<String, Object> inputVariables) {
+        CompiledExpression expr = cache != null ?
+                                  cache.computeIfAbsent( expression, inputVariables, () -> compile( expression, inputVariables ) ) :
+                                  compile( expression, inputVariables );
+        return evaluate( expr, inputVariables );
+    }
+
+    private CompiledExpression compile(String expression, Map<String, Object> inputVariables) {
         CompilerContext ctx = newCompilerContext();
         if ( inputVariables != null ) {
             inputVariables.entrySet().stream().forEach( e -> ctx.addInputVariable( e.getKey(), e.getValue() ) );
         }
-        CompiledExpression expr = compile( expression, ctx );
-        return evaluate( expr, inputVariables );
+        return compile( expression, ctx );
     }
 
     public Object evaluate(CompiledExpression expr, Map<String, Object> inputVariables) {
-        return ((CompiledExpressionImpl) expr).evaluate( inputVariables );
+        if ( expr instanceof CompiledFEELExpression ) {
+            return ((CompiledFEELExpression) expr).evaluate( inputVariables );
+        }
+        if ( expr instanceof CompiledExpressionImpl ) {
+            return ((CompiledExpressionImpl) expr).evaluate( inputVariables );
+        }
+        throw new IllegalArgumentException( "The expression " + expr + " was not compiled by this FEEL engine" );
+    }
+
+    @Override
+    public FEELSession newSession(Map<String, Object> inputVariables) {
+        return new FEELSessionImpl( this, inputVariables );
     }
 
+    /**
+     * Builds the AST of the parse trees and runs the compile time
+     * passes on it, for any number of expressions compiled with
+     * the same compiler context
+     */
+    private static class ExpressionCompiler {
+        private final ASTBuilderVisitor    builder = new ASTBuilderVisitor();
+        private final Set<String>          inputNames;
+        private final Map<String, Type>    inputTypes;
+        // shared by all the expressions compiled with the same context
+        private final FrameLayout          globals;
+        private final JavaFunctionResolver resolver;
 
+        private ExpressionCompiler(CompilerContext ctx, JavaFunctionResolver resolver) {
+            inputNames = new HashSet<>( ctx.getInputVariableTypes().keySet() );
+            inputNames.addAll( ctx.getInputVariables().keySet() );
+            inputTypes = inputTypesOf( ctx );
+            globals = FrameLayout.of( inputNames );
+            this.resolver = resolver;
+        }
+
+        private CompiledExpression compile(ParseTree tree) {
+            BaseNode expr = builder.visit( tree );
+            expr = new ConstantFolder( inputNames ).fold( expr );
+            expr = new TypeInferrer( inputTypes ).infer( expr );
+            expr = new SlotResolver( globals ).resolve( expr );
+            if ( resolver != JavaFunctionResolver.getDefault() ) {
+                expr = new JavaFunctionBinder( resolver ).bind( expr );
+            }
+            return new CompiledExpressionImpl( expr, globals, resolver );
+        }
+
+        /**
+         * The declared input types, refined by the types of the
+         * input values whenever those are known at compile time
+         */
+        private static Map<String, Type> inputTypesOf(CompilerContext ctx) {
+            Map<String, Type> types = new HashMap<>( ctx.getInputVariableTypes() );
+            ctx.getInputVariables().forEach( (name, value) -> {
+                Type type = BuiltInType.determineTypeFromInstance( value );
+                if ( type != BuiltInType.UNKNOWN ) {
+                    types.put( name, type );
+                }
+            } );
+            return types;
+        }
+    }
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.dmn.feel.lang.impl;
+
+import org.kie.dmn.feel.runtime.functions.JavaFunctionResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+
+/**
+ * An object input stream for compiled expressions that were compiled by
+ * an engine with its own class loader, see FEEL.newInstance(ClassLoader).
+ *
+ * The resolver of the external functions of an expression is not
+ * serialized with it, so the expressions read from this stream resolve
+ * their external functions with the given resolver instead.
+ */
+public class FEELObjectInputStream
+        extends ObjectInputStream {
+
+    private final JavaFunctionResolver resolver;
+
+    public FEELObjectInputStream(InputStream in, JavaFunctionResolver resolver) throws IOException {
+        super( in );
+        this.resolver = resolver;
+    }
+
+    public FEELObjectInputStream(InputStream in, ClassLoader classLoader) throws IOException {
+        this( in, new JavaFunctionResolver( classLoader ) );
+    }
+
+    public JavaFunctionResolver getResolver() {
+        return resolver;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.impl;
+
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.CompiledExpression;
+import org.kie.dmn.feel.lang.FEELSession;
+import org.kie.dmn.feel.lang.compiler.CompiledFEELExpression;
+
+import java.util.Collections;
+import java.util.Map;
+
+public class FEELSessionImpl
+        implements FEELSession {
+
+    private final FEEL                  feel;
+    private final EvaluationContextImpl ctx = new EvaluationContextImpl();
+
+    private Map<String, Object> inputVariables;
+    // the global frame of the last evaluated expression, reused by the
+    // next expressions compiled with the same input variables
+    private ExecutionFrame      global;
+
+    public FEELSessionImpl(FEEL feel, Map<String, Object> inputVariables) {
+        this.feel = feel;
+        reset( inputVariables );
+    }
+
+    @Override
+    public Object evaluate(CompiledExpression expression) {
+        if ( expression instanceof CompiledExpressionImpl ) {
+            return ((CompiledExpressionImpl) expression).evaluate( bind( ((CompiledExpressionImpl) expression).getGlobals() ) );
+        } else if ( expression instanceof CompiledFEELExpression ) {
+            return ((CompiledFEELExpression) expression).evaluate( bind( ((CompiledFEELExpression) expression).getGlobals() ) );
+        }
+        // compiled by another implementation, that evaluates it
+        return feel.evaluate( expression, inputVariables );
+    }
+
+    private EvaluationContextImpl bind(FrameLayout globals) {
+        if ( global.getLayout() != globals ) {
+            global = new ExecutionFrame( ExecutionFrame.BUILT_INS, globals, inputVariables );
+        }
+        ctx.setGlobalFrame( global );
+        return ctx;
+    }
+
+    @Override
+    public void reset(Map<String, Object> inputVariables) {
+        this.inputVariables = inputVariables != null ? inputVariables : Collections.emptyMap();
+        this.global = new ExecutionFrame( ExecutionFrame.BUILT_INS, FrameLayout.EMPTY, this.inputVariables );
+        ctx.setGlobalFrame( global );
+    }
+
+    @Override
+    public Map<String, Object> getInputVariables() {
+        return inputVariables;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.impl;
+
+import org.kie.dmn.feel.runtime.FEELFunction;
+import org.kie.dmn.feel.runtime.functions.BuiltInFunctions;
+import org.kie.dmn.feel.util.EvalHelper;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The names of the variables stored in the slots of an ExecutionFrame.
+ *
+ * Names known at compile time, the input variables and the built-in
+ * functions, are resolved to a slot of the frame defining them, so
+ * that reading them does not require normalizing and hashing the
+ * name. Layouts are immutable and compared by identity.
+ */
+public final class FrameLayout
+        implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final FrameLayout EMPTY     = new FrameLayout( new String[0] );
+    public static final FrameLayout BUILT_INS = of( Arrays.stream( BuiltInFunctions.getFunctions() ).map( FEELFunction::getName ).toArray( String[]::new ) );
+
+    private final String[] names;
+
+    private transient Map<String, Integer> indexes;
+
+    private FrameLayout(String[] names) {
+        this.names = names;
+        this.indexes = indexesOf( names );
+    }
+
+    /**
+     * Creates a layout for the given names, in the given order
+     * and without duplicates once normalized
+     */
+    public static FrameLayout of(String... names) {
+        return of( Arrays.asList( names ) );
+    }
+
+    public static FrameLayout of(Collection<String> names) {
+        if ( names.isEmpty() ) {
+            return EMPTY;
+        }
+        Set<String> normalized = new LinkedHashSet<>();
+        for ( String name : names ) {
+            normalized.add( EvalHelper.normalizeVariableName( name ) );
+        }
+        return new FrameLayout( normalized.toArray( new String[normalized.size()] ) );
+    }
+
+    /**
+     * Returns the slot of the given normalized name, or -1
+     * if the name is not part of this layout
+     */
+    public int indexOf(String name) {
+        Integer index = indexes.get( name );
+        return index != null ? index : -1;
+    }
+
+    public String getName(int index) {
+        return names[index];
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    private static Map<String, Integer> indexesOf(String[] names) {
+        Map<String, Integer> indexes = new HashMap<>( names.length * 2 );
+        for ( int i = 0; i < names.length; i++ ) {
+            indexes.put( names[i], i );
+        }
+        return indexes;
+    }
+
+    private Object readResolve() {
+        if ( names.length == 0 ) {
+            return EMPTY;
+        }
+        indexes = indexesOf( names );
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "FrameLayout" + Arrays.toString( names );
+    }
+}
@@ -21,6 +21,7 @@ import org.antlr.v4.runtime.Token;
 import org.kie.dmn.feel.parser.feel11.FEEL_1_1Lexer;
 import org.kie.dmn.feel.lang.Scope;
 import org.kie.dmn.feel.lang.Symbol;
+import org.kie.dmn.feel.util.BoundedConcurrentCache;
 import org.kie.dmn.feel.util.EvalHelper;
 import org.kie.dmn.feel.util.TokenTree;
 
@@ -29,6 +30,13 @@ import java.util.*;
 public class ScopeImpl
         implements Scope {
 
+    // the tokens of each symbol name are computed once and shared by all
+    // scopes, as the same names are defined over and over for every parse.
+    // The least recently used names are evicted, so that names generated
+    // dynamically do not grow the cache without bounds.
+    private static final int                                          TOKENIZED_SYMBOLS_MAX_SIZE = 10000;
+    private static final BoundedConcurrentCache<String, List<String>> TOKENIZED_SYMBOLS          = new BoundedConcurrentCache<>( TOKENIZED_SYMBOLS_MAX_SIZE );
+
     private String name;
     private Scope  parentScope;
 
@@ -48,6 +56,19 @@ public class ScopeImpl
         }
     }
 
+    /**
+     * Creates a scope defining the same symbols as the given scope, that
+     * shares its token tree until another symbol is defined. The given
+     * scope must not be modified any more.
+     */
+    public ScopeImpl(ScopeImpl prototype, Scope parentScope) {
+        this( prototype.name, parentScope );
+        symbols.putAll( prototype.symbols );
+        if ( prototype.tokenTree != null ) {
+            tokenTree = new TokenTree( prototype.tokenTree );
+        }
+    }
+
     public String getName() {
         return name;
     }
@@ -127,7 +148,7 @@ public class ScopeImpl
         return this.tokenTree.followUp( token, !isPredict ) || parent;
     }
 
-    private void initializeTokenTree() {
+    void initializeTokenTree() {
         tokenTree = new TokenTree();
         for( String symbol : symbols.keySet() ) {
             List<String> tokens = tokenize( symbol );
@@ -135,7 +156,11 @@ public class ScopeImpl
         }
     }
 
-    private List<String> tokenize(String symbol) {
+    static List<String> tokenize(String symbol) {
+        return TOKENIZED_SYMBOLS.computeIfAbsent( symbol, s -> Collections.unmodifiableList( lex( s ) ) );
+    }
+
+    private static List<String> lex(String symbol) {
         ANTLRInputStream input = new ANTLRInputStream(symbol);
         FEEL_1_1Lexer lexer = new FEEL_1_1Lexer( input );
         List<String> tokens = new ArrayList<>(  );
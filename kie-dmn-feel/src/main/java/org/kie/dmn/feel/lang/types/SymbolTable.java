@@ -22,19 +22,37 @@ import org.kie.dmn.feel.runtime.functions.BuiltInFunctions;
 import java.util.stream.Stream;
 
 public class SymbolTable {
-    private Scope builtInScope = new ScopeImpl( Scope.BUILT_IN, null );
+    // the built in functions and types, and their token tree, are loaded
+    // once and copied into the built-in scope of every symbol table
+    private static final ScopeImpl BUILT_INS = newBuiltInScope();
+
+    private final Scope builtInScope;
+    private final Scope globalScope;
 
     public SymbolTable() {
-        init();
+        builtInScope = new ScopeImpl( BUILT_INS, null );
+        // the following automatically adds the GLOBAL scope as a child to the built-in scope
+        globalScope = new ScopeImpl( Scope.GLOBAL, builtInScope );
     }
 
-    private void init() {
-        // the following automatically adds the GLOBAL scope as a child to the built-in scope
-        new ScopeImpl( Scope.GLOBAL, builtInScope );
+    /**
+     * Creates a symbol table with a new global scope, that shares
+     * the built-in scope of the given symbol table instead of loading
+     * the built in functions and types again. The tables must not be
+     * used concurrently.
+     */
+    public SymbolTable(SymbolTable builtIns) {
+        builtInScope = builtIns.builtInScope;
+        globalScope = new ScopeImpl( Scope.GLOBAL, builtInScope );
+    }
 
-        // pre-loads all the built in functions and types
-        Stream.of( BuiltInFunctions.getFunctions() ).forEach( f -> builtInScope.define( f.getSymbol() ) );
-        Stream.of( BuiltInType.values() ).forEach( t -> builtInScope.define( t.getSymbol() ) );
+    private static ScopeImpl newBuiltInScope() {
+        ScopeImpl scope = new ScopeImpl( Scope.BUILT_IN, null );
+        Stream.of( BuiltInFunctions.getFunctions() ).forEach( f -> scope.define( f.getSymbol() ) );
+        Stream.of( BuiltInType.values() ).forEach( t -> scope.define( t.getSymbol() ) );
+        // built now, as the copies share it
+        scope.initializeTokenTree();
+        return scope;
     }
 
     public Scope getBuiltInScope() {
@@ -42,6 +60,6 @@ public class SymbolTable {
     }
 
     public Scope getGlobalScope() {
-        return builtInScope.getChildScopes().get( Scope.GLOBAL );
+        return globalScope;
     }
 }
@@ -17,13 +17,46 @@
 package org.kie.dmn.feel.parser.feel11;
 
 import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.antlr.v4.runtime.tree.ParseTree;
 import org.kie.dmn.feel.lang.Type;
+import org.kie.dmn.feel.lang.types.SymbolTable;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 public class FEELParser {
 
+    private static final ThreadLocal<ReusableParser> REUSABLE_PARSER = ThreadLocal.withInitial( ReusableParser::new );
+
+    private static final AtomicBoolean WARMED_UP = new AtomicBoolean( false );
+
+    private static final String[] WARM_UP_EXPRESSIONS = new String[]{
+            "10 + -5.5 * 3 ** 2 / 4 - x",
+            "\"foo\" + \"bar\" = \"foobar\" and not( false ) or null != true",
+            "first name < \"x\" and applicant.monthly income >= 10",
+            "x between 10 and 20",
+            "x in ( <=1000, >t, null, (2000..z[, ]z..2000], [(10+5)..(a*b)), - )",
+            "[ 1, 2, 3 ][ item > 1 ].size",
+            "[ {x:1, y:2}, {x:2, y:3} ][ x=1 ].y",
+            "{ a value : 10, a function : function( a, b ) a + b, a result : a function( a value, 2 ) }",
+            "{ cos : function( angle ) external { java : { class : \"java.lang.Math\", method signature : \"cos(double)\" } } }",
+            "for i in [1..3], j in [ 4, 5 ] return i * j",
+            "some i in [ 1, 2 ] satisfies i > 1",
+            "every i in [ 1, 2 ] satisfies i > 1",
+            "if x > 10 then \"big\" else \"small\"",
+            "\"foo\" instance of string",
+            "date and time( date( \"2016-07-29\" ), time( \"19:47:53\" ) ) + duration( \"P1D\" )",
+            "substring( string : \"foo\", start position : 2 )",
+            "decision table( outputs: \"out\", input expression list: [ \"a\" ], rule list: [ [ >60, \"high\" ] ], hit policy: \"Unique\" )"
+    };
+
+
     public static FEEL_1_1Parser parse(String source, Map<String, Type> inputVariableTypes, Map<String, Object> inputVariables) {
         ANTLRInputStream input = new ANTLRInputStream(source);
         FEEL_1_1Lexer lexer = new FEEL_1_1Lexer( input );
@@ -36,6 +69,94 @@ public class FEELParser {
         return parser;
     }
 
+    /**
+     * Parses the given source as a compilation unit using a two-stage
+     * strategy: the expression is first parsed with the faster SLL
+     * prediction mode, bailing out on the first syntax error. Only if
+     * that fails, the expression is parsed again with full LL prediction
+     * and the regular error recovery, so any errors are reported exactly
+     * as they would be by a full LL parse.
+     *
+     * The lexer and parser instances used are reused by the calling
+     * thread, so the returned parse tree must be consumed before the
+     * same thread parses another expression.
+     */
+    public static ParseTree parseCompilationUnit(String source, Map<String, Type> inputVariableTypes, Map<String, Object> inputVariables) {
+        ReusableParser reusable = acquireParser();
+        try {
+            return parseCompilationUnit( reusable, source, inputVariableTypes, inputVariables, null );
+        } finally {
+            reusable.inUse = false;
+        }
+    }
+
+    /**
+     * Parses each of the given sources as a compilation unit, as
+     * parseCompilationUnit() does, and passes the resulting parse
+     * trees to the given consumer in order. The same lexer and parser
+     * are used for the whole batch, and the built-in symbols are only
+     * loaded once.
+     */
+    public static void parseCompilationUnits(Collection<String> sources, Map<String, Type> inputVariableTypes, Map<String, Object> inputVariables, Consumer<ParseTree> consumer) {
+        ReusableParser reusable = acquireParser();
+        try {
+            SymbolTable builtIns = new SymbolTable();
+            for ( String source : sources ) {
+                consumer.accept( parseCompilationUnit( reusable, source, inputVariableTypes, inputVariables, builtIns ) );
+            }
+        } finally {
+            reusable.inUse = false;
+        }
+    }
+
+    private static ReusableParser acquireParser() {
+        ReusableParser reusable = REUSABLE_PARSER.get();
+        if ( reusable.inUse ) {
+            // re-entrant call, so do not touch the instance in use
+            reusable = new ReusableParser();
+        }
+        reusable.inUse = true;
+        return reusable;
+    }
+
+    private static ParseTree parseCompilationUnit(ReusableParser reusable, String source, Map<String, Type> inputVariableTypes, Map<String, Object> inputVariables, SymbolTable builtIns) {
+        FEEL_1_1Parser parser = reusable.reset( source, PredictionMode.SLL, newHelper( builtIns ) );
+        defineVariables( inputVariableTypes, inputVariables, parser );
+        try {
+            return parser.compilation_unit();
+        } catch ( ParseCancellationException e ) {
+            // the parser helper state might have been left inconsistent
+            // by the failed attempt, so the parser is reset
+            parser = reusable.reset( source, PredictionMode.LL, newHelper( builtIns ) );
+            defineVariables( inputVariableTypes, inputVariables, parser );
+            return parser.compilation_unit();
+        }
+    }
+
+    private static ParserHelper newHelper(SymbolTable builtIns) {
+        return builtIns != null ? new ParserHelper( new SymbolTable( builtIns ) ) : new ParserHelper();
+    }
+
+    /**
+     * Parses a set of representative expressions in order to populate
+     * the lexer and parser DFA caches, that are shared by all lexer and
+     * parser instances. Calling this method on startup avoids paying
+     * the cost of building the DFA on the first compilations, and avoids
+     * concurrent compilations contending on the DFA growth.
+     *
+     * Only the first invocation has any effect.
+     */
+    public static void warmUp() {
+        if ( WARMED_UP.compareAndSet( false, true ) ) {
+            Map<String, Object> inputVariables = new HashMap<>();
+            inputVariables.put( "first name", "John" );
+            inputVariables.put( "applicant", Collections.singletonMap( "monthly income", 1000 ) );
+            for ( String expression : WARM_UP_EXPRESSIONS ) {
+                parseCompilationUnit( expression, Collections.emptyMap(), inputVariables );
+            }
+        }
+    }
+
     private static void defineVariables(Map<String, Type> inputVariableTypes, Map<String, Object> inputVariables, FEEL_1_1Parser parser) {
         inputVariables.forEach( (name, value) -> {
             parser.getHelper().defineVariable( name );
@@ -57,6 +178,33 @@ public class FEELParser {
         } );
     }
 
+    /**
+     * A lexer/parser pair that is reset for every new input.
+     *
+     * The token stream is not reused, as BufferedTokenStream.setTokenSource()
+     * does not reset the EOF flag of the stream.
+     */
+    private static class ReusableParser {
+        private final FEEL_1_1Lexer  lexer  = new FEEL_1_1Lexer( null );
+        private final FEEL_1_1Parser parser = new FEEL_1_1Parser( null );
+        private boolean inUse;
+
+        private FEEL_1_1Parser reset(String source, PredictionMode mode, ParserHelper helper) {
+            lexer.setInputStream( new ANTLRInputStream( source ) );
+            parser.setTokenStream( new CommonTokenStream( lexer ) );
+            parser.setHelper( helper );
+            parser.getInterpreter().setPredictionMode( mode );
+            parser.removeErrorListeners();
+            if ( mode == PredictionMode.SLL ) {
+                parser.setErrorHandler( new BailErrorStrategy() );
+            } else {
+                parser.addErrorListener( ConsoleErrorListener.INSTANCE );
+                parser.setErrorHandler( new FEELErrorHandler() );
+            }
+            return parser;
+        }
+    }
+
     public static class FEELErrorHandler extends DefaultErrorStrategy {
 
         @Override
@@ -31,11 +31,17 @@ import java.util.Stack;
 
 public class ParserHelper {
 
-    private SymbolTable   symbols      = new SymbolTable();
-    private Scope         currentScope = symbols.getGlobalScope();
+    private SymbolTable   symbols;
+    private Scope         currentScope;
     private Stack<String> currentName  = new Stack<>();
 
     public ParserHelper() {
+        this( new SymbolTable() );
+    }
+
+    public ParserHelper(SymbolTable symbols) {
+        this.symbols = symbols;
+        this.currentScope = symbols.getGlobalScope();
         // initial context is loaded
         currentName.push( Scope.LOCAL );
     }
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.functions;
+
+import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.impl.NamedParameter;
+import org.kie.dmn.feel.runtime.FEELFunction;
+
+import java.util.Arrays;
+
+/**
+ * The apply methods chosen at a function invocation site, for the
+ * classes of functions and arguments seen there.
+ *
+ * An invocation whose function class and argument classes, nulls
+ * included, are the same as a previous one reuses the method chosen
+ * then, so a call site invoked in a loop resolves its overload once.
+ * The function itself is looked up on every invocation, so a name
+ * referring to another function is a miss. Once the cache holds
+ * MAX_ENTRIES shapes, the other ones are always resolved again.
+ *
+ * Invocations with named parameters, and functions that are not
+ * dispatched to their apply methods, are not cached.
+ */
+public final class CallSiteCache {
+
+    static final int MAX_ENTRIES = 4;
+
+    private static final Entry[] EMPTY = new Entry[0];
+
+    // replaced, never modified, so it can be read without locking
+    private volatile Entry[] entries = EMPTY;
+
+    public Object invoke(EvaluationContext ctx, FEELFunction function, Object[] params) {
+        Entry[] entries = this.entries;
+        for ( Entry e : entries ) {
+            if ( e.matches( function, params ) ) {
+                return ((BaseFEELFunction) function).invoke( e.target, params );
+            }
+        }
+        if ( entries.length < MAX_ENTRIES && function instanceof BaseFEELFunction && !((BaseFEELFunction) function).isCustomFunction() &&
+             !(params.length > 0 && params[0] instanceof NamedParameter) ) {
+            DispatchTable.Target target = DispatchTable.of( function.getClass() ).resolve( params );
+            if ( target != null ) {
+                Entry[] updated = Arrays.copyOf( entries, entries.length + 1 );
+                updated[entries.length] = new Entry( function.getClass(), params, target );
+                this.entries = updated;
+                return ((BaseFEELFunction) function).invoke( target, params );
+            }
+        }
+        return function.applyReflectively( ctx, params );
+    }
+
+    int size() {
+        return entries.length;
+    }
+
+    private static final class Entry {
+        private final Class<?>             type;
+        private final Class<?>[]           classes;
+        private final DispatchTable.Target target;
+
+        private Entry(Class<?> type, Object[] params, DispatchTable.Target target) {
+            this.type = type;
+            this.classes = new Class<?>[params.length];
+            for ( int i = 0; i < params.length; i++ ) {
+                classes[i] = params[i] != null ? params[i].getClass() : null;
+            }
+            this.target = target;
+        }
+
+        private boolean matches(FEELFunction function, Object[] params) {
+            if ( function.getClass() != type || params.length != classes.length ) {
+                return false;
+            }
+            for ( int i = 0; i < params.length; i++ ) {
+                if ( (params[i] != null ? params[i].getClass() : null) != classes[i] ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package org.kie.dmn.feel.runtime.functions;
 
+import org.kie.dmn.feel.util.DecimalMath;
+
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
@@ -31,7 +33,7 @@ public class CountFunction
         if ( list == null ) {
             return null;
         } else {
-            return BigDecimal.valueOf( list.size() );
+            return DecimalMath.valueOf( list.size() );
         }
     }
 
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.functions;
+
+import org.kie.dmn.feel.lang.impl.NamedParameter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The apply methods of a function class, resolved once per class.
+ *
+ * Positional calls are dispatched among the methods accepting their
+ * number of arguments, and calls with named parameters among the
+ * methods declaring all the given names, computed the first time a
+ * set of names is used. The chosen method is invoked through a
+ * MethodHandle, so a call does not use reflection.
+ *
+ * A method matches when every argument is null or an instance of its
+ * parameter type. If several methods match, the first one that does
+ * not take its last argument as an array is preferred, in the order
+ * of Class.getDeclaredMethods(). With named parameters, the methods
+ * with fewer parameters come first.
+ */
+final class DispatchTable {
+
+    /**
+     * Returned by invoke() when no apply method matches the arguments
+     */
+    static final Object NOT_FOUND = new Object();
+
+    private static final ClassValue<DispatchTable> TABLES = new ClassValue<DispatchTable>() {
+        @Override
+        protected DispatchTable computeValue(Class<?> type) {
+            return new DispatchTable( type );
+        }
+    };
+
+    private final Target[]   targets;
+    private final Target[][] byArity;
+    private final Target[]   variadic;
+
+    private final ConcurrentMap<List<String>, NamedTarget[]> byNames = new ConcurrentHashMap<>();
+
+    private DispatchTable(Class<?> type) {
+        List<Target> targets = new ArrayList<>();
+        for ( Method m : type.getDeclaredMethods() ) {
+            if ( m.getName().equals( "apply" ) ) {
+                targets.add( new Target( m ) );
+            }
+        }
+        this.targets = targets.toArray( new Target[targets.size()] );
+
+        int maxArity = 0;
+        for ( Target t : this.targets ) {
+            maxArity = Math.max( maxArity, t.types.length );
+        }
+        this.byArity = new Target[maxArity + 1][];
+        for ( int arity = 0; arity <= maxArity; arity++ ) {
+            List<Target> accepting = new ArrayList<>();
+            for ( Target t : this.targets ) {
+                if ( t.variadic ? arity >= t.types.length - 1 : arity == t.types.length ) {
+                    accepting.add( t );
+                }
+            }
+            byArity[arity] = accepting.toArray( new Target[accepting.size()] );
+        }
+        // any variadic method accepts more arguments than the largest arity
+        this.variadic = Arrays.stream( this.targets ).filter( t -> t.variadic ).toArray( Target[]::new );
+    }
+
+    static DispatchTable of(Class<?> type) {
+        return TABLES.get( type );
+    }
+
+    /**
+     * Invokes the apply method of the given function matching the
+     * given arguments, or returns NOT_FOUND if none matches them
+     */
+    Object invoke(Object function, Object[] params, boolean isNamedParams) throws Exception {
+        return isNamedParams ? invokeNamed( function, params ) : invokePositional( function, params );
+    }
+
+    private Object invokePositional(Object function, Object[] params) throws Exception {
+        Target target = resolve( params );
+        return target != null ? target.invoke( function, target.argumentsOf( params ) ) : NOT_FOUND;
+    }
+
+    /**
+     * Returns the apply method matching the given positional arguments,
+     * or null if none matches them
+     */
+    Target resolve(Object[] params) {
+        Target best = null;
+        int bestScore = 0;
+        for ( Target t : params.length < byArity.length ? byArity[params.length] : variadic ) {
+            if ( t.accepts( params ) ) {
+                int score = t.variadic ? 1 : score( params );
+                if ( score > bestScore ) {
+                    best = t;
+                    bestScore = score;
+                }
+            }
+        }
+        return best;
+    }
+
+    private Object invokeNamed(Object function, Object[] params) throws Exception {
+        String[] names = new String[params.length];
+        for ( int i = 0; i < params.length; i++ ) {
+            names[i] = ((NamedParameter) params[i]).getName();
+        }
+        NamedTarget[] candidates = byNames.computeIfAbsent( Arrays.asList( names ), this::namedTargets );
+
+        Target best = null;
+        Object[] bestArgs = null;
+        int bestScore = 0;
+        for ( NamedTarget nt : candidates ) {
+            Object[] args = nt.arguments( params );
+            if ( nt.target.accepts( args ) ) {
+                int score = nt.target.variadic ? 1 : score( args );
+                if ( score > bestScore ) {
+                    best = nt.target;
+                    bestArgs = args;
+                    bestScore = score;
+                }
+            }
+        }
+        return best != null ? best.invoke( function, bestArgs ) : NOT_FOUND;
+    }
+
+    private NamedTarget[] namedTargets(List<String> names) {
+        List<NamedTarget> candidates = new ArrayList<>();
+        for ( Target t : targets ) {
+            if ( t.names != null && t.names.containsAll( names ) ) {
+                candidates.add( new NamedTarget( t, names ) );
+            }
+        }
+        // prefer the methods without parameters left unset
+        candidates.sort( Comparator.comparingInt( nt -> nt.target.types.length ) );
+        return candidates.toArray( new NamedTarget[candidates.size()] );
+    }
+
+    /**
+     * Methods taking their last argument as an array are the last resort
+     */
+    private static int score(Object[] args) {
+        Object last = args.length > 0 ? args[args.length - 1] : null;
+        return last != null && last.getClass().isArray() ? 1 : 10;
+    }
+
+    static final class Target {
+        private final MethodHandle handle;
+        private final Class<?>[]   types;
+        private final List<String> names;
+        private final boolean      variadic;
+        // the array holding the variable arguments is an Object[]
+        private final boolean      acceptsVariadic;
+
+        private Target(Method m) {
+            this.types = m.getParameterTypes();
+            this.variadic = types.length > 0 && types[types.length - 1].isArray();
+            this.acceptsVariadic = variadic && types[types.length - 1].isAssignableFrom( Object[].class );
+            this.names = namesOf( m );
+            try {
+                m.setAccessible( true );
+                // (Object function, Object[] args)Object
+                this.handle = MethodHandles.lookup().unreflect( m )
+                        .asType( MethodType.genericMethodType( types.length + 1 ) )
+                        .asSpreader( Object[].class, types.length );
+            } catch ( IllegalAccessException e ) {
+                throw new IllegalStateException( "Unable to access the method " + m, e );
+            }
+        }
+
+        private static List<String> namesOf(Method m) {
+            List<String> names = new ArrayList<>( m.getParameterCount() );
+            for ( Parameter p : m.getParameters() ) {
+                ParameterName name = p.getAnnotation( ParameterName.class );
+                if ( name == null ) {
+                    // can not be invoked with named parameters
+                    return null;
+                }
+                names.add( name.value() );
+            }
+            return names;
+        }
+
+        /**
+         * Checks the given positional arguments, before the variable
+         * arguments are collected into an array
+         */
+        private boolean accepts(Object[] params) {
+            int fixed = variadic ? types.length - 1 : types.length;
+            for ( int i = 0; i < fixed; i++ ) {
+                if ( params[i] != null && !types[i].isInstance( params[i] ) ) {
+                    return false;
+                }
+            }
+            return !variadic || acceptsVariadic;
+        }
+
+        /**
+         * Returns the arguments of the method for the given positional
+         * arguments, collecting the variable arguments into an array
+         */
+        Object[] argumentsOf(Object[] params) {
+            return variadic ? arguments( params ) : params;
+        }
+
+        private Object[] arguments(Object[] params) {
+            Object[] args = new Object[types.length];
+            System.arraycopy( params, 0, args, 0, types.length - 1 );
+            args[types.length - 1] = Arrays.copyOfRange( params, types.length - 1, params.length );
+            return args;
+        }
+
+        /**
+         * Invokes the method with the given arguments. Errors are wrapped
+         * into an InvocationTargetException, as Method.invoke() does, so
+         * that callers handle them as any other failure of the function.
+         */
+        Object invoke(Object function, Object[] args) throws Exception {
+            try {
+                return (Object) handle.invokeExact( function, args );
+            } catch ( Exception e ) {
+                throw e;
+            } catch ( Throwable t ) {
+                throw new InvocationTargetException( t );
+            }
+        }
+    }
+
+    private static final class NamedTarget {
+        private final Target target;
+        private final int[]  positions;
+
+        private NamedTarget(Target target, List<String> names) {
+            this.target = target;
+            this.positions = new int[names.size()];
+            for ( int i = 0; i < positions.length; i++ ) {
+                positions[i] = target.names.indexOf( names.get( i ) );
+            }
+        }
+
+        /**
+         * Places the values of the named parameters at the positions of
+         * their names, the missing parameters being null
+         */
+        private Object[] arguments(Object[] params) {
+            Object[] args = new Object[target.types.length];
+            for ( int i = 0; i < positions.length; i++ ) {
+                args[positions[i]] = ((NamedParameter) params[i]).getValue();
+            }
+            if ( target.variadic ) {
+                args[args.length - 1] = new Object[]{ args[args.length - 1] };
+            }
+            return args;
+        }
+    }
+}
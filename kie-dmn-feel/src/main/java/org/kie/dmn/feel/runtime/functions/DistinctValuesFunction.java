@@ -16,9 +16,13 @@
 
 package org.kie.dmn.feel.runtime.functions;
 
+import org.kie.dmn.feel.util.FEELEquality;
+
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class DistinctValuesFunction
         extends BaseFEELFunction {
@@ -34,7 +38,12 @@ public class DistinctValuesFunction
         // spec requires us to return a new list
         List result = new ArrayList();
         if( list instanceof Collection ) {
-            ((Collection)list).stream().forEach( i -> { if( !result.contains( i ) ) result.add(i); } );
+            Set<Object> seen = new HashSet<>();
+            for ( Object i : (Collection) list ) {
+                if ( seen.add( FEELEquality.keyOf( i ) ) ) {
+                    result.add( i );
+                }
+            }
         } else {
             result.add( list );
         }
@@ -16,6 +16,9 @@
 
 package org.kie.dmn.feel.runtime.functions;
 
+import org.kie.dmn.feel.util.DecimalMath;
+import org.kie.dmn.feel.util.FEELEquality;
+
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
@@ -34,9 +37,8 @@ public class IndexOfFunction
         List result = new ArrayList();
         for( int i = 0; i < list.size(); i++ ) {
             Object o = list.get( i );
-            if ( ( o == null && match == null) ||
-                 ( o != null && o.equals( match ) ) ) {
-                result.add( BigDecimal.valueOf( i+1 ) );
+            if ( FEELEquality.isEqual( o, match ) ) {
+                result.add( DecimalMath.valueOf( i+1 ) );
             }
         }
         return result;
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.functions;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the Java methods of the external function definitions, like
+ * <code>external { java : { class : "java.lang.Math", method signature : "max(long,long)" } }</code>
+ *
+ * Classes are loaded with the class loader of the resolver, and each
+ * class and method signature is resolved once, the resolved methods
+ * being kept by the resolver.
+ */
+public class JavaFunctionResolver {
+
+    private static final Pattern METHOD_PARSER    = Pattern.compile( "(.+)\\((.*)\\)" );
+    private static final Pattern PARAMETER_PARSER = Pattern.compile( "([^, ]+)" );
+
+    private static final JavaFunctionResolver DEFAULT = new JavaFunctionResolver( JavaFunctionResolver.class.getClassLoader() );
+
+    private final ClassLoader                             classLoader;
+    private final ConcurrentMap<List<String>, JavaMethod> methods = new ConcurrentHashMap<>();
+
+    public JavaFunctionResolver(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Returns the resolver loading classes with the class loader of the
+     * FEEL engine
+     */
+    public static JavaFunctionResolver getDefault() {
+        return DEFAULT;
+    }
+
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    /**
+     * Returns the static method of the given class with the given
+     * signature, like "max(long,long)"
+     *
+     * @throws ReflectiveOperationException if the class, a parameter type
+     *         or the method can not be found
+     * @throws IllegalArgumentException if the signature is invalid, or
+     *         the method can not be invoked
+     */
+    public JavaMethod resolve(String className, String methodSignature) throws ReflectiveOperationException {
+        List<String> key = Arrays.asList( className, methodSignature );
+        JavaMethod method = methods.get( key );
+        if ( method == null ) {
+            method = load( className, methodSignature );
+            JavaMethod previous = methods.putIfAbsent( key, method );
+            if ( previous != null ) {
+                method = previous;
+            }
+        }
+        return method;
+    }
+
+    private JavaMethod load(String className, String methodSignature) throws ReflectiveOperationException {
+        Class<?> clazz = Class.forName( className, true, classLoader );
+        String[] mp = parseMethod( methodSignature );
+        if ( mp == null ) {
+            throw new IllegalArgumentException( "Invalid method signature '" + methodSignature + "'" );
+        }
+        String[] paramTypeNames = parseParams( mp[1] );
+        Class<?>[] paramTypes = new Class<?>[paramTypeNames.length];
+        for ( int i = 0; i < paramTypeNames.length; i++ ) {
+            paramTypes[i] = getType( paramTypeNames[i] );
+        }
+        Method method = clazz.getMethod( mp[0], paramTypes );
+        return new JavaMethod( method );
+    }
+
+    private Class<?> getType(String typeName) throws ClassNotFoundException {
+        // first check if it is primitive
+        Class<?> type = convertPrimitiveNameToType( typeName );
+        return type != null ? type : Class.forName( typeName, true, classLoader );
+    }
+
+    public static String[] parseMethod(String signature) {
+        Matcher m = METHOD_PARSER.matcher( signature );
+        if ( m.matches() ) {
+            return new String[]{ m.group( 1 ), m.group( 2 ) };
+        }
+        return null;
+    }
+
+    public static String[] parseParams(String params) {
+        List<String> ps = new ArrayList<>();
+        if ( params.trim().length() > 0 ) {
+            Matcher m = PARAMETER_PARSER.matcher( params.trim() );
+            while ( m.find() ) {
+                ps.add( m.group().trim() );
+            }
+        }
+        return ps.toArray( new String[ps.size()] );
+    }
+
+    public static Class<?> convertPrimitiveNameToType(String typeName) {
+        switch ( typeName ) {
+            case "int":
+                return int.class;
+            case "boolean":
+                return boolean.class;
+            case "char":
+                return char.class;
+            case "byte":
+                return byte.class;
+            case "short":
+                return short.class;
+            case "float":
+                return float.class;
+            case "long":
+                return long.class;
+            case "double":
+                return double.class;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.functions;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * A static Java method invoked by an external function.
+ *
+ * The method is invoked through a method handle that takes the FEEL
+ * values of the arguments: numbers are converted to the numeric type
+ * of their parameter, primitive or boxed, and any other value must be
+ * an instance of the type of its parameter.
+ */
+public final class JavaMethod {
+
+    private static final MethodHandle COERCE;
+    private static final MethodHandle TO_BYTE;
+    private static final MethodHandle TO_SHORT;
+    private static final MethodHandle TO_INT;
+    private static final MethodHandle TO_LONG;
+    private static final MethodHandle TO_FLOAT;
+    private static final MethodHandle TO_DOUBLE;
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            COERCE = lookup.findStatic( JavaMethod.class, "coerce", MethodType.methodType( Object.class, Object.class, Class.class ) );
+            TO_BYTE = lookup.findStatic( JavaMethod.class, "toByte", MethodType.methodType( byte.class, Object.class ) );
+            TO_SHORT = lookup.findStatic( JavaMethod.class, "toShort", MethodType.methodType( short.class, Object.class ) );
+            TO_INT = lookup.findStatic( JavaMethod.class, "toInt", MethodType.methodType( int.class, Object.class ) );
+            TO_LONG = lookup.findStatic( JavaMethod.class, "toLong", MethodType.methodType( long.class, Object.class ) );
+            TO_FLOAT = lookup.findStatic( JavaMethod.class, "toFloat", MethodType.methodType( float.class, Object.class ) );
+            TO_DOUBLE = lookup.findStatic( JavaMethod.class, "toDouble", MethodType.methodType( double.class, Object.class ) );
+        } catch ( ReflectiveOperationException e ) {
+            throw new ExceptionInInitializerError( e );
+        }
+    }
+
+    private final Method       method;
+    // (Object[] args)Object
+    private final MethodHandle handle;
+
+    public JavaMethod(Method method) {
+        if ( !Modifier.isStatic( method.getModifiers() ) ) {
+            throw new IllegalArgumentException( "The method " + method + " is not static" );
+        }
+        this.method = method;
+        Class<?>[] types = method.getParameterTypes();
+        MethodHandle[] coercions = new MethodHandle[types.length];
+        for ( int i = 0; i < types.length; i++ ) {
+            coercions[i] = coercionTo( types[i] );
+        }
+        try {
+            this.handle = MethodHandles.filterArguments( MethodHandles.publicLookup().unreflect( method ).asFixedArity(), 0, coercions )
+                    .asType( MethodType.genericMethodType( types.length ) )
+                    .asSpreader( Object[].class, types.length );
+        } catch ( IllegalAccessException e ) {
+            throw new IllegalArgumentException( "Unable to access the method " + method, e );
+        }
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public int getParameterCount() {
+        return method.getParameterCount();
+    }
+
+    /**
+     * Invokes the method with the given arguments, which must be
+     * as many as the parameters of the method
+     */
+    public Object invoke(Object[] args) throws Exception {
+        try {
+            return (Object) handle.invokeExact( args );
+        } catch ( Exception | Error e ) {
+            throw e;
+        } catch ( Throwable t ) {
+            throw new UndeclaredThrowableException( t );
+        }
+    }
+
+    private static MethodHandle coercionTo(Class<?> type) {
+        if ( type == byte.class ) {
+            return TO_BYTE;
+        } else if ( type == short.class ) {
+            return TO_SHORT;
+        } else if ( type == int.class ) {
+            return TO_INT;
+        } else if ( type == long.class ) {
+            return TO_LONG;
+        } else if ( type == float.class ) {
+            return TO_FLOAT;
+        } else if ( type == double.class ) {
+            return TO_DOUBLE;
+        }
+        // checks the boxed type, which is then unboxed or cast by the handle
+        Class<?> boxed = MethodType.methodType( type ).wrap().returnType();
+        return MethodHandles.insertArguments( COERCE, 1, boxed ).asType( MethodType.methodType( type, Object.class ) );
+    }
+
+    private static Object coerce(Object value, Class<?> type) {
+        if ( value == null || type.isInstance( value ) ) {
+            return value;
+        } else if ( value instanceof Number ) {
+            Number n = (Number) value;
+            if ( type == Byte.class ) {
+                return n.byteValue();
+            } else if ( type == Short.class ) {
+                return n.shortValue();
+            } else if ( type == Integer.class ) {
+                return n.intValue();
+            } else if ( type == Long.class ) {
+                return n.longValue();
+            } else if ( type == Float.class ) {
+                return n.floatValue();
+            } else if ( type == Double.class ) {
+                return n.doubleValue();
+            }
+        }
+        throw new IllegalArgumentException( "Unable to coerce parameter. Expected " + type + " but found " + value.getClass() );
+    }
+
+    private static Number toNumber(Object value, Class<?> type) {
+        if ( value instanceof Number ) {
+            return (Number) value;
+        }
+        throw new IllegalArgumentException( "Unable to coerce parameter. Expected " + type + " but found " + (value != null ? value.getClass() : null) );
+    }
+
+    private static byte toByte(Object value) {
+        return toNumber( value, byte.class ).byteValue();
+    }
+
+    private static short toShort(Object value) {
+        return toNumber( value, short.class ).shortValue();
+    }
+
+    private static int toInt(Object value) {
+        return toNumber( value, int.class ).intValue();
+    }
+
+    private static long toLong(Object value) {
+        return toNumber( value, long.class ).longValue();
+    }
+
+    private static float toFloat(Object value) {
+        return toNumber( value, float.class ).floatValue();
+    }
+
+    private static double toDouble(Object value) {
+        return toNumber( value, double.class ).doubleValue();
+    }
+
+    @Override
+    public String toString() {
+        return method.toString();
+    }
+}
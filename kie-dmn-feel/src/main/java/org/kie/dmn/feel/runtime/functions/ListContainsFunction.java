@@ -16,6 +16,8 @@
 
 package org.kie.dmn.feel.runtime.functions;
 
+import org.kie.dmn.feel.util.FEELEquality;
+
 import java.util.List;
 
 public class ListContainsFunction
@@ -29,7 +31,12 @@ public class ListContainsFunction
         if ( list == null ) {
             return null;
         } else {
-            return list.contains( element );
+            for ( Object e : list ) {
+                if ( FEELEquality.isEqual( e, element ) ) {
+                    return true;
+                }
+            }
+            return false;
         }
     }
 
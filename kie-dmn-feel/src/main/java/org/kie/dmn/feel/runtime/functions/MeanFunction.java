@@ -16,8 +16,10 @@
 
 package org.kie.dmn.feel.runtime.functions;
 
+import org.kie.dmn.feel.util.DecimalMath;
+import org.kie.dmn.feel.util.EvalHelper;
+
 import java.math.BigDecimal;
-import java.math.MathContext;
 import java.util.Arrays;
 import java.util.List;
 
@@ -32,14 +34,14 @@ public class MeanFunction
 
     public BigDecimal apply(@ParameterName( "list" ) List list) {
         BigDecimal s = sum.apply( list );
-        return s != null ? s.divide( BigDecimal.valueOf( list.size() ), MathContext.DECIMAL128 ) : null;
+        return s != null ? DecimalMath.divide( s, DecimalMath.valueOf( list.size() ) ) : null;
     }
 
     public BigDecimal apply(@ParameterName( "list" ) Number single) {
         if( single instanceof BigDecimal ) {
             return (BigDecimal) single;
         } else if( single != null ) {
-            return new BigDecimal( ((Number)single).toString() );
+            return EvalHelper.getBigDecimalOfString( single );
         } else {
             return null;
         }
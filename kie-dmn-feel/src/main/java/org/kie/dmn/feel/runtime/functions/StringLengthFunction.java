@@ -16,6 +16,8 @@
 
 package org.kie.dmn.feel.runtime.functions;
 
+import org.kie.dmn.feel.util.DecimalMath;
+
 import java.math.BigDecimal;
 
 public class StringLengthFunction
@@ -29,7 +31,7 @@ public class StringLengthFunction
         if ( string == null ) {
             return null;
         } else {
-            return BigDecimal.valueOf( string.length() );
+            return DecimalMath.valueOf( string.length() );
         }
     }
 }
@@ -16,9 +16,13 @@
 
 package org.kie.dmn.feel.runtime.functions;
 
+import org.kie.dmn.feel.util.FEELEquality;
+
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class UnionFunction
         extends BaseFEELFunction {
@@ -33,14 +37,15 @@ public class UnionFunction
         }
         // spec requires us to return a new list
         List result = new ArrayList();
+        Set<Object> seen = new HashSet<>();
         for ( Object list : lists ) {
             if ( list instanceof Collection ) {
-                ((Collection) list).stream().forEach( i -> {
-                    if ( !result.contains( i ) ) result.add( i );
-                } );
+                for ( Object i : (Collection) list ) {
+                    if ( seen.add( FEELEquality.keyOf( i ) ) ) result.add( i );
+                }
             } else if ( list != null ) {
                 // singleton list
-                if ( !result.contains( list ) ) result.add( list );
+                if ( seen.add( FEELEquality.keyOf( list ) ) ) result.add( list );
             } else {
                 return null;
             }
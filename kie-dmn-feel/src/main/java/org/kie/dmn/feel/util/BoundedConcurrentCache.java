@@ -0,0 +1,149 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.dmn.feel.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A thread safe cache that evicts its least recently used entries once
+ * it grows over its maximum size.
+ *
+ * Reads do not take any lock: each entry keeps the time it was last used
+ * on a logical clock that only moves when entries are added, so the
+ * recency is approximate. The oldest tenth of the entries is evicted at
+ * once by a single thread, while the other threads keep using the cache.
+ */
+public class BoundedConcurrentCache<K, V> {
+
+    private final int                        maxSize;
+    private final ConcurrentMap<K, Entry<V>> entries  = new ConcurrentHashMap<>();
+    private final AtomicLong                 clock    = new AtomicLong();
+    private final AtomicBoolean              evicting = new AtomicBoolean();
+
+    public BoundedConcurrentCache(int maxSize) {
+        if ( maxSize <= 0 ) {
+            throw new IllegalArgumentException( "The maximum size of the cache must be a positive number: " + maxSize );
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the cached value of the given key, or null
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get( key );
+        if ( entry == null ) {
+            return null;
+        }
+        entry.touch( clock.get() );
+        return entry.value;
+    }
+
+    /**
+     * Returns the cached value of the given key, or computes and caches
+     * it in case it is not cached yet. The value is computed without
+     * holding any lock, so it might be computed more than once when
+     * several threads ask for the same key, but only one is cached.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> function) {
+        V value = get( key );
+        if ( value == null ) {
+            Entry<V> created = new Entry<>( function.apply( key ), clock.incrementAndGet() );
+            Entry<V> previous = entries.putIfAbsent( key, created );
+            if ( previous != null ) {
+                return previous.value;
+            }
+            if ( entries.size() > maxSize ) {
+                evict();
+            }
+            value = created.value;
+        }
+        return value;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    private void evict() {
+        // only one thread evicts at a time, checking the size again once
+        // done, as the other threads keep adding entries meanwhile
+        while ( entries.size() > maxSize && evicting.compareAndSet( false, true ) ) {
+            try {
+                evictLeastRecentlyUsed();
+            } finally {
+                evicting.set( false );
+            }
+        }
+    }
+
+    private void evictLeastRecentlyUsed() {
+        // the times are copied, as other threads keep updating them
+        List<Candidate<K, V>> candidates = new ArrayList<>( entries.size() );
+        for ( Map.Entry<K, Entry<V>> e : entries.entrySet() ) {
+            candidates.add( new Candidate<>( e.getKey(), e.getValue() ) );
+        }
+        int excess = Math.min( candidates.size(), candidates.size() - maxSize + Math.max( 1, maxSize / 10 ) );
+        candidates.sort( Comparator.comparingLong( c -> c.lastUsed ) );
+        for ( int i = 0; i < excess; i++ ) {
+            Candidate<K, V> candidate = candidates.get( i );
+            entries.remove( candidate.key, candidate.entry );
+        }
+    }
+
+    private static final class Entry<V> {
+        private final    V    value;
+        private volatile long lastUsed;
+
+        private Entry(V value, long lastUsed) {
+            this.value = value;
+            this.lastUsed = lastUsed;
+        }
+
+        private void touch(long now) {
+            // avoids writing to memory shared by all the readers when possible
+            if ( lastUsed != now ) {
+                lastUsed = now;
+            }
+        }
+    }
+
+    private static final class Candidate<K, V> {
+        private final K        key;
+        private final Entry<V> entry;
+        private final long     lastUsed;
+
+        private Candidate(K key, Entry<V> entry) {
+            this.key = key;
+            this.entry = entry;
+            this.lastUsed = entry.lastUsed;
+        }
+    }
+}
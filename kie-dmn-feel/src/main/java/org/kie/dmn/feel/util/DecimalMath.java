@@ -0,0 +1,122 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.util;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * The arithmetic of FEEL numbers, with the results of the operations
+ * on BigDecimals rounded to MathContext.DECIMAL128.
+ *
+ * When the operands are small enough for the exact result to fit in
+ * the 34 digits of DECIMAL128, the result is computed without a math
+ * context: BigDecimal then works on the unscaled long values of the
+ * operands, and the result is the same, value and scale, as the rounded
+ * one. Larger operands fall back to the rounded operation.
+ */
+public final class DecimalMath {
+
+    // the digits of the largest unscaled values that fit in a long
+    private static final int LONG_DIGITS = 18;
+
+    // the range of the canonical instances of the small integers
+    private static final int          CACHE_LOW  = -128;
+    private static final int          CACHE_HIGH = 1024;
+    private static final BigDecimal[] CACHE      = new BigDecimal[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for ( int i = 0; i < CACHE.length; i++ ) {
+            CACHE[i] = BigDecimal.valueOf( i + CACHE_LOW );
+        }
+    }
+
+    private DecimalMath() {
+    }
+
+    /**
+     * Returns a BigDecimal of the given integer value, with scale 0,
+     * using a canonical instance for the small values
+     */
+    public static BigDecimal valueOf(long value) {
+        if ( value >= CACHE_LOW && value <= CACHE_HIGH ) {
+            return CACHE[(int) value - CACHE_LOW];
+        }
+        return BigDecimal.valueOf( value );
+    }
+
+    /**
+     * Returns the canonical instance of the given value if it is a
+     * small integer with scale 0, or the value itself otherwise
+     */
+    public static BigDecimal canonical(BigDecimal value) {
+        if ( value.scale() == 0 && value.precision() <= 4 ) {
+            long l = value.longValue();
+            if ( l >= CACHE_LOW && l <= CACHE_HIGH ) {
+                return CACHE[(int) l - CACHE_LOW];
+            }
+        }
+        return value;
+    }
+
+    public static BigDecimal add(BigDecimal l, BigDecimal r) {
+        if ( isAlignable( l, r ) ) {
+            return l.add( r );
+        }
+        return l.add( r, MathContext.DECIMAL128 );
+    }
+
+    public static BigDecimal subtract(BigDecimal l, BigDecimal r) {
+        if ( isAlignable( l, r ) ) {
+            return l.subtract( r );
+        }
+        return l.subtract( r, MathContext.DECIMAL128 );
+    }
+
+    public static BigDecimal multiply(BigDecimal l, BigDecimal r) {
+        // the product has at most the sum of the digits of the operands
+        if ( l.precision() + r.precision() <= MathContext.DECIMAL128.getPrecision() ) {
+            return l.multiply( r );
+        }
+        return l.multiply( r, MathContext.DECIMAL128 );
+    }
+
+    public static BigDecimal divide(BigDecimal l, BigDecimal r) {
+        if ( l.scale() == 0 && r.scale() == 0 && l.precision() <= LONG_DIGITS && r.precision() <= LONG_DIGITS ) {
+            // exact integer quotients keep the preferred scale, 0
+            long dividend = l.longValue();
+            long divisor = r.longValue();
+            if ( divisor != 0 && dividend % divisor == 0 ) {
+                return BigDecimal.valueOf( dividend / divisor );
+            }
+        }
+        return l.divide( r, MathContext.DECIMAL128 );
+    }
+
+    public static BigDecimal pow(BigDecimal l, BigDecimal r) {
+        return l.pow( r.intValue(), MathContext.DECIMAL128 );
+    }
+
+    /**
+     * Returns true if the sum of the operands, aligned to the same
+     * scale, has at most 34 digits
+     */
+    private static boolean isAlignable(BigDecimal l, BigDecimal r) {
+        long alignment = Math.abs( (long) l.scale() - r.scale() );
+        return alignment <= 15 && l.precision() <= LONG_DIGITS && r.precision() <= LONG_DIGITS;
+    }
+}
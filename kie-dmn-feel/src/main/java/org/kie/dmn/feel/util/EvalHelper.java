@@ -28,24 +28,70 @@ import java.util.concurrent.atomic.AtomicLong;
 public class EvalHelper {
 
     public static String normalizeVariableName(String name) {
+        if ( isNormalizedVariableName( name ) ) {
+            return name;
+        }
         return name.replaceAll( "\\s+", " " );
     }
 
+    /**
+     * Returns true if the given name does not contain any whitespace
+     * other than single spaces, and so is not changed by normalizeVariableName()
+     */
+    public static boolean isNormalizedVariableName(String name) {
+        boolean space = false;
+        for ( int i = 0; i < name.length(); i++ ) {
+            char c = name.charAt( i );
+            if ( c == ' ' ) {
+                if ( space ) {
+                    return false;
+                }
+                space = true;
+            } else if ( Character.isWhitespace( c ) ) {
+                return false;
+            } else {
+                space = false;
+            }
+        }
+        return true;
+    }
+
     public static BigDecimal getBigDecimalOrNull(Object value) {
+        if ( value instanceof BigDecimal ) {
+            return (BigDecimal) value;
+        }
         if ( !(value instanceof Number) ) {
             return null;
         }
-        if ( !BigDecimal.class.isAssignableFrom( value.getClass() ) ) {
-            if ( value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte ||
-                 value instanceof AtomicLong || value instanceof AtomicInteger ) {
-                value = new BigDecimal( ((Number) value).longValue(), MathContext.DECIMAL128 );
-            } else if ( value instanceof BigInteger ) {
-                value = new BigDecimal( ((BigInteger) value).toString(), MathContext.DECIMAL128 );
-            } else {
-                value = new BigDecimal( ((Number) value).doubleValue(), MathContext.DECIMAL128 );
-            }
+        if ( value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte ||
+             value instanceof AtomicLong || value instanceof AtomicInteger ) {
+            // longs always fit in DECIMAL128
+            return DecimalMath.valueOf( ((Number) value).longValue() );
+        } else if ( value instanceof BigInteger ) {
+            return new BigDecimal( (BigInteger) value, MathContext.DECIMAL128 );
+        } else {
+            return new BigDecimal( ((Number) value).doubleValue(), MathContext.DECIMAL128 );
+        }
+    }
+
+    /**
+     * Converts the given number to a BigDecimal with the value of its
+     * string representation, without formatting and parsing it for the
+     * common types of numbers
+     */
+    public static BigDecimal getBigDecimalOfString(Number value) {
+        if ( value instanceof BigDecimal ) {
+            return (BigDecimal) value;
+        } else if ( value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte ||
+                    value instanceof AtomicLong || value instanceof AtomicInteger ) {
+            return DecimalMath.valueOf( value.longValue() );
+        } else if ( value instanceof BigInteger ) {
+            return new BigDecimal( (BigInteger) value );
+        } else if ( value instanceof Double ) {
+            // defined as the value of Double.toString()
+            return BigDecimal.valueOf( (Double) value );
         }
-        return (BigDecimal) value;
+        return new BigDecimal( value.toString() );
     }
 
     public static Boolean getBooleanOrNull(Object value) {
@@ -55,6 +101,15 @@ public class EvalHelper {
         return (Boolean) value;
     }
 
+    /**
+     * Compares the given values, the first of which must be comparable
+     * to the second, as the comparison unary tests do
+     */
+    @SuppressWarnings("unchecked")
+    public static int compare(Object left, Object right) {
+        return ((Comparable<Object>) left).compareTo( right );
+    }
+
     public static String stripQuotes(String text) {
         if ( text == null ) {
             return null;
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.util;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The equality of FEEL values, as used by lists and the set oriented
+ * built-in functions.
+ *
+ * Numbers are equal when their values are, whatever their type and
+ * scale, so 1 and 1.0 are the same value. Lists and contexts are
+ * equal when their elements and entries are, and any other value is
+ * compared with equals(). The hash code is consistent with this
+ * equality, so FEEL values can be collected in hash based sets and
+ * maps through keyOf().
+ */
+public final class FEELEquality {
+
+    private FEELEquality() {
+    }
+
+    public static boolean isEqual(Object left, Object right) {
+        if ( left == right ) {
+            return true;
+        } else if ( left == null || right == null ) {
+            return false;
+        } else if ( left instanceof Number && right instanceof Number ) {
+            BigDecimal l = toBigDecimal( (Number) left );
+            BigDecimal r = toBigDecimal( (Number) right );
+            return l != null && r != null ? l.compareTo( r ) == 0 : left.equals( right );
+        } else if ( left instanceof Iterable && right instanceof Iterable ) {
+            return isEqual( (Iterable<?>) left, (Iterable<?>) right );
+        } else if ( left instanceof Map && right instanceof Map ) {
+            return isEqual( (Map<?, ?>) left, (Map<?, ?>) right );
+        }
+        return left.equals( right );
+    }
+
+    private static boolean isEqual(Iterable<?> left, Iterable<?> right) {
+        Iterator<?> li = left.iterator();
+        Iterator<?> ri = right.iterator();
+        while ( li.hasNext() && ri.hasNext() ) {
+            if ( !isEqual( li.next(), ri.next() ) ) {
+                return false;
+            }
+        }
+        return li.hasNext() == ri.hasNext();
+    }
+
+    private static boolean isEqual(Map<?, ?> left, Map<?, ?> right) {
+        if ( left.size() != right.size() ) {
+            return false;
+        }
+        for ( Map.Entry<?, ?> entry : left.entrySet() ) {
+            Object r = right.get( entry.getKey() );
+            if ( !isEqual( entry.getValue(), r ) || (r == null && !right.containsKey( entry.getKey() )) ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static int hashCode(Object value) {
+        if ( value == null ) {
+            return 0;
+        } else if ( value instanceof Number ) {
+            BigDecimal number = toBigDecimal( (Number) value );
+            if ( number == null ) {
+                return value.hashCode();
+            }
+            // equal numbers have the same value once their trailing zeros are removed
+            return number.signum() == 0 ? 0 : number.stripTrailingZeros().hashCode();
+        } else if ( value instanceof Iterable ) {
+            int hash = 1;
+            for ( Object element : (Iterable<?>) value ) {
+                hash = 31 * hash + hashCode( element );
+            }
+            return hash;
+        } else if ( value instanceof Map ) {
+            int hash = 0;
+            for ( Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet() ) {
+                hash += Objects.hashCode( entry.getKey() ) ^ hashCode( entry.getValue() );
+            }
+            return hash;
+        }
+        return value.hashCode();
+    }
+
+    /**
+     * Returns an object that is equal to the key of any value that is
+     * equal to the given one, to be used in hash based collections
+     */
+    public static Object keyOf(Object value) {
+        return new Key( value );
+    }
+
+    private static BigDecimal toBigDecimal(Number value) {
+        if ( (value instanceof Double && !Double.isFinite( (Double) value )) ||
+             (value instanceof Float && !Float.isFinite( (Float) value )) ) {
+            return null;
+        }
+        return EvalHelper.getBigDecimalOfString( value );
+    }
+
+    private static final class Key {
+        private final Object value;
+        private final int    hash;
+
+        private Key(Object value) {
+            this.value = value;
+            this.hash = FEELEquality.hashCode( value );
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || (o instanceof Key && hash == ((Key) o).hash && isEqual( value, ((Key) o).value ));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf( value );
+        }
+    }
+}
@@ -16,25 +16,51 @@
 
 package org.kie.dmn.feel.util;
 
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * A trie of the tokens of multi-token names, used by the
+ * parser to recognize names that contain spaces or operators.
+ * The children of each node are indexed by token, so that
+ * following a token does not depend on the number of names.
+ */
 public class TokenTree {
-    private Node root;
-    private Node currentNode;
+    private Node    root;
+    private Node    currentNode;
+    // the nodes are shared with another tree, and copied before adding a name
+    private boolean shared;
 
     public TokenTree() {
         root = new Node();
-        root.children = new ArrayList<Node>();
+    }
+
+    /**
+     * Creates a tree with the names of the given tree, sharing its
+     * nodes until a name is added. The given tree must not have any
+     * name added after this call.
+     */
+    public TokenTree(TokenTree prototype) {
+        root = prototype.root;
+        shared = true;
     }
 
     public void addName( List<String> tokens ) {
+        if( shared ) {
+            root = root.copy( null );
+            currentNode = null;
+            shared = false;
+        }
         Node current = root;
         for( String t : tokens ) {
             Node next = findToken( current, t );
             if( next == null ) {
                 next = new Node( t, current);
-                current.children.add( next );
+                if( current.children == null ) {
+                    current.children = new HashMap<>();
+                }
+                current.children.put( t, next );
             }
             current = next;
         }
@@ -58,27 +84,32 @@ public class TokenTree {
     }
 
     private Node findToken(Node current, String t) {
-        for( Node n : current.children ) {
-            if( n.token.equals( t ) ) {
-                return n;
-            }
-        }
-        return null;
+        return current.children != null ? current.children.get( t ) : null;
     }
 
     private static class Node {
-        public String      token;
-        public Node       parent;
-        public List<Node> children;
+        public String            token;
+        public Node              parent;
+        // lazily created, as most nodes are leaves
+        public Map<String, Node> children;
 
         public Node() {
-            this.children = new ArrayList<>(  );
         }
 
         public Node(String token, Node parent) {
             this.token = token;
             this.parent = parent;
-            this.children = new ArrayList<>(  );
+        }
+
+        private Node copy(Node parent) {
+            Node copy = new Node( token, parent );
+            if( children != null ) {
+                copy.children = new HashMap<>( children.size() * 2 );
+                for( Map.Entry<String, Node> child : children.entrySet() ) {
+                    copy.children.put( child.getKey(), child.getValue().copy( copy ) );
+                }
+            }
+            return copy;
         }
     }
 }
\ No newline at end of file
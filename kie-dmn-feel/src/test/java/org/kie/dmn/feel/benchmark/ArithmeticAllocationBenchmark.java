@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.benchmark;
+
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.CompilerContext;
+import org.kie.dmn.feel.lang.impl.CompiledExpressionImpl;
+import org.kie.dmn.feel.lang.types.BuiltInType;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocations of arithmetic heavy expressions, with inputs given as
+ * Java primitives wrappers or as BigDecimals. The interesting figure
+ * is the allocation rate per operation, reported by the GC profiler
+ * when run with -prof gc.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArithmeticAllocationBenchmark {
+
+    private static final Map<String, String> EXPRESSIONS = new HashMap<>();
+
+    static {
+        EXPRESSIONS.put( "counters", "a + 1 + b * 2 - c + 10" );
+        EXPRESSIONS.put( "decimals", "a * 1.5 + b * 0.25 - c / 4" );
+        EXPRESSIONS.put( "functions", "sum( [ a, b, c, 1, 2 ] ) + count( [ a, b ] ) + string length( \"abc\" )" );
+    }
+
+    @Param({"counters", "decimals", "functions"})
+    private String kind;
+
+    @Param({"integer", "long", "decimal"})
+    private String inputType;
+
+    private CompiledExpressionImpl expression;
+    private Map<String, Object>    inputs;
+
+    @Setup
+    public void setup() {
+        FEEL feel = FEEL.newInstance();
+        CompilerContext ctx = feel.newCompilerContext();
+        ctx.addInputVariableType( "a", BuiltInType.NUMBER );
+        ctx.addInputVariableType( "b", BuiltInType.NUMBER );
+        ctx.addInputVariableType( "c", BuiltInType.NUMBER );
+        expression = (CompiledExpressionImpl) feel.compile( EXPRESSIONS.get( kind ), ctx );
+        // measures the interpreter
+        expression.setCompilationThreshold( -1 );
+
+        inputs = new HashMap<>();
+        inputs.put( "a", input( 12 ) );
+        inputs.put( "b", input( 7 ) );
+        inputs.put( "c", input( 30 ) );
+    }
+
+    private Object input(int value) {
+        switch ( inputType ) {
+            case "integer":
+                return value;
+            case "long":
+                return (long) value;
+            default:
+                return new BigDecimal( value );
+        }
+    }
+
+    @Benchmark
+    public Object evaluate() {
+        return expression.evaluate( inputs );
+    }
+}
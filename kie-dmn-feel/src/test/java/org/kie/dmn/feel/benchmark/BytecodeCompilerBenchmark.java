@@ -0,0 +1,87 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.dmn.feel.benchmark;
+
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.CompilerContext;
+import org.kie.dmn.feel.lang.ast.BaseNode;
+import org.kie.dmn.feel.lang.compiler.BytecodeCompiler;
+import org.kie.dmn.feel.lang.compiler.CompiledFEELExpression;
+import org.kie.dmn.feel.lang.impl.CompiledExpressionImpl;
+import org.kie.dmn.feel.lang.types.BuiltInType;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluation throughput of the interpreter compared to the bytecode
+ * compiled expressions, for arithmetic, comparison and function
+ * invocation heavy expressions.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BytecodeCompilerBenchmark {
+
+    private static final Map<String, String> EXPRESSIONS = new HashMap<>();
+
+    static {
+        EXPRESSIONS.put( "arithmetic", "a * b + c / 4 - a ** 2 + ( b - c ) * 3" );
+        EXPRESSIONS.put( "comparison", "a > b and b <= c or a = c and b != 1 or if a < c then b >= 2 else false" );
+        EXPRESSIONS.put( "function", "max( a, b, c ) + floor( c / 3 ) + decimal( a / b, 2 ) + string length( string( a ) )" );
+    }
+
+    @Param({"arithmetic", "comparison", "function"})
+    private String kind;
+
+    private CompiledExpressionImpl interpreted;
+    private CompiledFEELExpression compiled;
+    private Map<String, Object>    inputs;
+
+    @Setup
+    public void setup() {
+        FEEL feel = FEEL.newInstance();
+        CompilerContext ctx = feel.newCompilerContext();
+        ctx.addInputVariableType( "a", BuiltInType.NUMBER );
+        ctx.addInputVariableType( "b", BuiltInType.NUMBER );
+        ctx.addInputVariableType( "c", BuiltInType.NUMBER );
+        interpreted = (CompiledExpressionImpl) feel.compile( EXPRESSIONS.get( kind ), ctx );
+        // keeps the expression interpreted
+        interpreted.setCompilationThreshold( -1 );
+        compiled = BytecodeCompiler.compile( (BaseNode) interpreted.getExpression() );
+
+        inputs = new HashMap<>();
+        inputs.put( "a", new BigDecimal( "12" ) );
+        inputs.put( "b", new BigDecimal( "7.5" ) );
+        inputs.put( "c", new BigDecimal( "30" ) );
+    }
+
+    @Benchmark
+    public Object interpreted() {
+        return interpreted.evaluate( inputs );
+    }
+
+    @Benchmark
+    public Object compiled() {
+        return compiled.evaluate( inputs );
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.benchmark;
+
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.kie.dmn.feel.parser.feel11.FEELParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse throughput of the expressions used by FEELParserTest, comparing
+ * a plain full LL parse with the two-stage SLL-then-LL parse. Each
+ * operation parses the whole set of expressions.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FEELParserBenchmark {
+
+    static final String[] EXPRESSIONS = new String[] {
+            "10",
+            "-10.5",
+            "true",
+            "null",
+            "\"some string\"",
+            "not ( true )",
+            "y / 5 * ( x )",
+            "(y * 5) ** 3",
+            "y + 5 * 3",
+            "x between 10+y and 3**z",
+            "x / 4 in ( 10+y, true, 80, someVar )",
+            "x ** y in ( <=1000, >t, null, (2000..z[, ]z..2000], [(10+5)..(a*b)) )",
+            "foo < 10 and bar = \"x\" or baz",
+            "[ 10, foo * bar, true ]",
+            "{ \"a string key\" : 10, a non-string key : foo+bar, a key.with + /' odd chars : [10..50] }",
+            "{ a value : 10, an applicant : { first name : \"Edson\", last + name : \"Tirelli\", " +
+            "full name : first name + last + name, address : { street : \"55 broadway st\", city : \"New York\" }, " +
+            "xxx: last + name } }",
+            "{ is minor : function( person's age ) person's age < 21 }",
+            "{ trigonometric cosine : function( angle ) external { java : { class : \"java.lang.Math\", " +
+            "method signature : \"cos(double)\" } } }",
+            "for item in order.items return item.price * item.quantity",
+            "if applicant.age < 18 then \"declined\" else \"accepted\"",
+            "some item in order.items satisfies item.price > 100",
+            "\"foo\" instance of string and 10 instance of number",
+            "[ {x:1, y:2}, {x:2, y:3} ][ x=1 ]",
+            "my.test.Function( named parameter 1 : x+10, named parameter 2 : \"foo\" )",
+            "date and time( date(\"2016-07-29\"), time(\"19:47:53\") )",
+            "decision table( outputs: \"Applicant Risk Rating\", " +
+            "input expression list: [\"Applicant Age\", \"Medical History\"], " +
+            "rule list: [ [ >60, \"good\", \"Medium\" ], [ >60, \"bad\", \"High\" ], [ [25..60], -, \"Medium\" ], " +
+            "[ <25, \"good\", \"Low\" ], [ <25, \"bad\", \"Medium\" ] ], hit policy: \"Unique\" )",
+            "{ first name : \"bob\" }.first name"
+    };
+
+    private static final Map<String, Object> NO_INPUTS = Collections.emptyMap();
+
+    @Benchmark
+    public void parseLL(Blackhole bh) {
+        for ( String expression : EXPRESSIONS ) {
+            bh.consume( FEELParser.parse( expression, Collections.emptyMap(), NO_INPUTS ).compilation_unit() );
+        }
+    }
+
+    @Benchmark
+    public void parseSLLThenLL(Blackhole bh) {
+        for ( String expression : EXPRESSIONS ) {
+            ParseTree tree = FEELParser.parseCompilationUnit( expression, Collections.emptyMap(), NO_INPUTS );
+            bh.consume( tree );
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.benchmark;
+
+import org.kie.dmn.feel.lang.types.ScopeImpl;
+import org.kie.dmn.feel.lang.types.VariableSymbol;
+import org.kie.dmn.feel.parser.feel11.FEELParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of multi-token name recognition as the number of names in
+ * scope grows: parsing an expression against that many input
+ * variables, and defining and matching names on a single scope.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScopeBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int names;
+
+    private Map<String, Object> inputVariables;
+    private String              expression;
+
+    @Setup
+    public void setup() {
+        inputVariables = new HashMap<>();
+        for ( int i = 0; i < names; i++ ) {
+            inputVariables.put( name( i ), i );
+        }
+        expression = name( 0 ) + " + " + name( names / 2 ) + " * " + name( names - 1 ) + " > 10";
+    }
+
+    private static String name(int i) {
+        return "applicant input " + i + " value";
+    }
+
+    @Benchmark
+    public void parse(Blackhole bh) {
+        bh.consume( FEELParser.parseCompilationUnit( expression, Collections.emptyMap(), inputVariables ) );
+    }
+
+    @Benchmark
+    public boolean defineAndMatch() {
+        ScopeImpl scope = new ScopeImpl( "benchmark", null );
+        for ( String name : inputVariables.keySet() ) {
+            scope.define( new VariableSymbol( name ) );
+        }
+        scope.start( "applicant" );
+        return scope.followUp( "input", false ) &&
+               scope.followUp( String.valueOf( names - 1 ), false ) &&
+               scope.followUp( "value", false );
+    }
+}
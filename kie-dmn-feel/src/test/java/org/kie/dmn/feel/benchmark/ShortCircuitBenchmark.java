@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.benchmark;
+
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.CompilerContext;
+import org.kie.dmn.feel.lang.impl.CompiledExpressionImpl;
+import org.kie.dmn.feel.lang.types.BuiltInType;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boolean operations whose right operand is costly to evaluate. When
+ * the left operand settles the result, false for "and" and true for
+ * "or", the cost of the right operand should disappear.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShortCircuitBenchmark {
+
+    private static final String COSTLY = "sum( for i in values return i * 2 ) > 1000";
+
+    @Param({"and", "or"})
+    private String operator;
+
+    @Param({"true", "false"})
+    private boolean settled;
+
+    @Param({"-1", "0"})
+    private int compilationThreshold;
+
+    private CompiledExpressionImpl expression;
+    private Map<String, Object>    inputs;
+
+    @Setup
+    public void setup() {
+        FEEL feel = FEEL.newInstance();
+        CompilerContext ctx = feel.newCompilerContext();
+        ctx.addInputVariableType( "a", BuiltInType.NUMBER );
+        ctx.addInputVariableType( "values", BuiltInType.LIST );
+        expression = (CompiledExpressionImpl) feel.compile( "a > 10 " + operator + " " + COSTLY, ctx );
+        // -1 measures the interpreter and 0 the bytecode
+        expression.setCompilationThreshold( compilationThreshold );
+
+        List<BigDecimal> values = new ArrayList<>();
+        for ( int i = 0; i < 1000; i++ ) {
+            values.add( new BigDecimal( i ) );
+        }
+        // "a > 10" is false when a is 5 and true when a is 20
+        boolean left = "and".equals( operator ) != settled;
+        inputs = new HashMap<>();
+        inputs.put( "a", new BigDecimal( left ? 20 : 5 ) );
+        inputs.put( "values", values );
+    }
+
+    @Benchmark
+    public Object evaluate() {
+        return expression.evaluate( inputs );
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.ast;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.CompiledExpression;
+import org.kie.dmn.feel.lang.CompilerContext;
+import org.kie.dmn.feel.lang.impl.CompiledExpressionImpl;
+import org.kie.dmn.feel.lang.types.BuiltInType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+@RunWith(Parameterized.class)
+public class ASTSerializerTest {
+
+    @Parameterized.Parameters(name = "{index}: {0}")
+    public static Collection<Object[]> data() {
+        final Object[][] cases = new Object[][]{
+                { "10 + -5.5 * 2 ** 2 / 4 - 0.10" },
+                { "\"foo\" + \"bar\"" },
+                { "not( true ) or null" },
+                { "5 between 1 and 10" },
+                { "10 in ( <5, [8..12), null )" },
+                { "[ {x:1, y:2}, {x:2, y:3} ][ x > 1 ].y" },
+                { "{ a value : 10, plus : function( a, b ) a + b, result : plus( a value, 2 ) }.result" },
+                { "{ minus : function( a, b ) a - b, result : minus( b : 1, a : 3 ) }.result" },
+                { "{ cos : function( angle ) external { java : { class : \"java.lang.Math\", method signature : \"cos(double)\" } }, r : cos( 0 ) }.r" },
+                { "for i in [ 1, 2 ], j in [ 3 ] return i * j" },
+                { "every i in [ 1, 2 ] satisfies i > 0" },
+                { "if 1 > 2 then \"a\" else \"b\"" },
+                { "\"x\" instance of string" },
+                { "substring( \"foobar\", 4 )" },
+                { "date( \"2016-07-29\" ).year" }
+        };
+        return Arrays.asList( cases );
+    }
+
+    @Parameterized.Parameter(0)
+    public String expression;
+
+    @Test
+    public void testSerializedExpressionEvaluatesTheSame() throws Exception {
+        FEEL feel = FEEL.newInstance();
+        CompiledExpression compiled = feel.compile( expression, feel.newCompilerContext() );
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try ( ObjectOutputStream out = new ObjectOutputStream( baos ) ) {
+            out.writeObject( compiled );
+        }
+        CompiledExpression restored;
+        try ( ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( baos.toByteArray() ) ) ) {
+            restored = (CompiledExpression) in.readObject();
+        }
+
+        Object result = feel.evaluate( compiled, Collections.emptyMap() );
+        assertThat( feel.evaluate( restored, Collections.emptyMap() ), is( result ) );
+        assertSameTree( ((CompiledExpressionImpl) restored).getExpression(), ((CompiledExpressionImpl) compiled).getExpression() );
+    }
+
+    @Test
+    public void testNodeTextAndSpans() throws Exception {
+        FEEL feel = FEEL.newInstance();
+        CompilerContext ctx = feel.newCompilerContext();
+        ctx.addInputVariableType( "first name", BuiltInType.STRING );
+        CompiledExpressionImpl compiled = (CompiledExpressionImpl) feel.compile( "\n  first name +\n \"x\"", ctx );
+
+        BaseNode restored = ASTSerializer.fromByteArray( ASTSerializer.toByteArray( compiled.getExpression() ) );
+
+        assertThat( restored, is( instanceOf( InfixOpNode.class ) ) );
+        assertThat( ((InfixOpNode) restored).getLeft().getText(), is( "first name" ) );
+        assertThat( ((InfixOpNode) restored).getRight().getText(), is( "\"x\"" ) );
+        assertSameTree( restored, compiled.getExpression() );
+    }
+
+    private void assertSameTree(ASTNode actual, ASTNode expected) {
+        assertThat( actual.getClass(), is( equalTo( expected.getClass() ) ) );
+        assertThat( actual.getText(), is( expected.getText() ) );
+        assertThat( actual.getStartChar(), is( expected.getStartChar() ) );
+        assertThat( actual.getEndChar(), is( expected.getEndChar() ) );
+        assertThat( actual.getStartLine(), is( expected.getStartLine() ) );
+        assertThat( actual.getStartColumn(), is( expected.getStartColumn() ) );
+        assertThat( actual.getEndLine(), is( expected.getEndLine() ) );
+        assertThat( actual.getEndColumn(), is( expected.getEndColumn() ) );
+    }
+}
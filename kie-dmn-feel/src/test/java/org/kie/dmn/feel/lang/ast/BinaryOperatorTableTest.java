@@ -0,0 +1,49 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.ast;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class BinaryOperatorTableTest {
+
+    @Test
+    public void testImplementationsAreResolvedByOperandClasses() {
+        BinaryOperatorTable table = new BinaryOperatorTable( (l, r) -> "default" )
+                .register( String.class, String.class, (l, r) -> "strings" )
+                .register( List.class, Object.class, (l, r) -> "list" )
+                .register( Collection.class, Object.class, (l, r) -> "collection" )
+                .register( Collection.class, String.class, (l, r) -> "never" );
+
+        assertThat( table.apply( "a", "b" ), is( "strings" ) );
+        assertThat( table.apply( "a", BigDecimal.ONE ), is( "default" ) );
+        assertThat( table.apply( new ArrayList<>(), "b" ), is( "list" ) );
+        // the first registered implementation wins
+        assertThat( table.apply( new HashSet<>(), "b" ), is( "collection" ) );
+        assertThat( table.apply( BigDecimal.ONE, BigDecimal.ONE ), is( "default" ) );
+        // cached pairs resolve the same way
+        assertThat( table.apply( "a", "b" ), is( "strings" ) );
+    }
+}
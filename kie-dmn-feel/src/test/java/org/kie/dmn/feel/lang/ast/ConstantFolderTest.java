@@ -0,0 +1,99 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.ast;
+
+import org.junit.Test;
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.CompilerContext;
+import org.kie.dmn.feel.lang.impl.CompiledExpressionImpl;
+import org.kie.dmn.feel.lang.types.BuiltInType;
+import org.kie.dmn.feel.runtime.Range;
+import org.kie.dmn.feel.runtime.UnaryTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class ConstantFolderTest {
+
+    private final FEEL feel = FEEL.newInstance();
+
+    @Test
+    public void testLiteralsAreFolded() {
+        BaseNode range = compile( "[1..10]" );
+        assertThat( range, is( instanceOf( ConstantNode.class ) ) );
+        assertThat( range.getText(), is( "[1..10]" ) );
+        assertThat( range.evaluate( null ), is( instanceOf( Range.class ) ) );
+
+        BaseNode test = compile( "< 5" );
+        assertThat( test, is( instanceOf( ConstantNode.class ) ) );
+        assertThat( test.evaluate( null ), is( instanceOf( UnaryTest.class ) ) );
+
+        BaseNode math = compile( "10 + 2 * 3" );
+        assertThat( math, is( instanceOf( ConstantNode.class ) ) );
+        assertThat( math.evaluate( null ), is( new BigDecimal( "16" ) ) );
+    }
+
+    @Test
+    public void testPartiallyConstantExpression() {
+        CompilerContext ctx = feel.newCompilerContext();
+        ctx.addInputVariableType( "x", BuiltInType.NUMBER );
+        BaseNode node = compile( "x + 2 * 3", ctx );
+
+        assertThat( node, is( instanceOf( InfixOpNode.class ) ) );
+        assertThat( ((InfixOpNode) node).getLeft(), is( instanceOf( NameRefNode.class ) ) );
+        assertThat( ((InfixOpNode) node).getRight(), is( instanceOf( ConstantNode.class ) ) );
+        assertThat( ((InfixOpNode) node).getRight().getText(), is( "2 * 3" ) );
+    }
+
+    @Test
+    public void testBuiltInFunctionInvocationIsFolded() {
+        BaseNode node = compile( "date( \"2016-01-01\" )" );
+        assertThat( node, is( instanceOf( ConstantNode.class ) ) );
+        assertThat( node.getText(), is( "date( \"2016-01-01\" )" ) );
+        assertThat( node.evaluate( null ), is( LocalDate.of( 2016, 1, 1 ) ) );
+    }
+
+    @Test
+    public void testShadowedBuiltInFunctionIsNotFolded() {
+        String expression = "{ date : function( s ) s, r : date( \"2016-01-01\" ) }.r";
+        assertThat( feel.evaluate( expression ), is( "2016-01-01" ) );
+
+        CompilerContext ctx = feel.newCompilerContext();
+        ctx.addInputVariableType( "date", BuiltInType.FUNCTION );
+        assertThat( compile( "date( \"2016-01-01\" )", ctx ), is( instanceOf( FunctionInvocationNode.class ) ) );
+    }
+
+    @Test
+    public void testMutableAndNullValuesAreNotFolded() {
+        assertThat( compile( "[ 1, 2 ]" ), is( instanceOf( ListNode.class ) ) );
+        assertThat( compile( "{ a : 1 }" ), is( instanceOf( ContextNode.class ) ) );
+        assertThat( compile( "10 + \"foo\"" ), is( instanceOf( InfixOpNode.class ) ) );
+        assertThat( feel.evaluate( "10 + \"foo\"" ), is( nullValue() ) );
+    }
+
+    private BaseNode compile(String expression) {
+        return compile( expression, feel.newCompilerContext() );
+    }
+
+    private BaseNode compile(String expression, CompilerContext ctx) {
+        return (BaseNode) ((CompiledExpressionImpl) feel.compile( expression, ctx )).getExpression();
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.ast;
+
+import org.junit.Test;
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.CompiledExpression;
+import org.kie.dmn.feel.lang.CompilerContext;
+import org.kie.dmn.feel.lang.impl.CompiledExpressionImpl;
+import org.kie.dmn.feel.lang.types.BuiltInType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class SlotResolverTest {
+
+    private final FEEL feel = FEEL.newInstance();
+
+    @Test
+    public void testInputsAreResolvedToSlots() {
+        CompilerContext ctx = feel.newCompilerContext();
+        ctx.addInputVariableType( "a", BuiltInType.NUMBER );
+        ctx.addInputVariableType( "monthly   salary", BuiltInType.NUMBER );
+        CompiledExpression compiled = feel.compile( "a + monthly salary", ctx );
+
+        InfixOpNode node = (InfixOpNode) ((CompiledExpressionImpl) compiled).getExpression();
+        assertThat( node.getLeft(), is( instanceOf( SlotRefNode.class ) ) );
+        assertThat( ((SlotRefNode) node.getLeft()).getFrame(), is( SlotRefNode.GLOBALS_FRAME ) );
+        assertThat( node.getRight(), is( instanceOf( SlotRefNode.class ) ) );
+        assertThat( node.getRight().getResultType(), is( BuiltInType.NUMBER ) );
+
+        Map<String, Object> inputs = new HashMap<>();
+        inputs.put( "a", new BigDecimal( 10 ) );
+        inputs.put( "monthly salary", new BigDecimal( 5 ) );
+        assertThat( feel.evaluate( compiled, inputs ), is( new BigDecimal( 15 ) ) );
+    }
+
+    @Test
+    public void testBuiltInFunctionsAreResolvedToSlots() {
+        CompilerContext ctx = feel.newCompilerContext();
+        ctx.addInputVariableType( "values", BuiltInType.LIST );
+        CompiledExpression compiled = feel.compile( "sum( values )", ctx );
+
+        FunctionInvocationNode node = (FunctionInvocationNode) ((CompiledExpressionImpl) compiled).getExpression();
+        assertThat( node.getName(), is( instanceOf( SlotRefNode.class ) ) );
+        assertThat( ((SlotRefNode) node.getName()).getFrame(), is( SlotRefNode.BUILT_INS_FRAME ) );
+        assertThat( feel.evaluate( compiled, Collections.singletonMap( "values", Arrays.asList( 1, 2, 3 ) ) ), is( new BigDecimal( 6 ) ) );
+    }
+
+    @Test
+    public void testLocalNamesAreNotResolved() {
+        CompilerContext ctx = feel.newCompilerContext();
+        ctx.addInputVariableType( "x", BuiltInType.NUMBER );
+        ctx.addInputVariableType( "y", BuiltInType.NUMBER );
+        CompiledExpression compiled = feel.compile( "{ x : 1, y : x + 1 }", ctx );
+        ContextNode context = (ContextNode) ((CompiledExpressionImpl) compiled).getExpression();
+        BaseNode value = context.getEntries().get( 1 ).getValue();
+        assertThat( ((InfixOpNode) value).getLeft(), is( not( instanceOf( SlotRefNode.class ) ) ) );
+
+        compiled = feel.compile( "for x in [ 1, 2 ] return x + y", ctx );
+        ForExpressionNode loop = (ForExpressionNode) ((CompiledExpressionImpl) compiled).getExpression();
+        assertThat( ((InfixOpNode) loop.getExpression()).getLeft(), is( not( instanceOf( SlotRefNode.class ) ) ) );
+        assertThat( ((InfixOpNode) loop.getExpression()).getRight(), is( instanceOf( SlotRefNode.class ) ) );
+        assertThat( feel.evaluate( compiled, Collections.singletonMap( "y", BigDecimal.TEN ) ),
+                    is( Arrays.asList( new BigDecimal( 11 ), new BigDecimal( 12 ) ) ) );
+    }
+
+    @Test
+    public void testFunctionBodiesAreNotResolved() {
+        CompilerContext ctx = feel.newCompilerContext();
+        ctx.addInputVariableType( "a", BuiltInType.NUMBER );
+        CompiledExpression compiled = feel.compile( "{ f : function( b ) a + b, r : f( 1 ) }.r", ctx );
+        assertThat( feel.evaluate( compiled, Collections.singletonMap( "a", BigDecimal.ONE ) ), is( new BigDecimal( 2 ) ) );
+
+        PathExpressionNode path = (PathExpressionNode) ((CompiledExpressionImpl) compiled).getExpression();
+        FunctionDefNode function = (FunctionDefNode) ((ContextNode) path.getExpression()).getEntries().get( 0 ).getValue();
+        assertThat( ((InfixOpNode) function.getBody()).getLeft(), is( not( instanceOf( SlotRefNode.class ) ) ) );
+    }
+
+    @Test
+    public void testMissingInputsFallBackToTheDynamicLookup() {
+        CompilerContext ctx = feel.newCompilerContext();
+        ctx.addInputVariableType( "sum", BuiltInType.UNKNOWN );
+        ctx.addInputVariableType( "a", BuiltInType.NUMBER );
+        CompiledExpression compiled = feel.compile( "sum( [ a, 2 ] )", ctx );
+
+        // the input shadows the built-in function only when it is set
+        assertThat( feel.evaluate( compiled, Collections.singletonMap( "a", BigDecimal.ONE ) ), is( new BigDecimal( 3 ) ) );
+        Map<String, Object> inputs = new HashMap<>();
+        inputs.put( "a", BigDecimal.ONE );
+        inputs.put( "sum", null );
+        assertThat( feel.evaluate( compiled, inputs ), is( nullValue() ) );
+    }
+
+    @Test
+    public void testUndeclaredInputsShadowBuiltInFunctions() {
+        CompilerContext ctx = feel.newCompilerContext();
+        ctx.addInputVariableType( "values", BuiltInType.LIST );
+        CompiledExpression compiled = feel.compile( "count( values )", ctx );
+
+        Map<String, Object> inputs = new HashMap<>();
+        inputs.put( "values", Arrays.asList( 1, 2 ) );
+        assertThat( feel.evaluate( compiled, inputs ), is( new BigDecimal( 2 ) ) );
+        inputs.put( "count", null );
+        assertThat( feel.evaluate( compiled, inputs ), is( nullValue() ) );
+    }
+
+    @Test
+    public void testSlotsAreResolvedAfterDeserialization() throws Exception {
+        CompilerContext ctx = feel.newCompilerContext();
+        ctx.addInputVariableType( "a", BuiltInType.NUMBER );
+        CompiledExpression compiled = feel.compile( "max( a, 3 )", ctx );
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try ( ObjectOutputStream out = new ObjectOutputStream( baos ) ) {
+            out.writeObject( compiled );
+        }
+        CompiledExpression restored;
+        try ( ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( baos.toByteArray() ) ) ) {
+            restored = (CompiledExpression) in.readObject();
+        }
+
+        FunctionInvocationNode node = (FunctionInvocationNode) ((CompiledExpressionImpl) restored).getExpression();
+        assertThat( node.getName(), is( instanceOf( SlotRefNode.class ) ) );
+        assertThat( node.getParams().getElements().get( 0 ), is( instanceOf( SlotRefNode.class ) ) );
+        assertThat( feel.evaluate( restored, Collections.singletonMap( "a", BigDecimal.TEN ) ), is( BigDecimal.TEN ) );
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.ast;
+
+import org.junit.Test;
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.CompiledExpression;
+import org.kie.dmn.feel.lang.CompilerContext;
+import org.kie.dmn.feel.lang.impl.CompiledExpressionImpl;
+import org.kie.dmn.feel.lang.types.BuiltInType;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class TypeInferrerTest {
+
+    private final FEEL feel = FEEL.newInstance();
+
+    @Test
+    public void testNumericOperationsAreSpecialized() {
+        CompilerContext ctx = feel.newCompilerContext();
+        ctx.addInputVariableType( "a", BuiltInType.NUMBER );
+        ctx.addInputVariableType( "b", BuiltInType.NUMBER );
+        CompiledExpression compiled = feel.compile( "a * 2 + b > 10", ctx );
+
+        ASTNode node = ((CompiledExpressionImpl) compiled).getExpression();
+        assertThat( node, is( instanceOf( NumericInfixOpNode.class ) ) );
+        BaseNode sum = ((InfixOpNode) node).getLeft();
+        assertThat( sum, is( instanceOf( NumericInfixOpNode.class ) ) );
+        assertThat( ((InfixOpNode) sum).getLeft(), is( instanceOf( NumericInfixOpNode.class ) ) );
+
+        Map<String, Object> inputs = new HashMap<>();
+        inputs.put( "a", 5 );
+        inputs.put( "b", new BigDecimal( "0.5" ) );
+        assertThat( feel.evaluate( compiled, inputs ), is( Boolean.TRUE ) );
+        inputs.put( "a", 4 );
+        assertThat( feel.evaluate( compiled, inputs ), is( Boolean.FALSE ) );
+    }
+
+    @Test
+    public void testStringConcatIsSpecialized() {
+        CompilerContext ctx = feel.newCompilerContext();
+        ctx.addInputVariableType( "first name", BuiltInType.STRING );
+        CompiledExpression compiled = feel.compile( "first name + \" Doe\"", ctx );
+
+        assertThat( ((CompiledExpressionImpl) compiled).getExpression(), is( instanceOf( StringConcatNode.class ) ) );
+        assertThat( feel.evaluate( compiled, Collections.singletonMap( "first name", "John" ) ), is( "John Doe" ) );
+    }
+
+    @Test
+    public void testDateTimePlusDurationIsSpecialized() {
+        CompilerContext ctx = feel.newCompilerContext();
+        ctx.addInputVariableType( "start", BuiltInType.DATE_TIME );
+        ctx.addInputVariableType( "delay", BuiltInType.DURATION );
+        CompiledExpression plus = feel.compile( "start + delay", ctx );
+        CompiledExpression minus = feel.compile( "start - delay", ctx );
+        CompiledExpression reversed = feel.compile( "delay + start", ctx );
+
+        assertThat( ((CompiledExpressionImpl) plus).getExpression(), is( instanceOf( DateTimeDurationNode.class ) ) );
+        assertThat( ((CompiledExpressionImpl) minus).getExpression(), is( instanceOf( DateTimeDurationNode.class ) ) );
+        assertThat( ((CompiledExpressionImpl) reversed).getExpression(), is( instanceOf( DateTimeDurationNode.class ) ) );
+
+        Map<String, Object> inputs = new HashMap<>();
+        inputs.put( "start", LocalDateTime.of( 2016, 12, 31, 23, 0 ) );
+        inputs.put( "delay", Duration.ofHours( 2 ) );
+        assertThat( feel.evaluate( plus, inputs ), is( LocalDateTime.of( 2017, 1, 1, 1, 0 ) ) );
+        assertThat( feel.evaluate( minus, inputs ), is( LocalDateTime.of( 2016, 12, 31, 21, 0 ) ) );
+        assertThat( feel.evaluate( reversed, inputs ), is( LocalDateTime.of( 2017, 1, 1, 1, 0 ) ) );
+    }
+
+    @Test
+    public void testUnknownTypesUseGenericNode() {
+        CompilerContext ctx = feel.newCompilerContext();
+        ctx.addInputVariableType( "a", BuiltInType.UNKNOWN );
+        ctx.addInputVariableType( "b", BuiltInType.NUMBER );
+        ASTNode node = ((CompiledExpressionImpl) feel.compile( "a + b", ctx )).getExpression();
+        assertThat( node.getClass(), is( equalTo( InfixOpNode.class ) ) );
+    }
+
+    @Test
+    public void testLocalNamesAreNotTyped() {
+        CompilerContext ctx = feel.newCompilerContext();
+        ctx.addInputVariableType( "a", BuiltInType.NUMBER );
+        // the function parameter shadows the input variable
+        CompiledExpression compiled = feel.compile( "{ f : function( a ) a + 1, r : f( 2 ) }.r", ctx );
+        assertThat( feel.evaluate( compiled, Collections.singletonMap( "a", 10 ) ), is( new BigDecimal( "3" ) ) );
+
+        ASTNode node = ((CompiledExpressionImpl) feel.compile( "for a in [ \"x\" ] return a + \"y\"", ctx )).getExpression();
+        BaseNode body = ((ForExpressionNode) node).getExpression();
+        assertThat( body.getClass(), is( equalTo( InfixOpNode.class ) ) );
+    }
+
+    @Test
+    public void testMismatchedValuesFallBackToGenericEvaluation() {
+        CompilerContext ctx = feel.newCompilerContext();
+        ctx.addInputVariableType( "a", BuiltInType.NUMBER );
+        ctx.addInputVariableType( "b", BuiltInType.NUMBER );
+        CompiledExpression compiled = feel.compile( "a + b", ctx );
+        assertThat( ((CompiledExpressionImpl) compiled).getExpression(), is( instanceOf( NumericInfixOpNode.class ) ) );
+
+        Map<String, Object> inputs = new HashMap<>();
+        inputs.put( "a", "foo" );
+        inputs.put( "b", "bar" );
+        assertThat( feel.evaluate( compiled, inputs ), is( "foobar" ) );
+        inputs.put( "b", null );
+        assertThat( feel.evaluate( compiled, inputs ), is( nullValue() ) );
+    }
+
+    @Test
+    public void testInputValueTypesAreInferred() {
+        Map<String, Object> inputs = new HashMap<>();
+        inputs.put( "a", 1 );
+        assertThat( feel.evaluate( "a / 0", inputs ), is( nullValue() ) );
+        assertThat( feel.evaluate( "a / 4", inputs ), is( new BigDecimal( "0.25" ) ) );
+    }
+}
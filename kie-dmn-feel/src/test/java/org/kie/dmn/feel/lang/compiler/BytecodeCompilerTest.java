@@ -0,0 +1,223 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.dmn.feel.lang.compiler;
+
+import org.junit.Test;
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.CompiledExpression;
+import org.kie.dmn.feel.lang.CompilerContext;
+import org.kie.dmn.feel.lang.ast.BaseNode;
+import org.kie.dmn.feel.lang.ast.NameRefNode;
+import org.kie.dmn.feel.lang.impl.CompiledExpressionImpl;
+import org.kie.dmn.feel.lang.impl.EvaluationContextImpl;
+import org.kie.dmn.feel.lang.types.BuiltInType;
+import org.kie.dmn.feel.runtime.FEELFunction;
+import org.kie.dmn.feel.runtime.functions.BaseFEELFunction;
+import org.kie.dmn.feel.runtime.functions.ParameterName;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class BytecodeCompilerTest {
+
+    private final FEEL feel = FEEL.newInstance();
+
+    @Test
+    public void testExpressionIsCompiledAfterThreshold() {
+        CompiledExpressionImpl expr = compile( "if a > 10 then a * 2 else a - 1" );
+        expr.setCompilationThreshold( 3 );
+        Map<String, Object> inputs = Collections.singletonMap( "a", new BigDecimal( "20" ) );
+
+        assertThat( expr.evaluate( inputs ), is( new BigDecimal( "40" ) ) );
+        assertThat( expr.evaluate( inputs ), is( new BigDecimal( "40" ) ) );
+        assertThat( expr.getCompiledExpression(), is( nullValue() ) );
+        assertThat( expr.evaluate( inputs ), is( new BigDecimal( "40" ) ) );
+        assertThat( expr.getCompiledExpression(), is( notNullValue() ) );
+
+        assertThat( expr.evaluate( inputs ), is( new BigDecimal( "40" ) ) );
+        assertThat( expr.evaluate( Collections.singletonMap( "a", new BigDecimal( "5" ) ) ), is( new BigDecimal( "4" ) ) );
+        assertThat( expr.evaluate( Collections.singletonMap( "a", "x" ) ), is( nullValue() ) );
+    }
+
+    @Test
+    public void testCompilationIsDisabledByDefault() {
+        CompiledExpressionImpl expr = compile( "a + 1" );
+        assertThat( expr.getCompilationThreshold(), is( BytecodeCompiler.DEFAULT_THRESHOLD ) );
+        for ( int i = 0; i < 10; i++ ) {
+            expr.evaluate( Collections.singletonMap( "a", new BigDecimal( i ) ) );
+        }
+        assertThat( expr.getCompiledExpression(), is( nullValue() ) );
+    }
+
+    @Test
+    public void testCompiledExpressionKeepsTheGlobalLayout() {
+        CompiledExpressionImpl expr = compile( "a * 2" );
+        expr.setCompilationThreshold( 0 );
+        expr.evaluate( Collections.singletonMap( "a", BigDecimal.ONE ) );
+        assertThat( expr.getGlobals().indexOf( "a" ), is( not( -1 ) ) );
+        assertThat( expr.getCompiledExpression().getGlobals(), is( sameInstance( expr.getGlobals() ) ) );
+
+        CompiledFEELExpression compiled = BytecodeCompiler.compile( (BaseNode) expr.getExpression(), expr.getGlobals() );
+        assertThat( compiled.getGlobals(), is( sameInstance( expr.getGlobals() ) ) );
+        assertThat( compiled.evaluate( Collections.singletonMap( "a", new BigDecimal( "4" ) ) ), is( new BigDecimal( "8" ) ) );
+    }
+
+    @Test
+    public void testSlotsAreReadWithoutTheInterpreter() {
+        CompiledExpressionImpl expr = compile( "if a > 10 then floor( a ) else a - 1" );
+        CompiledFEELExpression compiled = BytecodeCompiler.compile( (BaseNode) expr.getExpression(), expr.getGlobals() );
+        // the interpreted nodes are kept as constants, name references are not
+        assertThat( Arrays.stream( compiled.constants ).filter( c -> c instanceof NameRefNode ).count(), is( 0L ) );
+
+        assertThat( compiled.evaluate( Collections.singletonMap( "a", new BigDecimal( "-20" ) ) ), is( new BigDecimal( "-21" ) ) );
+        assertThat( compiled.evaluate( Collections.singletonMap( "a", new BigDecimal( "20.5" ) ) ), is( new BigDecimal( "20" ) ) );
+        // the names are looked up when the slots can not be used
+        EvaluationContextImpl ctx = new EvaluationContextImpl();
+        ctx.setValue( "a", new BigDecimal( "30.5" ) );
+        assertThat( compiled.evaluate( ctx ), is( new BigDecimal( "30" ) ) );
+        assertThat( compiled.evaluate( Collections.emptyMap() ), is( nullValue() ) );
+    }
+
+    @Test
+    public void testNegativeThresholdDisablesCompilation() {
+        CompiledExpressionImpl expr = compile( "a + 1" );
+        expr.setCompilationThreshold( -1 );
+        for ( int i = 0; i < 10; i++ ) {
+            assertThat( expr.evaluate( Collections.singletonMap( "a", i ) ), is( new BigDecimal( i + 1 ) ) );
+        }
+        assertThat( expr.getCompiledExpression(), is( nullValue() ) );
+    }
+
+    @Test
+    public void testInterpretedNodes() {
+        // nodes not supported by the compiler are evaluated by the interpreter
+        String expression = "{ f : function( x ) x * a, r : for i in [ 1, 2, 3 ] return f( i ) }.r[ item > 2 ]";
+        CompiledExpressionImpl expr = compile( expression );
+        CompiledFEELExpression compiled = BytecodeCompiler.compile( (BaseNode) expr.getExpression(), expr.getGlobals() );
+        Map<String, Object> inputs = Collections.singletonMap( "a", 2 );
+
+        assertThat( compiled.evaluate( inputs ), is( expr.evaluate( inputs ) ) );
+        assertThat( (Iterable<?>) compiled.evaluate( inputs ), contains( new BigDecimal( "4" ), new BigDecimal( "6" ) ) );
+    }
+
+    @Test
+    public void testFunctionInvocation() {
+        CompiledExpressionImpl expr = compile( "substring( s, a ) + upper case( substring( s, 1, a - 1 ) )" );
+        CompiledFEELExpression compiled = BytecodeCompiler.compile( (BaseNode) expr.getExpression(), expr.getGlobals() );
+        Map<String, Object> inputs = new HashMap<>();
+        inputs.put( "s", "foobar" );
+        inputs.put( "a", 4 );
+
+        assertThat( compiled.evaluate( inputs ), is( "barFOO" ) );
+        assertThat( feel.evaluate( compiled, inputs ), is( "barFOO" ) );
+    }
+
+    @Test
+    public void testBooleanOperatorsShortCircuit() {
+        CompiledExpressionImpl and = compile( "a > 10 and f( a )" );
+        CompiledExpressionImpl or = compile( "a > 10 or f( a )" );
+        CompiledFEELExpression[] compiled = { BytecodeCompiler.compile( (BaseNode) and.getExpression(), and.getGlobals() ),
+                                              BytecodeCompiler.compile( (BaseNode) or.getExpression(), or.getGlobals() ) };
+        CountingFunction f = new CountingFunction();
+
+        for ( CompiledExpression expr : new CompiledExpression[]{ and, compiled[0] } ) {
+            assertThat( feel.evaluate( expr, inputs( new BigDecimal( "5" ), f ) ), is( false ) );
+            assertThat( f.calls, is( 0 ) );
+            assertThat( feel.evaluate( expr, inputs( new BigDecimal( "20" ), f ) ), is( true ) );
+            assertThat( f.calls, is( 1 ) );
+            // null is not false, so the right operand settles the result
+            assertThat( feel.evaluate( expr, inputs( null, f ) ), is( nullValue() ) );
+            assertThat( f.calls, is( 2 ) );
+            f.calls = 0;
+        }
+        for ( CompiledExpression expr : new CompiledExpression[]{ or, compiled[1] } ) {
+            assertThat( feel.evaluate( expr, inputs( new BigDecimal( "20" ), f ) ), is( true ) );
+            assertThat( f.calls, is( 0 ) );
+            assertThat( feel.evaluate( expr, inputs( new BigDecimal( "5" ), f ) ), is( true ) );
+            assertThat( f.calls, is( 1 ) );
+            assertThat( feel.evaluate( expr, inputs( null, f ) ), is( true ) );
+            assertThat( f.calls, is( 2 ) );
+            f.calls = 0;
+        }
+    }
+
+    @Test
+    public void testCompiledExpressionIsSerializedAsAST() throws Exception {
+        CompiledExpressionImpl expr = compile( "a * 3" );
+        expr.setCompilationThreshold( 0 );
+        expr.evaluate( Collections.singletonMap( "a", 1 ) );
+        assertThat( expr.getCompiledExpression(), is( notNullValue() ) );
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try ( ObjectOutputStream out = new ObjectOutputStream( baos ) ) {
+            out.writeObject( expr );
+        }
+        CompiledExpressionImpl restored;
+        try ( ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( baos.toByteArray() ) ) ) {
+            restored = (CompiledExpressionImpl) in.readObject();
+        }
+        assertThat( restored.getCompiledExpression(), is( nullValue() ) );
+        assertThat( restored.getCompilationThreshold(), is( 0 ) );
+        assertThat( restored.evaluate( Collections.singletonMap( "a", 2 ) ), is( new BigDecimal( "6" ) ) );
+    }
+
+    @Test(expected = NotSerializableException.class)
+    public void testGeneratedClassIsNotSerializable() throws Exception {
+        CompiledExpression compiled = BytecodeCompiler.compile( (BaseNode) compile( "a * 3" ).getExpression() );
+        try ( ObjectOutputStream out = new ObjectOutputStream( new ByteArrayOutputStream() ) ) {
+            out.writeObject( compiled );
+        }
+    }
+
+    private Map<String, Object> inputs(Object a, FEELFunction f) {
+        Map<String, Object> inputs = new HashMap<>();
+        inputs.put( "a", a );
+        inputs.put( "f", f );
+        return inputs;
+    }
+
+    private CompiledExpressionImpl compile(String expression) {
+        CompilerContext ctx = feel.newCompilerContext();
+        ctx.addInputVariableType( "a", BuiltInType.NUMBER );
+        ctx.addInputVariableType( "s", BuiltInType.STRING );
+        return (CompiledExpressionImpl) feel.compile( expression, ctx );
+    }
+
+    public static class CountingFunction
+            extends BaseFEELFunction {
+        private int calls;
+
+        public CountingFunction() {
+            super( "f" );
+        }
+
+        public Boolean apply(@ParameterName("x") Object x) {
+            calls++;
+            return true;
+        }
+    }
+}
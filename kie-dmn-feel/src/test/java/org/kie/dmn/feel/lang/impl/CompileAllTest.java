@@ -0,0 +1,90 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.impl;
+
+import org.junit.Test;
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.CompiledExpression;
+import org.kie.dmn.feel.lang.CompilerContext;
+import org.kie.dmn.feel.lang.types.BuiltInType;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class CompileAllTest {
+
+    private final FEEL feel = FEEL.newInstance();
+
+    @Test
+    public void testExpressionsAreCompiledInOrder() {
+        List<String> expressions = Arrays.asList(
+                "first name + \" \" + last name",
+                "monthly income * 12",
+                "[ <10, [10..20], > 20 ]",
+                "if monthly income > 1000 then \"high\" else \"low\"",
+                "string length( first name )" );
+        CompilerContext ctx = feel.newCompilerContext();
+        ctx.addInputVariableType( "first name", BuiltInType.STRING );
+        ctx.addInputVariableType( "last name", BuiltInType.STRING );
+        ctx.addInputVariableType( "monthly income", BuiltInType.NUMBER );
+        Map<String, Object> inputs = new HashMap<>();
+        inputs.put( "first name", "John" );
+        inputs.put( "last name", "Doe" );
+        inputs.put( "monthly income", new BigDecimal( "1500" ) );
+
+        List<CompiledExpression> compiled = feel.compileAll( expressions, ctx );
+
+        assertThat( compiled, hasSize( expressions.size() ) );
+        assertThat( feel.evaluate( compiled.get( 0 ), inputs ), is( "John Doe" ) );
+        assertThat( feel.evaluate( compiled.get( 1 ), inputs ), is( new BigDecimal( "18000" ) ) );
+        assertThat( (List<?>) feel.evaluate( compiled.get( 2 ), inputs ), hasSize( 3 ) );
+        assertThat( feel.evaluate( compiled.get( 3 ), inputs ), is( "high" ) );
+        for ( int i = 0; i < expressions.size(); i++ ) {
+            Object expected = feel.evaluate( feel.compile( expressions.get( i ), ctx ), inputs );
+            if ( !(expected instanceof List) ) {
+                assertThat( feel.evaluate( compiled.get( i ), inputs ), is( expected ) );
+            }
+        }
+    }
+
+    @Test
+    public void testSymbolsDoNotLeakBetweenExpressions() {
+        // the first expression defines "a-b" as a context entry, but the
+        // second expression must still parse "a-b" as a subtraction
+        List<CompiledExpression> compiled = feel.compileAll(
+                Arrays.asList( "{ a-b : 1, c : a-b }.c", "a-b" ),
+                feel.newCompilerContext() );
+        Map<String, Object> inputs = new HashMap<>();
+        inputs.put( "a", new BigDecimal( "5" ) );
+        inputs.put( "b", new BigDecimal( "3" ) );
+
+        assertThat( feel.evaluate( compiled.get( 0 ), inputs ), is( new BigDecimal( "1" ) ) );
+        assertThat( feel.evaluate( compiled.get( 1 ), inputs ), is( new BigDecimal( "2" ) ) );
+    }
+
+    @Test
+    public void testEmptyBatch() {
+        assertThat( feel.compileAll( Collections.emptyList(), feel.newCompilerContext() ), is( empty() ) );
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.impl;
+
+import org.junit.Test;
+import org.kie.dmn.feel.lang.CompiledExpression;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class CompiledExpressionCacheTest {
+
+    @Test
+    public void testHitsAndMisses() {
+        FEELImpl feel = new FEELImpl( new CompiledExpressionCache( 10, CompiledExpressionCache.EvictionPolicy.LRU ) );
+        Map<String, Object> inputs = new HashMap<>();
+        inputs.put( "a", 10 );
+
+        assertThat( feel.evaluate( "a + 1", inputs ), is( new BigDecimal( "11" ) ) );
+        inputs.put( "a", 20 );
+        assertThat( feel.evaluate( "a + 1", inputs ), is( new BigDecimal( "21" ) ) );
+
+        CompiledExpressionCache cache = feel.getExpressionCache();
+        assertThat( cache.size(), is( 1 ) );
+        assertThat( cache.getMissCount(), is( 1L ) );
+        assertThat( cache.getHitCount(), is( 1L ) );
+    }
+
+    @Test
+    public void testInputNamesArePartOfTheKey() {
+        FEELImpl feel = new FEELImpl( new CompiledExpressionCache( 10, CompiledExpressionCache.EvictionPolicy.LRU ) );
+        Map<String, Object> inputs = new HashMap<>();
+        inputs.put( "first name", "John" );
+
+        assertThat( feel.evaluate( "first name", inputs ), is( "John" ) );
+        assertThat( feel.evaluate( "first name", Collections.singletonMap( "first", "Jane" ) ), is( nullValue() ) );
+
+        CompiledExpressionCache cache = feel.getExpressionCache();
+        assertThat( cache.size(), is( 2 ) );
+        assertThat( cache.getHitCount(), is( 0L ) );
+    }
+
+    @Test
+    public void testInputTypesArePartOfTheKey() {
+        FEELImpl feel = new FEELImpl( new CompiledExpressionCache( 10, CompiledExpressionCache.EvictionPolicy.LRU ) );
+        CompiledExpressionCache cache = feel.getExpressionCache();
+
+        assertThat( feel.evaluate( "a + a", Collections.singletonMap( "a", 10 ) ), is( new BigDecimal( "20" ) ) );
+        assertThat( feel.evaluate( "a + a", Collections.singletonMap( "a", "x" ) ), is( "xx" ) );
+        assertThat( cache.size(), is( 2 ) );
+
+        // values of the same type share the entry
+        assertThat( feel.evaluate( "a + a", Collections.singletonMap( "a", new BigDecimal( "1.5" ) ) ), is( new BigDecimal( "3.0" ) ) );
+        assertThat( feel.evaluate( "a + a", Collections.singletonMap( "a", "y" ) ), is( "yy" ) );
+        assertThat( cache.size(), is( 2 ) );
+        assertThat( cache.getHitCount(), is( 2L ) );
+    }
+
+    @Test
+    public void testLRUEviction() {
+        CompiledExpressionCache cache = new CompiledExpressionCache( 2, CompiledExpressionCache.EvictionPolicy.LRU );
+        Map<String, Object> inputs = Collections.emptyMap();
+        CompiledExpression first = compile( cache, "1", inputs );
+        compile( cache, "2", inputs );
+        // touches "1" so that "2" becomes the least recently used
+        compile( cache, "1", inputs );
+        compile( cache, "3", inputs );
+
+        assertThat( cache.size(), is( 2 ) );
+        assertThat( cache.getEvictionCount(), is( 1L ) );
+        assertThat( compile( cache, "1", inputs ), is( sameInstance( first ) ) );
+        assertThat( cache.getMissCount(), is( 3L ) );
+        compile( cache, "2", inputs );
+        assertThat( cache.getMissCount(), is( 4L ) );
+    }
+
+    @Test
+    public void testLFUEviction() {
+        CompiledExpressionCache cache = new CompiledExpressionCache( 2, CompiledExpressionCache.EvictionPolicy.LFU );
+        Map<String, Object> inputs = Collections.emptyMap();
+        compile( cache, "1", inputs );
+        compile( cache, "1", inputs );
+        compile( cache, "1", inputs );
+        compile( cache, "2", inputs );
+        compile( cache, "2", inputs );
+        compile( cache, "3", inputs );
+
+        // "3" evicted "2", as it was the least frequently used
+        assertThat( cache.size(), is( 2 ) );
+        assertThat( cache.getEvictionCount(), is( 1L ) );
+        long misses = cache.getMissCount();
+        compile( cache, "1", inputs );
+        compile( cache, "3", inputs );
+        assertThat( cache.getMissCount(), is( misses ) );
+        compile( cache, "2", inputs );
+        assertThat( cache.getMissCount(), is( misses + 1 ) );
+    }
+
+    @Test
+    public void testCacheDisabled() {
+        FEELImpl feel = new FEELImpl( null );
+        assertThat( feel.getExpressionCache(), is( nullValue() ) );
+        assertThat( feel.evaluate( "1 + 2" ), is( new BigDecimal( "3" ) ) );
+    }
+
+    private CompiledExpression compile(CompiledExpressionCache cache, String expression, Map<String, Object> inputs) {
+        FEELImpl feel = new FEELImpl( null );
+        return cache.computeIfAbsent( expression, inputs, () -> feel.compile( expression, feel.newCompilerContext() ) );
+    }
+}
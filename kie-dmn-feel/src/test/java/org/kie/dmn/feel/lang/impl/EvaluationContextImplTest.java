@@ -0,0 +1,167 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.impl;
+
+import org.junit.Test;
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.CompiledExpression;
+import org.kie.dmn.feel.lang.CompilerContext;
+import org.kie.dmn.feel.lang.types.BuiltInType;
+import org.kie.dmn.feel.runtime.FEELFunction;
+import org.kie.dmn.feel.runtime.functions.BuiltInFunctions;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class EvaluationContextImplTest {
+
+    @Test
+    public void testBuiltInFunctionsFrameIsShared() {
+        EvaluationContextImpl first = new EvaluationContextImpl();
+        EvaluationContextImpl second = new EvaluationContextImpl();
+        assertThat( first.getFrame( 0 ), is( sameInstance( ExecutionFrame.BUILT_INS ) ) );
+        assertThat( second.getFrame( 0 ), is( sameInstance( ExecutionFrame.BUILT_INS ) ) );
+        assertThat( first.peek(), is( not( sameInstance( second.peek() ) ) ) );
+
+        for ( FEELFunction f : BuiltInFunctions.getFunctions() ) {
+            assertThat( first.getValue( f.getName() ), is( sameInstance( f ) ) );
+        }
+    }
+
+    @Test
+    public void testGlobalsShadowBuiltInFunctions() {
+        EvaluationContextImpl ctx = new EvaluationContextImpl();
+        ctx.setValue( "sum", 42 );
+        assertThat( ctx.getValue( "sum" ), is( 42 ) );
+        assertThat( new EvaluationContextImpl().getValue( "sum" ), is( instanceOf( FEELFunction.class ) ) );
+    }
+
+    @Test( expected = UnsupportedOperationException.class )
+    public void testBuiltInFunctionsFrameIsImmutable() {
+        ExecutionFrame.BUILT_INS.setValue( "sum", null );
+    }
+
+    @Test
+    public void testFramesAreRecycled() {
+        EvaluationContextImpl ctx = new EvaluationContextImpl();
+        ctx.setValue( "a", 1 );
+        ctx.enterFrame();
+        ExecutionFrame frame = ctx.peek();
+        ctx.setValue( "b", 2 );
+        ctx.enterFrame();
+        ctx.setValue( "a", 3 );
+        assertThat( ctx.getValue( "a" ), is( 3 ) );
+        assertThat( ctx.getValue( "b" ), is( 2 ) );
+        ctx.exitFrame();
+        assertThat( ctx.getValue( "a" ), is( 1 ) );
+        ctx.exitFrame();
+        assertThat( ctx.getDepth(), is( 2 ) );
+
+        ctx.enterFrame();
+        assertThat( ctx.peek(), is( sameInstance( frame ) ) );
+        assertThat( ctx.getValue( "b" ), is( nullValue() ) );
+        assertThat( ctx.getValue( "a" ), is( 1 ) );
+        ctx.exitFrame();
+    }
+
+    @Test
+    public void testPushedFramesAreNotRecycled() {
+        EvaluationContextImpl ctx = new EvaluationContextImpl();
+        ExecutionFrame pushed = new ExecutionFrame( ctx.peek() );
+        ctx.push( pushed );
+        ctx.setValue( "a", 1 );
+        ctx.enterFrame();
+        assertThat( ctx.getValue( "a" ), is( 1 ) );
+        ctx.exitFrame();
+        assertThat( ctx.pop(), is( sameInstance( pushed ) ) );
+
+        ctx.enterFrame();
+        assertThat( ctx.peek(), is( not( sameInstance( pushed ) ) ) );
+        assertThat( pushed.getValue( "a" ), is( 1 ) );
+        assertThat( ctx.getValue( "a" ), is( nullValue() ) );
+    }
+
+    @Test
+    public void testGlobalFrameReadsThroughTheInputVariables() {
+        Map<String, Object> inputs = new HashMap<>();
+        inputs.put( "a", 1 );
+        inputs.put( "monthly \t salary", 2 );
+        inputs.put( "b", null );
+        EvaluationContextImpl ctx = new EvaluationContextImpl( FrameLayout.of( "a" ), inputs );
+        assertThat( ctx.getValue( "a" ), is( 1 ) );
+        assertThat( ctx.getValue( "monthly salary" ), is( 2 ) );
+
+        inputs.put( "c", 3 );
+        assertThat( ctx.getValue( "c" ), is( 3 ) );
+
+        ctx.setValue( "a", 4 );
+        ctx.setValue( "b", 5 );
+        assertThat( ctx.getValue( "a" ), is( 4 ) );
+        assertThat( ctx.getValue( "b" ), is( 5 ) );
+        assertThat( inputs.get( "a" ), is( 1 ) );
+        assertThat( inputs.get( "b" ), is( nullValue() ) );
+    }
+
+    @Test
+    public void testInputVariablesAreNotCopied() {
+        Map<String, Object> inputs = new HashMap<String, Object>() {
+            @Override
+            public Set<Entry<String, Object>> entrySet() {
+                throw new UnsupportedOperationException();
+            }
+        };
+        inputs.put( "a", BigDecimal.ONE );
+        inputs.put( "sum", BigDecimal.TEN );
+        FEEL feel = FEEL.newInstance();
+        CompilerContext compilerCtx = feel.newCompilerContext();
+        compilerCtx.addInputVariableType( "a", BuiltInType.NUMBER );
+        CompiledExpression compiled = feel.compile( "a + 1", compilerCtx );
+        assertThat( feel.evaluate( compiled, inputs ), is( new BigDecimal( 2 ) ) );
+        // the input shadows the built-in function
+        assertThat( feel.evaluate( feel.compile( "sum", compilerCtx ), inputs ), is( BigDecimal.TEN ) );
+    }
+
+    @Test
+    public void testBuiltInLookupsDoNotScanTheInputVariables() {
+        AtomicInteger scans = new AtomicInteger();
+        Map<String, Object> inputs = new HashMap<String, Object>() {
+            @Override
+            public Set<String> keySet() {
+                scans.incrementAndGet();
+                return super.keySet();
+            }
+        };
+        for ( int i = 0; i < 1000; i++ ) {
+            inputs.put( "input  " + i, i );
+        }
+        inputs.put( "a", BigDecimal.ONE );
+        FEEL feel = FEEL.newInstance();
+        CompilerContext compilerCtx = feel.newCompilerContext();
+        compilerCtx.addInputVariableType( "a", BuiltInType.NUMBER );
+        CompiledExpression compiled = feel.compile( "sum( [ a, 2 ] )", compilerCtx );
+        for ( int i = 0; i < 10; i++ ) {
+            assertThat( feel.evaluate( compiled, inputs ), is( new BigDecimal( 3 ) ) );
+        }
+        assertThat( scans.get(), is( 0 ) );
+    }
+}
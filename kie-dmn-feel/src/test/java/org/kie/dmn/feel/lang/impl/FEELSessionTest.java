@@ -0,0 +1,172 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.impl;
+
+import org.junit.Test;
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.CompiledExpression;
+import org.kie.dmn.feel.lang.CompilerContext;
+import org.kie.dmn.feel.lang.FEELSession;
+import org.kie.dmn.feel.lang.types.BuiltInType;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class FEELSessionTest {
+
+    private final FEEL feel = FEEL.newInstance();
+
+    @Test
+    public void testEvaluateManyExpressions() {
+        CompilerContext ctx = feel.newCompilerContext();
+        ctx.addInputVariableType( "a", BuiltInType.NUMBER );
+        ctx.addInputVariableType( "b", BuiltInType.NUMBER );
+        List<CompiledExpression> compiled = feel.compileAll( Arrays.asList( "a + b", "a * b", "sum( [ a, b ] )", "{ a : 1, c : a + b }.c" ), ctx );
+        CompiledExpression other = feel.compile( "if a > b then \"a\" else \"b\"", ctx );
+
+        Map<String, Object> inputs = new HashMap<>();
+        inputs.put( "a", new BigDecimal( 2 ) );
+        inputs.put( "b", new BigDecimal( 3 ) );
+        FEELSession session = feel.newSession( inputs );
+        for ( int i = 0; i < 2; i++ ) {
+            assertThat( session.evaluate( compiled.get( 0 ) ), is( new BigDecimal( 5 ) ) );
+            assertThat( session.evaluate( compiled.get( 1 ) ), is( new BigDecimal( 6 ) ) );
+            assertThat( session.evaluate( compiled.get( 2 ) ), is( new BigDecimal( 5 ) ) );
+            assertThat( session.evaluate( compiled.get( 3 ) ), is( new BigDecimal( 4 ) ) );
+            assertThat( session.evaluate( other ), is( "b" ) );
+        }
+        for ( CompiledExpression expression : compiled ) {
+            assertThat( session.evaluate( expression ), is( feel.evaluate( expression, inputs ) ) );
+        }
+    }
+
+    @Test
+    public void testReset() {
+        CompilerContext ctx = feel.newCompilerContext();
+        ctx.addInputVariableType( "a", BuiltInType.NUMBER );
+        CompiledExpression compiled = feel.compile( "a + 1", ctx );
+
+        Map<String, Object> inputs = new HashMap<>();
+        inputs.put( "a", BigDecimal.ONE );
+        FEELSession session = feel.newSession( inputs );
+        assertThat( session.evaluate( compiled ), is( new BigDecimal( 2 ) ) );
+
+        Map<String, Object> next = new HashMap<>();
+        next.put( "a", BigDecimal.TEN );
+        session.reset( next );
+        assertThat( session.getInputVariables(), is( sameInstance( next ) ) );
+        assertThat( session.evaluate( compiled ), is( new BigDecimal( 11 ) ) );
+
+        session.reset( null );
+        assertThat( session.evaluate( compiled ), is( nullValue() ) );
+    }
+
+    @Test
+    public void testBytecodeCompiledExpressions() {
+        CompilerContext ctx = feel.newCompilerContext();
+        ctx.addInputVariableType( "a", BuiltInType.NUMBER );
+        CompiledExpressionImpl compiled = (CompiledExpressionImpl) feel.compile( "a * 3", ctx );
+        compiled.setCompilationThreshold( 1 );
+
+        Map<String, Object> inputs = new HashMap<>();
+        inputs.put( "a", new BigDecimal( 2 ) );
+        FEELSession session = feel.newSession( inputs );
+        for ( int i = 0; i < 3; i++ ) {
+            assertThat( session.evaluate( compiled ), is( new BigDecimal( 6 ) ) );
+        }
+        assertThat( compiled.getCompiledExpression(), is( notNullValue() ) );
+        assertThat( session.evaluate( compiled.getCompiledExpression() ), is( new BigDecimal( 6 ) ) );
+    }
+
+    @Test
+    public void testDefaultSessionDelegatesToTheEngine() {
+        FEEL other = new OtherFEEL( feel );
+        CompilerContext ctx = other.newCompilerContext();
+        ctx.addInputVariableType( "a", BuiltInType.NUMBER );
+        CompiledExpression compiled = other.compile( "a + 1", ctx );
+
+        FEELSession session = other.newSession( Collections.singletonMap( "a", BigDecimal.ONE ) );
+        assertThat( session, is( instanceOf( DelegatingFEELSession.class ) ) );
+        assertThat( session.evaluate( compiled ), is( new BigDecimal( 2 ) ) );
+        assertThat( session.evaluate( new OtherExpression() ), is( BigDecimal.ONE ) );
+
+        session.reset( Collections.singletonMap( "a", BigDecimal.TEN ) );
+        assertThat( session.evaluate( compiled ), is( new BigDecimal( 11 ) ) );
+        assertThat( session.evaluate( new OtherExpression() ), is( BigDecimal.TEN ) );
+    }
+
+    @Test
+    public void testExpressionsOfOtherImplementationsAreEvaluatedByTheEngine() {
+        FEEL engine = new FEELImpl() {
+            @Override
+            public Object evaluate(CompiledExpression expr, Map<String, Object> inputVariables) {
+                return expr instanceof OtherExpression ? inputVariables.get( "a" ) : super.evaluate( expr, inputVariables );
+            }
+        };
+        FEELSession session = engine.newSession( Collections.singletonMap( "a", BigDecimal.ONE ) );
+        assertThat( session, is( instanceOf( FEELSessionImpl.class ) ) );
+        assertThat( session.evaluate( new OtherExpression() ), is( BigDecimal.ONE ) );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void testUnknownExpressionsAreRejected() {
+        feel.newSession( Collections.emptyMap() ).evaluate( new OtherExpression() );
+    }
+
+    private static class OtherExpression
+            implements CompiledExpression {
+    }
+
+    /**
+     * A FEEL implementation that does not provide its own sessions
+     */
+    private static class OtherFEEL
+            implements FEEL {
+        private final FEEL delegate;
+
+        private OtherFEEL(FEEL delegate) {
+            this.delegate = delegate;
+        }
+
+        public CompilerContext newCompilerContext() {
+            return delegate.newCompilerContext();
+        }
+
+        public CompiledExpression compile(String expression, CompilerContext ctx) {
+            return delegate.compile( expression, ctx );
+        }
+
+        public Object evaluate(String expression) {
+            return delegate.evaluate( expression );
+        }
+
+        public Object evaluate(String expression, Map<String, Object> inputVariables) {
+            return delegate.evaluate( expression, inputVariables );
+        }
+
+        public Object evaluate(CompiledExpression expression, Map<String, Object> inputVariables) {
+            return expression instanceof OtherExpression ? inputVariables.get( "a" ) : delegate.evaluate( expression, inputVariables );
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.dmn.feel.lang.types;
+
+import org.junit.Test;
+import org.kie.dmn.feel.lang.Scope;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class ScopeImplTest {
+
+    @Test
+    public void testSymbolsAreTokenizedOnce() {
+        List<String> tokens = ScopeImpl.tokenize( "monthly income tax" );
+        assertThat( tokens, contains( "monthly", "income", "tax" ) );
+        assertThat( ScopeImpl.tokenize( "monthly income tax" ), is( sameInstance( tokens ) ) );
+    }
+
+    @Test
+    public void testLeastRecentlyUsedSymbolsAreEvicted() {
+        List<String> hot = ScopeImpl.tokenize( "hot symbol" );
+        List<String> cold = ScopeImpl.tokenize( "cold symbol" );
+        for ( int i = 0; i < 12000; i++ ) {
+            ScopeImpl.tokenize( "generated symbol " + i );
+            if ( i % 1000 == 0 ) {
+                assertThat( ScopeImpl.tokenize( "hot symbol" ), is( sameInstance( hot ) ) );
+            }
+        }
+        assertThat( ScopeImpl.tokenize( "hot symbol" ), is( sameInstance( hot ) ) );
+        assertThat( ScopeImpl.tokenize( "cold symbol" ), is( not( sameInstance( cold ) ) ) );
+        assertThat( ScopeImpl.tokenize( "cold symbol" ), is( cold ) );
+    }
+
+    @Test
+    public void testBuiltInScopesShareTheirTokenTree() {
+        Scope first = new SymbolTable().getBuiltInScope();
+        Scope second = new SymbolTable().getBuiltInScope();
+        assertThat( first.resolve( "string length" ), is( notNullValue() ) );
+        assertRecognized( first, true, "string", "length" );
+        assertRecognized( second, true, "string", "length" );
+
+        // the names defined in a scope are not seen by the other scopes
+        first.define( new VariableSymbol( "string size" ) );
+        assertRecognized( first, true, "string", "size" );
+        assertRecognized( first, true, "string", "length" );
+        assertRecognized( second, false, "string", "size" );
+        assertRecognized( new SymbolTable().getBuiltInScope(), false, "string", "size" );
+    }
+
+    private void assertRecognized(Scope scope, boolean recognized, String start, String followUp) {
+        scope.start( start );
+        assertThat( start + " " + followUp, scope.followUp( followUp, false ), is( recognized ) );
+    }
+}
@@ -1092,6 +1092,19 @@ public class FEELParserTest {
         assertThat( pathExpr.getName().getText(), is( "first name" ) );
     }
 
+    @Test
+    public void testReusedParserDoesNotRetainSymbols() {
+        FEELParser.warmUp();
+        String inputExpression = "a-b";
+        ParseTree tree = FEELParser.parseCompilationUnit( inputExpression, Collections.emptyMap(), Collections.singletonMap( "a-b", 10 ) );
+        BaseNode name = new ASTBuilderVisitor().visit( tree );
+        assertThat( name, is( instanceOf( NameRefNode.class ) ) );
+        assertThat( name.getText(), is( inputExpression ) );
+
+        tree = FEELParser.parseCompilationUnit( inputExpression, Collections.emptyMap(), Collections.emptyMap() );
+        assertThat( new ASTBuilderVisitor().visit( tree ), is( instanceOf( InfixOpNode.class ) ) );
+    }
+
     private void assertLocation(String inputExpression, BaseNode number) {
         assertThat( number.getText(), is( inputExpression ) );
         assertThat( number.getStartChar(), is( 0 ) );
@@ -23,6 +23,9 @@ import org.kie.dmn.feel.FEEL;
 import org.kie.dmn.feel.lang.CompiledExpression;
 import org.kie.dmn.feel.lang.CompilerContext;
 import org.kie.dmn.feel.lang.Type;
+import org.kie.dmn.feel.lang.ast.BaseNode;
+import org.kie.dmn.feel.lang.compiler.BytecodeCompiler;
+import org.kie.dmn.feel.lang.impl.CompiledExpressionImpl;
 
 import java.util.Map;
 
@@ -55,13 +58,21 @@ public abstract class BaseFEELCompilerTest {
         CompilerContext ctx = feel.newCompilerContext();
         inputTypes.forEach( (name, type) -> ctx.addInputVariableType( name, type ) );
         CompiledExpression compiledExpression = feel.compile( expression, ctx );
+        assertResult( "Evaluating: '" + expression + "'", feel.evaluate( compiledExpression, inputValues ), result );
 
+        // the bytecode compiled expression must produce the same result as the interpreter
+        CompiledExpressionImpl interpreted = (CompiledExpressionImpl) compiledExpression;
+        CompiledExpression bytecode = BytecodeCompiler.compile( (BaseNode) interpreted.getExpression(), interpreted.getGlobals() );
+        assertResult( "Evaluating compiled: '" + expression + "'", feel.evaluate( bytecode, inputValues ), result );
+    }
+
+    private void assertResult(String reason, Object actual, Object result) {
         if( result == null ) {
-            assertThat( "Evaluating: '" + expression + "'", feel.evaluate( compiledExpression, inputValues ), is( nullValue() ) );
+            assertThat( reason, actual, is( nullValue() ) );
         } else if( result instanceof Class<?> ) {
-            assertThat( "Evaluating: '" + expression + "'", feel.evaluate( compiledExpression, inputValues ), is( instanceOf( (Class<?>) result ) ) );
+            assertThat( reason, actual, is( instanceOf( (Class<?>) result ) ) );
         } else {
-            assertThat( "Evaluating: '"+expression+"'", feel.evaluate( compiledExpression, inputValues ), is( result ) );
+            assertThat( reason, actual, is( result ) );
         }
     }
 }
@@ -21,10 +21,16 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.*;
 
+import java.util.Collections;
+
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.ast.BaseNode;
+import org.kie.dmn.feel.lang.compiler.BytecodeCompiler;
+import org.kie.dmn.feel.lang.compiler.CompiledFEELExpression;
+import org.kie.dmn.feel.lang.impl.CompiledExpressionImpl;
 
 @RunWith(Parameterized.class)
 public abstract class BaseFEELTest {
@@ -43,12 +49,21 @@ public abstract class BaseFEELTest {
     }
 
     protected void assertResult( String expression, Object result ) {
+        assertResult( "Evaluating: '" + expression + "'", feel.evaluate( expression ), result );
+
+        // the bytecode compiled expression must produce the same result as the interpreter
+        CompiledExpressionImpl interpreted = (CompiledExpressionImpl) feel.compile( expression, feel.newCompilerContext() );
+        CompiledFEELExpression compiled = BytecodeCompiler.compile( (BaseNode) interpreted.getExpression(), interpreted.getGlobals() );
+        assertResult( "Evaluating compiled: '" + expression + "'", compiled.evaluate( Collections.emptyMap() ), result );
+    }
+
+    private void assertResult( String reason, Object actual, Object result ) {
         if( result == null ) {
-            assertThat( "Evaluating: '" + expression + "'", feel.evaluate( expression ), is( nullValue() ) );
+            assertThat( reason, actual, is( nullValue() ) );
         } else if( result instanceof Class<?> ) {
-            assertThat( "Evaluating: '" + expression + "'", feel.evaluate( expression ), is( instanceOf( (Class<?>) result ) ) );
+            assertThat( reason, actual, is( instanceOf( (Class<?>) result ) ) );
         } else {
-            assertThat( "Evaluating: '"+expression+"'", feel.evaluate( expression ), is( result ) );
+            assertThat( reason, actual, is( result ) );
         }
     }
 }
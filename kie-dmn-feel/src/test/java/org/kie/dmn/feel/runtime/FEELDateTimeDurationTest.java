@@ -18,6 +18,7 @@ package org.kie.dmn.feel.runtime;
 
 import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.OffsetTime;
 import java.time.Period;
@@ -60,7 +61,20 @@ public class FEELDateTimeDurationTest extends BaseFEELTest {
                 { "duration( \"P2DT20H14M\" )", Duration.parse( "P2DT20H14M" ) },
                 { "duration( \"P2Y2M\" )", Period.parse( "P2Y2M" ) },
                 { "duration( \"P26M\" )", Period.parse( "P26M" ) },
-                { "years and months duration( date(\"2011-12-22\"), date(\"2013-08-24\") )", Period.parse( "P1Y8M" ) }
+                { "years and months duration( date(\"2011-12-22\"), date(\"2013-08-24\") )", Period.parse( "P1Y8M" ) },
+
+                // date/time/duration arithmetic
+                { "date and time(\"2016-07-29T05:48:23\") + duration( \"P1DT2H\" )", LocalDateTime.of( 2016, 7, 30, 7, 48, 23 ) },
+                { "duration( \"P1M\" ) + date and time(\"2016-07-29T05:48:23\")", LocalDateTime.of( 2016, 8, 29, 5, 48, 23 ) },
+                { "date and time(\"2016-07-29T05:48:23\") - duration( \"P1Y\" )", LocalDateTime.of( 2015, 7, 29, 5, 48, 23 ) },
+                { "duration( \"P1Y\" ) + duration( \"P2M\" )", Period.parse( "P1Y2M" ) },
+                { "duration( \"PT1H\" ) - duration( \"PT15M\" )", Duration.parse( "PT45M" ) },
+                { "time(\"10:30:00\") + duration( \"PT1H\" )", LocalTime.of( 11, 30 ) },
+                { "duration( \"PT1H\" ) + time(\"10:30:00\")", LocalTime.of( 11, 30 ) },
+                { "time(\"10:30:00\") - duration( \"PT1H\" )", LocalTime.of( 9, 30 ) },
+                { "time(\"10:30:00z\") + duration( \"PT1H\" )", OffsetTime.of( 11, 30, 0, 0, ZoneOffset.UTC ) },
+                { "\"foo\" + \"bar\"", "foobar" },
+                { "\"foo\" + 1", null }
         };
         return Arrays.asList( cases );
     }
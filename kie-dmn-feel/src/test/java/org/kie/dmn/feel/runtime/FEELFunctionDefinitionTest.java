@@ -30,7 +30,22 @@ public class FEELFunctionDefinitionTest extends BaseFEELTest {
                 {"{ hello world : function() \"Hello World!\", message : hello world() }.message", "Hello World!" },
                 {"{ is minor : function( person's age ) person's age < 18, bob is minor : is minor( 16 ) }.bob is minor", Boolean.TRUE },
                 {"{ maximum : function( v1, v2 ) external { java : { class : \"java.lang.Math\", method signature: \"max(long,long)\" } }, the max : maximum( 10, 20 ) }.the max",
-                        BigDecimal.valueOf( 20 ) }
+                        BigDecimal.valueOf( 20 ) },
+                {"{ maximum : function( v1, v2 ) external { java : { class : \"java.lang.Math\", method signature: \"max(double, double)\" } }, the max : maximum( 1.5, 2 ) }.the max",
+                        new BigDecimal( "2.0" ) },
+                {"{ to string : function( v ) external { java : { class : \"java.lang.Integer\", method signature: \"toString(int)\" } }, s : to string( 42.9 ) }.s",
+                        "42" },
+                {"{ both : function( a, b ) external { java : { class : \"java.lang.Boolean\", method signature: \"logicalAnd(boolean, boolean)\" } }, r : both( true, false ) }.r",
+                        Boolean.FALSE },
+                {"{ parse : function( s ) external { java : { class : \"java.lang.Integer\", method signature: \"valueOf(java.lang.String)\" } }, r : parse( \"12\" ) + 1 }.r",
+                        BigDecimal.valueOf( 13 ) },
+                // coercion errors and instance methods result in null
+                {"{ parse : function( s ) external { java : { class : \"java.lang.Integer\", method signature: \"valueOf(java.lang.String)\" } }, r : parse( 12 ) }.r",
+                        null },
+                {"{ maximum : function( v1, v2 ) external { java : { class : \"java.lang.Math\", method signature: \"max(long,long)\" } }, the max : maximum( 10, null ) }.the max",
+                        null },
+                {"{ length : function( s ) external { java : { class : \"java.lang.String\", method signature: \"length()\" } } }.length",
+                        null }
         };
         return Arrays.asList( cases );
     }
@@ -19,6 +19,7 @@ package org.kie.dmn.feel.runtime;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import org.junit.runners.Parameterized;
 
 public class FEELFunctionsTest extends BaseFEELTest {
@@ -120,6 +121,12 @@ public class FEELFunctionsTest extends BaseFEELTest {
                 { "distinct values( [1, 2, null, 2, 4] )", Arrays.asList( BigDecimal.valueOf( 1 ), BigDecimal.valueOf( 2 ), null, BigDecimal.valueOf( 4 ) ) },
                 { "distinct values( 1 )", Arrays.asList( BigDecimal.valueOf( 1 ) ) },
                 { "distinct values( null )", null },
+                { "distinct values( [1, 1.0, 2, 2.00, 1] )", Arrays.asList( BigDecimal.valueOf( 1 ), BigDecimal.valueOf( 2 ) ) },
+                { "distinct values( [[1, 2], [1.0, 2], {a: 1}, {a: 1.00}] )", Arrays.asList( Arrays.asList( BigDecimal.valueOf( 1 ), BigDecimal.valueOf( 2 ) ), Collections.singletonMap( "a", BigDecimal.valueOf( 1 ) ) ) },
+                { "union( [1, 2.0], [2, 3.00], 3 )", Arrays.asList( BigDecimal.valueOf( 1 ), new BigDecimal( "2.0" ), new BigDecimal( "3.00" ) ) },
+                { "list contains([1.0, 2], 1)", Boolean.TRUE },
+                { "list contains([[1, 2], null], [1.0, 2])", Boolean.TRUE },
+                { "index of( [1, 1.0, 2], 1.00 )", Arrays.asList( BigDecimal.valueOf( 1 ), BigDecimal.valueOf( 2 ) ) },
                 { "decimal( 1/3, 2 )", new BigDecimal("0.33") },
                 { "decimal( 1.5, 0 )", new BigDecimal("2") },
                 { "decimal( 2.5, 0 )", new BigDecimal("2") },
@@ -130,7 +137,12 @@ public class FEELFunctionsTest extends BaseFEELTest {
                 { "ceiling( 1.5 )", new BigDecimal("2") },
                 { "ceiling( -1.5 )", new BigDecimal("-1") },
                 { "ceiling( null )", null },
-                { "ceiling( n : 1.5 )", new BigDecimal("2") }
+                { "ceiling( n : 1.5 )", new BigDecimal("2") },
+                { "substring( start position : 3, string : \"foobar\" )", "obar" },
+                { "substring( string : \"foobar\", start position : 3, length : 3 )", "oba" },
+                { "sum( 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 )", new BigDecimal( "55" ) },
+                { "count( [] )", BigDecimal.ZERO },
+                { "ceiling( x : 1.5 )", null }
         };
         return Arrays.asList( cases );
     }
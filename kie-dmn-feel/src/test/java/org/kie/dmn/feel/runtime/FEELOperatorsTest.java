@@ -45,6 +45,7 @@ public class FEELOperatorsTest extends BaseFEELTest {
                 { "\"foo\" in ( \"bar\", \"baz\" )", Boolean.FALSE },
                 { "\"foo\" in null", null },
                 { "\"foo\" in ( 10, false, \"foo\" )", Boolean.TRUE },
+                { "1 in ( 1.0, 2 )", Boolean.TRUE },
                 { "10 in < 20", Boolean.TRUE },
                 { "10 in ( > 50, < 5 )", Boolean.FALSE },
                 { "10 in ( > 5, < -40 )", Boolean.TRUE },
@@ -62,6 +62,9 @@ public class FEELValuesComparisonTest extends BaseFEELTest {
                 { "[ 1, 2, 3] = [1, 2, 3]", Boolean.TRUE },
                 { "[ 1, 2, 3, 4] = [1, 2, 3]", Boolean.FALSE },
                 { "[ 1, 2, 3] = [1, \"foo\", 3]", Boolean.FALSE },
+                { "[ 1, 2, 3] = [1.0, 2.00, 3]", Boolean.TRUE },
+                { "{ a : [ 1 ] } = { a : [ 1.0 ] }", Boolean.TRUE },
+                { "{ a : 1 } != { a : 1.0 }", Boolean.FALSE },
                 { "{ x : \"foo\" } = { x : \"foo\" }", Boolean.TRUE },
                 { "{ x : \"foo\", y : [1, 2] } = { x : \"foo\", y : [1, 2] }", Boolean.TRUE },
                 { "{ x : \"foo\", y : [1, 2] } = { y : [1, 2], x : \"foo\" }", Boolean.TRUE },
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.functions;
+
+import org.junit.Test;
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.impl.EvaluationContextImpl;
+import org.kie.dmn.feel.lang.impl.NamedParameter;
+import org.kie.dmn.feel.runtime.functions.DispatchTableTest.OverloadedFunction;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class CallSiteCacheTest {
+
+    private final EvaluationContext  ctx      = new EvaluationContextImpl();
+    private final OverloadedFunction function = new OverloadedFunction();
+    private final CallSiteCache      cache    = new CallSiteCache();
+
+    @Test
+    public void testSameShapesReuseTheResolvedMethod() {
+        assertThat( cache.invoke( ctx, function, new Object[]{ "a" } ), is( "string a" ) );
+        assertThat( cache.invoke( ctx, function, new Object[]{ "b" } ), is( "string b" ) );
+        assertThat( cache.invoke( ctx, new OverloadedFunction(), new Object[]{ "c" } ), is( "string c" ) );
+        assertThat( cache.size(), is( 1 ) );
+
+        // a new shape is another entry
+        assertThat( cache.invoke( ctx, function, new Object[]{ 1 } ), is( "number 1" ) );
+        assertThat( cache.invoke( ctx, function, new Object[]{ null, 1 } ), is( "pair null 1" ) );
+        assertThat( cache.invoke( ctx, function, new Object[]{ "a", 1 } ), is( "pair a 1" ) );
+        assertThat( cache.size(), is( 4 ) );
+        assertThat( cache.invoke( ctx, function, new Object[]{ 1 } ), is( "number 1" ) );
+        assertThat( cache.size(), is( 4 ) );
+    }
+
+    @Test
+    public void testShapesBeyondTheLimitAreResolvedAgain() {
+        Object[][] shapes = { { "a" }, { 1 }, { 1L }, { "a", 1 }, { "a", 1L }, { 1, 2, 3 } };
+        for ( int i = 0; i < 3; i++ ) {
+            for ( Object[] params : shapes ) {
+                assertThat( cache.invoke( ctx, function, params ), is( function.applyReflectively( ctx, params ) ) );
+            }
+        }
+        assertThat( cache.size(), is( CallSiteCache.MAX_ENTRIES ) );
+    }
+
+    @Test
+    public void testAnotherFunctionIsAMiss() {
+        assertThat( cache.invoke( ctx, function, new Object[]{ "a" } ), is( "string a" ) );
+        assertThat( cache.invoke( ctx, new StringUpperCaseFunction(), new Object[]{ "a" } ), is( "A" ) );
+        assertThat( cache.size(), is( 2 ) );
+    }
+
+    @Test
+    public void testUncachedInvocations() {
+        assertThat( cache.invoke( ctx, function, new Object[]{ new NamedParameter( "s", "a" ) } ), is( "string a" ) );
+        FEEL feel = FEEL.newInstance();
+        Object custom = feel.evaluate( "function( x ) x + 1" );
+        assertThat( cache.invoke( ctx, (CustomFEELFunction) custom, new Object[]{ BigDecimal.ONE } ), is( new BigDecimal( "2" ) ) );
+        assertThat( cache.size(), is( 0 ) );
+    }
+
+    @Test
+    public void testErrorsAreHandledAsByTheFunction() {
+        assertThat( cache.invoke( ctx, function, new Object[]{ "fail" } ), is( nullValue() ) );
+        assertThat( cache.invoke( ctx, function, new Object[]{ "ok" } ), is( "string ok" ) );
+        assertThat( cache.size(), is( 1 ) );
+    }
+
+    @Test
+    public void testCallSitesInLoops() {
+        FEEL feel = FEEL.newInstance();
+        assertThat( feel.evaluate( "for s in list return string length( s )", Collections.singletonMap( "list", Arrays.asList( "a", "bb", null ) ) ),
+                    is( Arrays.asList( BigDecimal.ONE, new BigDecimal( 2 ), null ) ) );
+        assertThat( feel.evaluate( "for x in [ [ 1, 2 ], 3, [ ] ] return sum( x )" ),
+                    is( Arrays.asList( new BigDecimal( 3 ), new BigDecimal( 3 ), BigDecimal.ZERO ) ) );
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.functions;
+
+import org.junit.Test;
+import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.impl.EvaluationContextImpl;
+import org.kie.dmn.feel.lang.impl.NamedParameter;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class DispatchTableTest {
+
+    private final OverloadedFunction function = new OverloadedFunction();
+
+    @Test
+    public void testPositionalCalls() throws Exception {
+        assertThat( invoke( "a" ), is( "string a" ) );
+        assertThat( invoke( 1 ), is( "number 1" ) );
+        assertThat( invoke( "a", 2 ), is( "pair a 2" ) );
+        // a null argument matches any type
+        assertThat( invoke( null, 2 ), is( "pair null 2" ) );
+        assertThat( invoke( true ), is( "values [true]" ) );
+        assertThat( invoke(), is( "values []" ) );
+        assertThat( invoke( 1, 2, 3, 4, 5, 6 ), is( "values [1, 2, 3, 4, 5, 6]" ) );
+        assertThat( invoke( 1, "a" ), is( "values [1, a]" ) );
+    }
+
+    @Test
+    public void testNamedCalls() throws Exception {
+        assertThat( invoke( new NamedParameter( "s", "a" ) ), is( "string a" ) );
+        assertThat( invoke( new NamedParameter( "n", 3 ) ), is( "number 3" ) );
+        assertThat( invoke( new NamedParameter( "count", 3 ), new NamedParameter( "s", "a" ) ), is( "pair a 3" ) );
+        // the unset parameter is null
+        assertThat( invoke( new NamedParameter( "count", 3 ) ), is( "pair null 3" ) );
+        assertThat( invoke( new NamedParameter( "x", 3 ) ), is( sameInstance( DispatchTable.NOT_FOUND ) ) );
+        assertThat( invoke( new NamedParameter( "s", 3 ) ), is( sameInstance( DispatchTable.NOT_FOUND ) ) );
+    }
+
+    @Test
+    public void testTablesAreSharedByClass() {
+        assertThat( DispatchTable.of( OverloadedFunction.class ), is( sameInstance( DispatchTable.of( new OverloadedFunction().getClass() ) ) ) );
+    }
+
+    @Test
+    public void testExceptionsOfTheMethodArePropagated() {
+        try {
+            invoke( "fail" );
+        } catch ( Exception e ) {
+            assertThat( e, is( instanceOf( IllegalArgumentException.class ) ) );
+            return;
+        }
+        throw new AssertionError( "the exception was not propagated" );
+    }
+
+    @Test
+    public void testErrorsOfTheMethodAreWrapped() {
+        try {
+            invoke( "error" );
+        } catch ( Exception e ) {
+            assertThat( e, is( instanceOf( InvocationTargetException.class ) ) );
+            assertThat( e.getCause(), is( instanceOf( StackOverflowError.class ) ) );
+            return;
+        }
+        throw new AssertionError( "the error was not propagated" );
+    }
+
+    @Test
+    public void testErrorsOfTheMethodResultInNull() {
+        EvaluationContext ctx = new EvaluationContextImpl();
+        assertThat( function.applyReflectively( ctx, new Object[]{ "error" } ), is( nullValue() ) );
+        assertThat( new CallSiteCache().invoke( ctx, function, new Object[]{ "error" } ), is( nullValue() ) );
+    }
+
+    private Object invoke(Object... params) throws Exception {
+        boolean named = params.length > 0 && params[0] instanceof NamedParameter;
+        return DispatchTable.of( function.getClass() ).invoke( function, params, named );
+    }
+
+    public static class OverloadedFunction
+            extends BaseFEELFunction {
+
+        public OverloadedFunction() {
+            super( "overloaded" );
+        }
+
+        public String apply(@ParameterName("s") String s) {
+            if ( "fail".equals( s ) ) {
+                throw new IllegalArgumentException( s );
+            } else if ( "error".equals( s ) ) {
+                throw new StackOverflowError( s );
+            }
+            return "string " + s;
+        }
+
+        public String apply(@ParameterName("n") Number n) {
+            return "number " + n;
+        }
+
+        public String apply(@ParameterName("s") String s, @ParameterName("count") Number count) {
+            return "pair " + s + " " + count;
+        }
+
+        public String apply(Object[] values) {
+            List<Object> list = Arrays.asList( values );
+            return "values " + list;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.dmn.feel.runtime.functions;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.CompiledExpression;
+import org.kie.dmn.feel.lang.impl.CompiledExpressionImpl;
+import org.kie.dmn.feel.lang.impl.FEELObjectInputStream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class JavaFunctionResolverTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final JavaFunctionResolver resolver = new JavaFunctionResolver( getClass().getClassLoader() );
+
+    @Test
+    public void testMethodsAreResolvedOnce() throws Exception {
+        JavaMethod max = resolver.resolve( "java.lang.Math", "max(long,long)" );
+        assertThat( resolver.resolve( "java.lang.Math", "max(long,long)" ), is( sameInstance( max ) ) );
+        assertThat( resolver.resolve( "java.lang.Math", "max(int,int)" ), is( not( sameInstance( max ) ) ) );
+        assertThat( max.getMethod(), is( Math.class.getMethod( "max", long.class, long.class ) ) );
+        assertThat( max.getParameterCount(), is( 2 ) );
+    }
+
+    @Test
+    public void testNumbersAreCoercedToTheParameterTypes() throws Exception {
+        assertThat( resolver.resolve( "java.lang.Math", "max(long,long)" ).invoke( new Object[]{ BigDecimal.TEN, 20 } ), is( 20L ) );
+        assertThat( resolver.resolve( "java.lang.Math", "abs(int)" ).invoke( new Object[]{ new BigDecimal( "-3.7" ) } ), is( 3 ) );
+        assertThat( resolver.resolve( "java.lang.Math", "sqrt(double)" ).invoke( new Object[]{ BigDecimal.valueOf( 4 ) } ), is( 2.0 ) );
+        assertThat( resolver.resolve( "java.lang.Long", "valueOf(long)" ).invoke( new Object[]{ BigDecimal.ONE } ), is( 1L ) );
+        assertThat( resolver.resolve( "java.util.Objects", "isNull(java.lang.Object)" ).invoke( new Object[]{ null } ), is( true ) );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void testNonNumbersAreNotCoerced() throws Exception {
+        resolver.resolve( "java.lang.Integer", "valueOf(java.lang.String)" ).invoke( new Object[]{ BigDecimal.ONE } );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void testNullIsNotAPrimitive() throws Exception {
+        resolver.resolve( "java.lang.Math", "abs(int)" ).invoke( new Object[]{ null } );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void testInstanceMethodsAreRejected() throws Exception {
+        resolver.resolve( "java.lang.String", "length()" );
+    }
+
+    @Test( expected = NoSuchMethodException.class )
+    public void testUnknownMethod() throws Exception {
+        resolver.resolve( "java.lang.Math", "max(java.lang.String)" );
+    }
+
+    @Test
+    public void testClassesAreLoadedWithTheGivenClassLoader() {
+        List<String> loaded = Collections.synchronizedList( new ArrayList<>() );
+        ClassLoader loader = new ClassLoader( getClass().getClassLoader() ) {
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                loaded.add( name );
+                return super.loadClass( name, resolve );
+            }
+        };
+        FEEL feel = FEEL.newInstance( loader );
+        Object result = feel.evaluate( "{ maximum : function( v1, v2 ) external { java : { class : \"java.lang.Math\", method signature: \"max(long,long)\" } }, the max : maximum( 10, 20 ) }.the max" );
+        assertThat( result, is( BigDecimal.valueOf( 20 ) ) );
+        assertThat( loaded, hasItem( "java.lang.Math" ) );
+    }
+
+    @Test
+    public void testSerializedExpressionsKeepTheirClassLoader() throws Exception {
+        // a class that only the given class loader can see
+        Path sources = folder.newFolder().toPath();
+        Path classes = folder.newFolder().toPath();
+        Path source = Files.createDirectories( sources.resolve( "ext" ) ).resolve( "Doubler.java" );
+        Files.write( source, "package ext; public class Doubler { public static int twice(int x) { return x * 2; } }".getBytes( StandardCharsets.UTF_8 ) );
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        assertThat( javac.run( null, null, null, "-d", classes.toString(), source.toString() ), is( 0 ) );
+        ClassLoader loader = new URLClassLoader( new URL[]{ classes.toUri().toURL() }, getClass().getClassLoader() );
+
+        FEEL feel = FEEL.newInstance( loader );
+        CompiledExpression expression = feel.compile( "{ f : function( x ) external { java : { class : \"ext.Doubler\", method signature: \"twice(int)\" } }, r : f( 21 ) }.r",
+                                                      feel.newCompilerContext() );
+        assertThat( feel.evaluate( expression, Collections.emptyMap() ), is( BigDecimal.valueOf( 42 ) ) );
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try ( ObjectOutputStream out = new ObjectOutputStream( baos ) ) {
+            out.writeObject( expression );
+        }
+        try ( ObjectInputStream in = new FEELObjectInputStream( new ByteArrayInputStream( baos.toByteArray() ), loader ) ) {
+            CompiledExpressionImpl restored = (CompiledExpressionImpl) in.readObject();
+            assertThat( restored.getResolver().getClassLoader(), is( sameInstance( loader ) ) );
+            assertThat( feel.evaluate( restored, Collections.emptyMap() ), is( BigDecimal.valueOf( 42 ) ) );
+        }
+        // the default class loader can not see the class
+        try ( ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( baos.toByteArray() ) ) ) {
+            CompiledExpressionImpl restored = (CompiledExpressionImpl) in.readObject();
+            assertThat( restored.getResolver(), is( sameInstance( JavaFunctionResolver.getDefault() ) ) );
+            assertThat( feel.evaluate( restored, Collections.emptyMap() ), is( nullValue() ) );
+        }
+    }
+
+    @Test
+    public void testEvaluationsOfADefinitionShareTheResolvedMethod() {
+        FEEL feel = FEEL.newInstance();
+        CompiledExpression expression = feel.compile( "function( v1, v2 ) external { java : { class : \"java.lang.Math\", method signature: \"max(long,long)\" } }",
+                                                      feel.newCompilerContext() );
+        JavaFunction first = (JavaFunction) feel.evaluate( expression, Collections.emptyMap() );
+        JavaFunction second = (JavaFunction) feel.evaluate( expression, Collections.emptyMap() );
+        assertThat( second, is( not( sameInstance( first ) ) ) );
+        assertThat( second.getMethod(), is( sameInstance( first.getMethod() ) ) );
+    }
+}
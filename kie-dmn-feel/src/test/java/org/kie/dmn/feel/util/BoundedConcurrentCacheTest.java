@@ -0,0 +1,88 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.dmn.feel.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class BoundedConcurrentCacheTest {
+
+    @Test
+    public void testValuesAreComputedOnce() {
+        BoundedConcurrentCache<String, String> cache = new BoundedConcurrentCache<>( 10 );
+        AtomicInteger computations = new AtomicInteger();
+        assertThat( cache.get( "a" ), is( nullValue() ) );
+        assertThat( cache.computeIfAbsent( "a", k -> { computations.incrementAndGet(); return k.toUpperCase(); } ), is( "A" ) );
+        assertThat( cache.computeIfAbsent( "a", k -> { computations.incrementAndGet(); return k.toUpperCase(); } ), is( "A" ) );
+        assertThat( cache.get( "a" ), is( "A" ) );
+        assertThat( computations.get(), is( 1 ) );
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntriesAreEvicted() {
+        BoundedConcurrentCache<Integer, Integer> cache = new BoundedConcurrentCache<>( 100 );
+        for ( int i = 0; i < 1000; i++ ) {
+            cache.computeIfAbsent( i, k -> k );
+            cache.get( 0 );
+            assertThat( cache.size(), is( lessThanOrEqualTo( 100 ) ) );
+        }
+        assertThat( cache.get( 0 ), is( 0 ) );
+        assertThat( cache.get( 1 ), is( nullValue() ) );
+        assertThat( cache.get( 999 ), is( 999 ) );
+    }
+
+    @Test
+    public void testConcurrentUse() throws Exception {
+        BoundedConcurrentCache<Integer, String> cache = new BoundedConcurrentCache<>( 100 );
+        ExecutorService executor = Executors.newFixedThreadPool( 4 );
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for ( int t = 0; t < 4; t++ ) {
+                int offset = t;
+                futures.add( executor.submit( () -> {
+                    for ( int i = 0; i < 10000; i++ ) {
+                        int key = (i * 7 + offset) % 500;
+                        assertThat( cache.computeIfAbsent( key, String::valueOf ), is( String.valueOf( key ) ) );
+                    }
+                } ) );
+            }
+            for ( Future<?> future : futures ) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        // the last additions might have raced with an eviction
+        cache.computeIfAbsent( -1, String::valueOf );
+        assertThat( cache.size(), is( lessThanOrEqualTo( 100 ) ) );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void testMaxSizeMustBePositive() {
+        new BoundedConcurrentCache<String, String>( 0 );
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.util;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class DecimalMathTest {
+
+    @Test
+    public void testResultsMatchTheRoundedOperations() {
+        List<BigDecimal> values = new ArrayList<>();
+        for ( String v : new String[]{ "0", "0.00", "1", "-1", "2.50", "10", "100", "0.1", "3", "-7", "1E+3", "1E-20", "12345678901234567.89",
+                                       "999999999999999999", "-999999999999999999", "9223372036854775807", "0.000000000000001", "1E+100" } ) {
+            values.add( new BigDecimal( v ) );
+        }
+        Random random = new Random( 42 );
+        for ( int i = 0; i < 200; i++ ) {
+            values.add( new BigDecimal( BigInteger.valueOf( random.nextLong() ).shiftRight( random.nextInt( 64 ) ), random.nextInt( 40 ) - 10 ) );
+        }
+
+        for ( BigDecimal l : values ) {
+            for ( BigDecimal r : values ) {
+                String operands = l + " and " + r;
+                assertThat( operands, DecimalMath.add( l, r ), is( l.add( r, MathContext.DECIMAL128 ) ) );
+                assertThat( operands, DecimalMath.subtract( l, r ), is( l.subtract( r, MathContext.DECIMAL128 ) ) );
+                assertThat( operands, DecimalMath.multiply( l, r ), is( l.multiply( r, MathContext.DECIMAL128 ) ) );
+                if ( r.signum() != 0 ) {
+                    assertThat( operands, DecimalMath.divide( l, r ), is( l.divide( r, MathContext.DECIMAL128 ) ) );
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testScaleIsPreserved() {
+        assertThat( DecimalMath.add( new BigDecimal( "2.50" ), new BigDecimal( "1" ) ).toString(), is( "3.50" ) );
+        assertThat( DecimalMath.multiply( new BigDecimal( "2.50" ), new BigDecimal( "2" ) ).toString(), is( "5.00" ) );
+        assertThat( DecimalMath.divide( new BigDecimal( "10" ), new BigDecimal( "4" ) ).toString(), is( "2.5" ) );
+        assertThat( DecimalMath.divide( new BigDecimal( "100" ), new BigDecimal( "4" ) ).toString(), is( "25" ) );
+    }
+
+    @Test
+    public void testSmallIntegersAreCanonical() {
+        assertThat( DecimalMath.valueOf( 7 ), is( sameInstance( DecimalMath.valueOf( 7 ) ) ) );
+        assertThat( DecimalMath.valueOf( -128 ), is( new BigDecimal( -128 ) ) );
+        assertThat( DecimalMath.valueOf( 1024 ), is( sameInstance( DecimalMath.canonical( new BigDecimal( "1024" ) ) ) ) );
+        assertThat( DecimalMath.valueOf( 1025 ), is( new BigDecimal( 1025 ) ) );
+        assertThat( DecimalMath.valueOf( Long.MIN_VALUE ), is( new BigDecimal( Long.MIN_VALUE ) ) );
+
+        BigDecimal scaled = new BigDecimal( "7.0" );
+        assertThat( DecimalMath.canonical( scaled ), is( sameInstance( scaled ) ) );
+    }
+
+    @Test
+    public void testConversionsMatchTheStringConversions() {
+        Number[] numbers = { 0, -1, 42, Integer.MAX_VALUE, Long.MIN_VALUE, (short) 3, (byte) -4, 0.1, -2.5e-10, 1.0e10, Double.MAX_VALUE,
+                             0.1f, new BigInteger( "123456789012345678901234567890123456789" ) };
+        for ( Number n : numbers ) {
+            assertThat( n.toString(), EvalHelper.getBigDecimalOfString( n ), is( new BigDecimal( n.toString() ) ) );
+        }
+        BigInteger big = new BigInteger( "123456789012345678901234567890123456789" );
+        assertThat( EvalHelper.getBigDecimalOrNull( big ), is( new BigDecimal( big.toString(), MathContext.DECIMAL128 ) ) );
+        assertThat( EvalHelper.getBigDecimalOrNull( 42L ), is( new BigDecimal( 42L, MathContext.DECIMAL128 ) ) );
+        assertThat( EvalHelper.getBigDecimalOrNull( 0.1 ), is( new BigDecimal( 0.1, MathContext.DECIMAL128 ) ) );
+    }
+}
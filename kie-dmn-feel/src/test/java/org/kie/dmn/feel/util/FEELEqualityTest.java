@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.util;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class FEELEqualityTest {
+
+    @Test
+    public void testNumbersAreEqualWhateverTheirScaleAndType() {
+        Object[] ones = { BigDecimal.ONE, new BigDecimal( "1.00" ), new BigDecimal( "0.1E+1" ), 1, 1L, (short) 1, BigInteger.ONE, 1.0d };
+        for ( Object l : ones ) {
+            for ( Object r : ones ) {
+                assertThat( l + " and " + r, FEELEquality.isEqual( l, r ), is( true ) );
+                assertThat( l + " and " + r, FEELEquality.hashCode( l ), is( FEELEquality.hashCode( r ) ) );
+            }
+        }
+        assertThat( FEELEquality.hashCode( new BigDecimal( "0.000" ) ), is( FEELEquality.hashCode( 0 ) ) );
+        assertThat( FEELEquality.isEqual( 0.1d, new BigDecimal( "0.1" ) ), is( true ) );
+        assertThat( FEELEquality.isEqual( 1, new BigDecimal( "1.01" ) ), is( false ) );
+        assertThat( FEELEquality.isEqual( 1, "1" ), is( false ) );
+        assertThat( FEELEquality.isEqual( Double.NaN, Double.NaN ), is( true ) );
+        assertThat( FEELEquality.isEqual( Double.NaN, 1 ), is( false ) );
+    }
+
+    @Test
+    public void testListsAndContextsAreComparedStructurally() {
+        List<Object> list = Arrays.asList( 1, "a", null, Collections.singletonMap( "x", new BigDecimal( "2.0" ) ) );
+        List<Object> same = Arrays.asList( new BigDecimal( "1.0" ), "a", null, Collections.singletonMap( "x", 2L ) );
+        assertThat( FEELEquality.isEqual( list, same ), is( true ) );
+        assertThat( FEELEquality.hashCode( list ), is( FEELEquality.hashCode( same ) ) );
+        assertThat( FEELEquality.isEqual( list, same.subList( 0, 3 ) ), is( false ) );
+        assertThat( FEELEquality.isEqual( list, Arrays.asList( 1, "b", null, Collections.emptyMap() ) ), is( false ) );
+
+        Map<String, Object> withNull = new HashMap<>();
+        withNull.put( "x", null );
+        assertThat( FEELEquality.isEqual( withNull, Collections.singletonMap( "y", null ) ), is( false ) );
+        assertThat( FEELEquality.isEqual( withNull, Collections.singletonMap( "x", null ) ), is( true ) );
+    }
+
+    @Test
+    public void testKeysCollectEqualValues() {
+        Set<Object> keys = new HashSet<>();
+        for ( Object value : new Object[]{ 1, new BigDecimal( "1.0" ), 2L, "2", null, null, Arrays.asList( 1, 2 ), Arrays.asList( 1.0d, 2 ) } ) {
+            keys.add( FEELEquality.keyOf( value ) );
+        }
+        assertThat( keys.size(), is( 5 ) );
+        assertThat( keys.contains( FEELEquality.keyOf( new BigDecimal( "2.000" ) ) ), is( true ) );
+    }
+
+    @Test(timeout = 10000)
+    public void testDistinctValuesOfLargeLists() {
+        List<Object> values = new ArrayList<>();
+        for ( int i = 0; i < 100000; i++ ) {
+            values.add( new BigDecimal( i % 50000 ) );
+        }
+        Set<Object> keys = new HashSet<>();
+        for ( Object value : values ) {
+            keys.add( FEELEquality.keyOf( value ) );
+        }
+        assertThat( keys.size(), is( 50000 ) );
+    }
+}